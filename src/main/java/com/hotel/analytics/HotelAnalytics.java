@@ -0,0 +1,443 @@
+package com.hotel.analytics;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.HotelEventListener;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Live occupancy and revenue figures per hotel, room kind and night.
+ *
+ * The figures are kept up to date from the hotels' change events, so
+ * dashboard queries are array reads instead of walks over the reservation
+ * history. A hotel is scanned once when it starts being tracked, and again
+ * only on {@link #rebuild}. Revenue is the nightly rate each reservation
+ * was booked at, night by night, and is counted in a single reporting
+ * currency; reservations priced in another currency, or at a fraction of a
+ * minor unit, count towards occupancy only.
+ *
+ * Per-night figures cover a rolling window of nights; move it forward with
+ * {@link #advanceTo}.
+ */
+public class HotelAnalytics implements HotelEventListener {
+    public static final int DEFAULT_HORIZON_DAYS = 730;
+
+    private final Currency currency;
+    private final int horizonDays;
+    private final Map<Hotel, HotelStats> stats = new ConcurrentHashMap<>();
+    private volatile int windowStart;
+
+    public HotelAnalytics(Currency currency, LocalDate windowStart) {
+        this(currency, windowStart, DEFAULT_HORIZON_DAYS);
+    }
+
+    public HotelAnalytics(Currency currency, LocalDate windowStart, int horizonDays) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Reporting currency is required");
+        }
+        if (windowStart == null) {
+            throw new IllegalArgumentException("Window start date is required");
+        }
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Analytics horizon must be positive");
+        }
+        this.currency = currency;
+        this.horizonDays = horizonDays;
+        this.windowStart = Reservation.toEpochDay(windowStart);
+    }
+
+    /**
+     * Starts tracking a hotel: registers for its changes and counts what it
+     * already holds. Bookings may carry on while the hotel is scanned.
+     */
+    public void track(Hotel hotel) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        HotelStats hotelStats = register(hotel);
+        hotel.addListener(this);
+        scan(hotel, hotelStats);
+    }
+
+    /**
+     * Starts tracking every hotel of a chain, including hotels added later.
+     * Hotels are expected to be empty when they are added to the chain;
+     * changes made while a hotel is being added may be missed.
+     */
+    public void track(HotelChain chain) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        for (Hotel hotel : chain.getHotels()) {
+            if (stats.containsKey(hotel)) {
+                throw new HotelException("Hotel '" + hotel.getName() + "' is already tracked");
+            }
+        }
+        chain.addListener(this);
+        for (Hotel hotel : chain.getHotels()) {
+            if (!stats.containsKey(hotel)) {
+                scan(hotel, register(hotel));
+            }
+        }
+    }
+
+    /**
+     * Throws away a hotel's figures and counts them again from a full scan.
+     */
+    public void rebuild(Hotel hotel) {
+        HotelStats hotelStats = statsOf(hotel);
+        hotelStats.lock();
+        try {
+            hotelStats.clear();
+        } finally {
+            hotelStats.unlock();
+        }
+        scan(hotel, hotelStats);
+    }
+
+    /**
+     * Moves the per-night window forward so it starts at newStart.
+     */
+    public void advanceTo(LocalDate newStart) {
+        if (newStart == null) {
+            throw new IllegalArgumentException("Window start date is required");
+        }
+        int newStartDay = Reservation.toEpochDay(newStart);
+        if (newStartDay <= windowStart) {
+            return;
+        }
+        windowStart = newStartDay;
+        for (HotelStats hotelStats : stats.values()) {
+            hotelStats.lock();
+            try {
+                hotelStats.advanceTo(newStartDay);
+            } finally {
+                hotelStats.unlock();
+            }
+        }
+    }
+
+    private HotelStats register(Hotel hotel) {
+        HotelStats hotelStats = new HotelStats(windowStart, horizonDays);
+        if (stats.putIfAbsent(hotel, hotelStats) != null) {
+            throw new HotelException("Hotel '" + hotel.getName() + "' is already tracked");
+        }
+        // The window may have moved on since the stats were created
+        hotelStats.lock();
+        try {
+            hotelStats.advanceTo(windowStart);
+        } finally {
+            hotelStats.unlock();
+        }
+        return hotelStats;
+    }
+
+    /**
+     * Counts the rooms and reservations a hotel holds, one room type at a
+     * time under that type's lock. Events for a type are applied from the
+     * moment it has been counted.
+     */
+    private void scan(Hotel hotel, HotelStats hotelStats) {
+        hotel.forEachRoomType((roomType, rooms, reservations) -> {
+            RoomKind kind = roomType.getKind();
+            hotelStats.lock();
+            try {
+                for (Room room : rooms) {
+                    hotelStats.addRoom(kind);
+                    if (room.isOccupied()) {
+                        hotelStats.guestArrived(kind);
+                    }
+                }
+                for (Reservation reservation : reservations) {
+                    hotelStats.addReservation(reservation, nightlyRates(reservation));
+                }
+                hotelStats.typeScanned(roomType);
+            } finally {
+                hotelStats.unlock();
+            }
+        });
+        hotelStats.lock();
+        try {
+            hotelStats.scanFinished();
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns the rate charged for each night of the reservation in minor
+     * units of the reporting currency, or null if they cannot be counted in it.
+     */
+    private long[] nightlyRates(Reservation reservation) {
+        List<Money> charged = reservation.getNightlyRates();
+        long[] rates = new long[charged.size()];
+        for (int night = 0; night < rates.length; night++) {
+            Money rate = charged.get(night);
+            if (!currency.equals(rate.getCurrency()) || !rate.hasMinorUnits()) {
+                return null;
+            }
+            rates[night] = rate.getMinorUnits();
+        }
+        return rates;
+    }
+
+    @Override
+    public void hotelAdded(HotelChain chain, Hotel hotel) {
+        if (!stats.containsKey(hotel)) {
+            scan(hotel, register(hotel));
+        }
+    }
+
+    @Override
+    public void roomAdded(Hotel hotel, Room room) {
+        HotelStats hotelStats = lockIfTracked(hotel, room.getRoomType());
+        if (hotelStats == null) {
+            return;
+        }
+        try {
+            hotelStats.addRoom(room.getRoomType().getKind());
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    @Override
+    public void reservationCreated(Hotel hotel, Reservation reservation) {
+        RoomType roomType = reservation.getRoom().getRoomType();
+        HotelStats hotelStats = lockIfTracked(hotel, roomType);
+        if (hotelStats == null) {
+            return;
+        }
+        try {
+            hotelStats.addReservation(reservation, nightlyRates(reservation));
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    @Override
+    public void reservationCancelled(Hotel hotel, Reservation reservation) {
+        RoomType roomType = reservation.getRoom().getRoomType();
+        HotelStats hotelStats = lockIfTracked(hotel, roomType);
+        if (hotelStats == null) {
+            return;
+        }
+        try {
+            hotelStats.removeReservation(reservation, nightlyRates(reservation));
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    @Override
+    public void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+        HotelStats hotelStats = lockIfTracked(hotel, room.getRoomType());
+        if (hotelStats == null) {
+            return;
+        }
+        try {
+            hotelStats.guestArrived(room.getRoomType().getKind());
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    @Override
+    public void guestCheckedOut(Hotel hotel, Room room) {
+        HotelStats hotelStats = lockIfTracked(hotel, room.getRoomType());
+        if (hotelStats == null) {
+            return;
+        }
+        try {
+            hotelStats.guestLeft(room.getRoomType().getKind());
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns the hotel's figures, locked, if changes to the room type are
+     * counted yet; otherwise null. A type that is not counted yet will be
+     * picked up by the scan in progress.
+     */
+    private HotelStats lockIfTracked(Hotel hotel, RoomType roomType) {
+        HotelStats hotelStats = stats.get(hotel);
+        if (hotelStats == null) {
+            return null;
+        }
+        hotelStats.lock();
+        if (!hotelStats.tracks(roomType)) {
+            hotelStats.unlock();
+            return null;
+        }
+        return hotelStats;
+    }
+
+    /**
+     * Returns how many rooms of the given kind are booked for the night of the date.
+     */
+    public int getRoomsSold(Hotel hotel, RoomKind kind, LocalDate night) {
+        HotelStats hotelStats = statsOf(hotel);
+        int day = nightOf(night);
+        hotelStats.lock();
+        try {
+            requireCovered(hotelStats, day);
+            return hotelStats.roomsSold(requireKind(kind), day);
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns the share of the hotel's rooms of the given kind booked for the
+     * night of the date, from 0 to 1. A hotel without such rooms has 0.
+     */
+    public double getOccupancy(Hotel hotel, RoomKind kind, LocalDate night) {
+        HotelStats hotelStats = statsOf(hotel);
+        int day = nightOf(night);
+        hotelStats.lock();
+        try {
+            requireCovered(hotelStats, day);
+            int rooms = hotelStats.rooms(requireKind(kind));
+            return rooms == 0 ? 0 : (double) hotelStats.roomsSold(kind, day) / rooms;
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns the revenue booked for the night of the date in rooms of the given kind.
+     */
+    public Money getRevenue(Hotel hotel, RoomKind kind, LocalDate night) {
+        HotelStats hotelStats = statsOf(hotel);
+        int day = nightOf(night);
+        hotelStats.lock();
+        try {
+            requireCovered(hotelStats, day);
+            return Money.ofMinorUnits(hotelStats.nightlyRevenue(requireKind(kind), day), currency);
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns the revenue of every reservation in rooms of the given kind,
+     * past and future: the nightly rate times the nights of each stay.
+     */
+    public Money getTotalRevenue(Hotel hotel, RoomKind kind) {
+        HotelStats hotelStats = statsOf(hotel);
+        hotelStats.lock();
+        try {
+            return Money.ofMinorUnits(hotelStats.totalRevenue(requireKind(kind)), currency);
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns the revenue of every reservation of the hotel.
+     */
+    public Money getTotalRevenue(Hotel hotel) {
+        HotelStats hotelStats = statsOf(hotel);
+        hotelStats.lock();
+        try {
+            long total = 0;
+            for (RoomKind kind : RoomKind.values()) {
+                total = Math.addExact(total, hotelStats.totalRevenue(kind));
+            }
+            return Money.ofMinorUnits(total, currency);
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns how many rooms of the given kind have a guest checked in.
+     */
+    public int getGuestsInHouse(Hotel hotel, RoomKind kind) {
+        HotelStats hotelStats = statsOf(hotel);
+        hotelStats.lock();
+        try {
+            return hotelStats.guestsInHouse(requireKind(kind));
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns how many reservations the hotel holds for rooms of the given
+     * kind, including stays already checked out.
+     */
+    public int getReservationCount(Hotel hotel, RoomKind kind) {
+        HotelStats hotelStats = statsOf(hotel);
+        hotelStats.lock();
+        try {
+            return hotelStats.reservations(requireKind(kind));
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    /**
+     * Returns how many of the hotel's reservations are left out of the
+     * revenue figures because their rate is not in the reporting currency.
+     */
+    public int getUnpricedReservationCount(Hotel hotel) {
+        HotelStats hotelStats = statsOf(hotel);
+        hotelStats.lock();
+        try {
+            return hotelStats.unpricedReservations();
+        } finally {
+            hotelStats.unlock();
+        }
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    private HotelStats statsOf(Hotel hotel) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        HotelStats hotelStats = stats.get(hotel);
+        if (hotelStats == null) {
+            throw new HotelException("Hotel '" + hotel.getName() + "' is not tracked");
+        }
+        return hotelStats;
+    }
+
+    private static int nightOf(LocalDate night) {
+        if (night == null) {
+            throw new IllegalArgumentException("Night cannot be null");
+        }
+        return Reservation.toEpochDay(night);
+    }
+
+    private static RoomKind requireKind(RoomKind kind) {
+        if (kind == null) {
+            throw new IllegalArgumentException("Room kind cannot be null");
+        }
+        return kind;
+    }
+
+    private static void requireCovered(HotelStats hotelStats, int day) {
+        if (!hotelStats.covers(day)) {
+            throw new IllegalArgumentException(
+                    "Nights are only tracked between " + LocalDate.ofEpochDay(hotelStats.windowStart())
+                            + " and " + LocalDate.ofEpochDay(hotelStats.windowEnd()));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.hotel.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+/**
+ * Running counters of one hotel, indexed by room kind and night.
+ * Per-night counters cover a rolling window stored as a ring, like the
+ * hotel's availability calendars: slot kind * horizon + (day mod horizon).
+ * Nights of stays that run past the window are remembered separately and
+ * counted once the window reaches them.
+ *
+ * Events for a room type are only applied once that type has been counted
+ * by a scan (or the whole hotel has), so a scan running alongside bookings
+ * never counts a change twice.
+ */
+class HotelStats {
+    private static final int KINDS = RoomKind.values().length;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int horizon;
+    private final int[] roomsSold;
+    private final long[] nightlyRevenue;
+    private final int[] rooms = new int[KINDS];
+    private final int[] guestsInHouse = new int[KINDS];
+    private final int[] reservations = new int[KINDS];
+    private final long[] totalRevenue = new long[KINDS];
+    private final Map<Integer, Stay> laterNights = new HashMap<>();
+    private final Set<RoomType> scannedTypes = new HashSet<>();
+    private int windowStart;
+    private boolean scanned;
+    private int unpricedReservations;
+
+    HotelStats(int windowStart, int horizon) {
+        this.horizon = horizon;
+        this.roomsSold = new int[KINDS * horizon];
+        this.nightlyRevenue = new long[KINDS * horizon];
+        this.windowStart = windowStart;
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Checks if changes to rooms of the given type are counted yet.
+     * Callers must hold the lock.
+     */
+    boolean tracks(RoomType roomType) {
+        return scanned || scannedTypes.contains(roomType);
+    }
+
+    /**
+     * Marks a room type as counted by the running scan.
+     */
+    void typeScanned(RoomType roomType) {
+        scannedTypes.add(roomType);
+    }
+
+    /**
+     * Marks the whole hotel as counted: every event is applied from now on.
+     */
+    void scanFinished() {
+        scanned = true;
+        scannedTypes.clear();
+    }
+
+    /**
+     * Forgets everything counted so far, e.g. before a rebuild.
+     */
+    void clear() {
+        Arrays.fill(roomsSold, 0);
+        Arrays.fill(nightlyRevenue, 0);
+        Arrays.fill(rooms, 0);
+        Arrays.fill(guestsInHouse, 0);
+        Arrays.fill(reservations, 0);
+        Arrays.fill(totalRevenue, 0);
+        laterNights.clear();
+        scannedTypes.clear();
+        scanned = false;
+        unpricedReservations = 0;
+    }
+
+    void addRoom(RoomKind kind) {
+        rooms[kind.ordinal()]++;
+    }
+
+    void guestArrived(RoomKind kind) {
+        guestsInHouse[kind.ordinal()]++;
+    }
+
+    void guestLeft(RoomKind kind) {
+        guestsInHouse[kind.ordinal()]--;
+    }
+
+    /**
+     * Counts a reservation's nights and revenue. The rates hold the minor
+     * units charged for each night of the stay; null means they cannot be
+     * counted in the reporting currency.
+     */
+    void addReservation(Reservation reservation, long[] nightlyRates) {
+        apply(reservation, nightlyRates, 1);
+    }
+
+    void removeReservation(Reservation reservation, long[] nightlyRates) {
+        apply(reservation, nightlyRates, -1);
+    }
+
+    private void apply(Reservation reservation, long[] nightlyRates, int sign) {
+        int kind = reservation.getRoom().getRoomType().getKind().ordinal();
+        int startDay = reservation.getStartDay();
+        int endDay = reservation.getEndDay();
+        long[] rates = nightlyRates == null ? new long[endDay - startDay] : nightlyRates;
+        reservations[kind] += sign;
+        if (nightlyRates == null) {
+            unpricedReservations += sign;
+        } else {
+            long total = 0;
+            for (long rate : rates) {
+                total = Math.addExact(total, rate);
+            }
+            totalRevenue[kind] = Math.addExact(totalRevenue[kind], sign * total);
+        }
+        addNights(kind, startDay, endDay, startDay, rates, sign);
+        if (endDay > windowEnd()) {
+            if (sign > 0) {
+                laterNights.put(reservation.getReservationNumber(), new Stay(kind, startDay, endDay, rates));
+            } else {
+                laterNights.remove(reservation.getReservationNumber());
+            }
+        }
+    }
+
+    /**
+     * Adds sign rooms sold, and their rates, to each night of [from, endDay)
+     * inside the window. rates[0] is the rate of the stay's first night,
+     * stayStart.
+     */
+    private void addNights(int kind, int from, int endDay, int stayStart, long[] rates, int sign) {
+        int first = Math.max(from, windowStart);
+        int to = Math.min(endDay, windowEnd());
+        int base = kind * horizon;
+        for (int day = first; day < to; day++) {
+            int slot = base + position(day);
+            roomsSold[slot] += sign;
+            nightlyRevenue[slot] += sign * rates[day - stayStart];
+        }
+    }
+
+    /**
+     * Moves the window forward to start at newStart. Nights leaving the
+     * window are cleared and nights entering it are counted from the stays
+     * that reach them.
+     */
+    void advanceTo(int newStart) {
+        if (newStart <= windowStart) {
+            return;
+        }
+        int oldEnd = windowEnd();
+        int cleared = Math.min(newStart - windowStart, horizon);
+        for (int kind = 0; kind < KINDS; kind++) {
+            int base = kind * horizon;
+            for (int i = 0; i < cleared; i++) {
+                int slot = base + position(windowStart + i);
+                roomsSold[slot] = 0;
+                nightlyRevenue[slot] = 0;
+            }
+        }
+        windowStart = newStart;
+        int enteringFrom = Math.max(oldEnd, newStart);
+        for (Iterator<Stay> stays = laterNights.values().iterator(); stays.hasNext();) {
+            Stay stay = stays.next();
+            addNights(stay.kind, Math.max(stay.startDay, enteringFrom), stay.endDay, stay.startDay, stay.rates, 1);
+            if (stay.endDay <= windowEnd()) {
+                stays.remove();
+            }
+        }
+    }
+
+    boolean covers(int day) {
+        return day >= windowStart && day < windowEnd();
+    }
+
+    int windowStart() {
+        return windowStart;
+    }
+
+    int windowEnd() {
+        return windowStart + horizon;
+    }
+
+    int roomsSold(RoomKind kind, int day) {
+        return roomsSold[kind.ordinal() * horizon + position(day)];
+    }
+
+    long nightlyRevenue(RoomKind kind, int day) {
+        return nightlyRevenue[kind.ordinal() * horizon + position(day)];
+    }
+
+    int rooms(RoomKind kind) {
+        return rooms[kind.ordinal()];
+    }
+
+    int guestsInHouse(RoomKind kind) {
+        return guestsInHouse[kind.ordinal()];
+    }
+
+    int reservations(RoomKind kind) {
+        return reservations[kind.ordinal()];
+    }
+
+    long totalRevenue(RoomKind kind) {
+        return totalRevenue[kind.ordinal()];
+    }
+
+    int unpricedReservations() {
+        return unpricedReservations;
+    }
+
+    private int position(int day) {
+        return Math.floorMod(day, horizon);
+    }
+
+    /**
+     * A stay with nights past the window, kept until the window reaches its end.
+     */
+    private static final class Stay {
+        final int kind;
+        final int startDay;
+        final int endDay;
+        final long[] rates;
+
+        Stay(int kind, int startDay, int endDay, long[] rates) {
+            this.kind = kind;
+            this.startDay = startDay;
+            this.endDay = endDay;
+            this.rates = rates;
+        }
+    }
+}
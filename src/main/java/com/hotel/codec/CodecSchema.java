@@ -0,0 +1,96 @@
+package com.hotel.codec;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomState;
+
+/**
+ * Fixed id tables of the wire format. Ids are part of the schema: new
+ * entries go at the end, and removing or reordering one needs a new
+ * {@link #VERSION}.
+ *
+ * Decoders read only the current version. The format has not been
+ * released yet, so it is still changed in place at version 1; after a
+ * release, a change needs a new version and a decoder for the old one.
+ */
+final class CodecSchema {
+    static final byte VERSION = 1;
+
+    // Room type references: 0 introduces a new type, anything else is an earlier one
+    static final int NEW_ROOM_TYPE = 0;
+    // Currency ids: 0 means the ISO code follows inline
+    static final int INLINE_CURRENCY = 0;
+    // Nightly rate counts are written plus one: 0 means the room type's rate
+    static final int NO_LOCKED_RATES = 0;
+
+    private static final RoomKind[] KINDS = { RoomKind.SINGLE, RoomKind.DOUBLE, RoomKind.FAMILY, RoomKind.SUITE };
+    private static final RoomState[] STATES = { RoomState.FREE, RoomState.RESERVED, RoomState.OCCUPIED };
+    private static final List<String> CURRENCY_CODES = List.of(
+            "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "CNY", "INR", "PKR",
+            "AED", "SAR", "SGD", "HKD", "SEK", "NOK", "DKK", "NZD", "MXN", "BRL",
+            "ZAR", "TRY", "KRW", "THB");
+
+    private static final Map<Currency, Integer> CURRENCY_IDS = new HashMap<>();
+    private static final Currency[] CURRENCIES = new Currency[CURRENCY_CODES.size() + 1];
+
+    static {
+        for (int i = 0; i < CURRENCY_CODES.size(); i++) {
+            Currency currency = Currency.getInstance(CURRENCY_CODES.get(i));
+            CURRENCY_IDS.put(currency, i + 1);
+            CURRENCIES[i + 1] = currency;
+        }
+    }
+
+    private CodecSchema() {
+    }
+
+    static int kindId(RoomKind kind) {
+        for (int i = 0; i < KINDS.length; i++) {
+            if (KINDS[i] == kind) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Room kind " + kind + " has no id in schema version " + VERSION);
+    }
+
+    static RoomKind kind(int id) {
+        if (id < 0 || id >= KINDS.length) {
+            throw new IllegalArgumentException("Unknown room kind id " + id);
+        }
+        return KINDS[id];
+    }
+
+    static int stateId(RoomState state) {
+        for (int i = 0; i < STATES.length; i++) {
+            if (STATES[i] == state) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Room state " + state + " has no id in schema version " + VERSION);
+    }
+
+    static RoomState state(int id) {
+        if (id < 0 || id >= STATES.length) {
+            throw new IllegalArgumentException("Unknown room state id " + id);
+        }
+        return STATES[id];
+    }
+
+    /**
+     * Returns the currency's id, or {@link #INLINE_CURRENCY} if it has none.
+     */
+    static int currencyId(Currency currency) {
+        return CURRENCY_IDS.getOrDefault(currency, INLINE_CURRENCY);
+    }
+
+    static Currency currency(int id) {
+        if (id <= 0 || id >= CURRENCIES.length) {
+            throw new IllegalArgumentException("Unknown currency id " + id);
+        }
+        return CURRENCIES[id];
+    }
+}
@@ -0,0 +1,158 @@
+package com.hotel.codec;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomState;
+import com.hotel.domain.RoomType;
+
+/**
+ * Reads domain objects written by {@link DomainEncoder}.
+ * Room types introduced earlier in the stream are remembered, so a decoder
+ * must read the stream in the order it was written.
+ *
+ * A decoder is not thread-safe. Malformed input fails with an
+ * IllegalArgumentException.
+ */
+public final class DomainDecoder {
+    private final List<RoomType> roomTypes = new ArrayList<>();
+
+    /**
+     * Starts a new stream: checks the schema version and forgets every room
+     * type read so far.
+     */
+    public void readHeader(ByteBuffer in) {
+        reset();
+        byte version = in.get();
+        if (version != CodecSchema.VERSION) {
+            throw new IllegalArgumentException("Unsupported schema version " + version);
+        }
+    }
+
+    /**
+     * Forgets the room types read so far.
+     */
+    public void reset() {
+        roomTypes.clear();
+    }
+
+    public Money readMoney(ByteBuffer in) {
+        long unscaled = VarInts.readSigned(in);
+        long scale = VarInts.readSigned(in);
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Amount scale out of range: " + scale);
+        }
+        Currency currency = readCurrency(in);
+        if (scale == Money.fractionDigits(currency) && unscaled >= 0) {
+            return Money.ofMinorUnits(unscaled, currency);
+        }
+        return new Money(BigDecimal.valueOf(unscaled, (int) scale), currency);
+    }
+
+    private Currency readCurrency(ByteBuffer in) {
+        int currencyId = VarInts.readUnsignedInt(in);
+        return currencyId == CodecSchema.INLINE_CURRENCY
+                ? Money.currency(Strings.read(in))
+                : CodecSchema.currency(currencyId);
+    }
+
+    public RoomType readRoomType(ByteBuffer in) {
+        int id = VarInts.readUnsignedInt(in);
+        if (id != CodecSchema.NEW_ROOM_TYPE) {
+            if (id > roomTypes.size()) {
+                throw new IllegalArgumentException("Unknown room type id " + id);
+            }
+            return roomTypes.get(id - 1);
+        }
+        RoomKind kind = CodecSchema.kind(in.get());
+        RoomType roomType = new RoomType(kind, readMoney(in));
+        roomTypes.add(roomType);
+        return roomType;
+    }
+
+    public Identity readIdentity(ByteBuffer in) {
+        return new Identity(Strings.read(in), Strings.read(in));
+    }
+
+    /**
+     * Reads a card, which only carries its masked number.
+     */
+    public CreditCard readCreditCard(ByteBuffer in) {
+        return CreditCard.fromMaskedNumber(Strings.read(in));
+    }
+
+    public Guest readGuest(ByteBuffer in) {
+        String name = Strings.read(in);
+        Address address = new Address(Strings.read(in), Strings.read(in), Strings.read(in));
+        Identity identity = in.get() == 0 ? null : readIdentity(in);
+        return new Guest(name, address, identity);
+    }
+
+    /**
+     * Reads a room and moves it to its encoded state through the normal
+     * transitions.
+     */
+    public Room readRoom(ByteBuffer in) {
+        long number = VarInts.readSigned(in);
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Room number out of range: " + number);
+        }
+        Room room = new Room((int) number, readRoomType(in));
+        RoomState state = CodecSchema.state(in.get());
+        if (state != RoomState.FREE) {
+            room.bookRoom();
+        }
+        if (state == RoomState.OCCUPIED) {
+            room.checkInGuest(readGuest(in));
+        }
+        return room;
+    }
+
+    public Reservation readReservation(ByteBuffer in) {
+        long number = VarInts.readSigned(in);
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Reservation number out of range: " + number);
+        }
+        long startDay = VarInts.readSigned(in);
+        long nights = VarInts.readUnsigned(in);
+        ReserverPayer payer = new ReserverPayer(readIdentity(in), readCreditCard(in));
+        Room room = readRoom(in);
+        return new Reservation((int) number, LocalDate.ofEpochDay(startDay), LocalDate.ofEpochDay(startDay + nights),
+                payer, room, readNightlyRates(in, nights));
+    }
+
+    /**
+     * Reads locked nightly rates, returning null for a reservation at the
+     * room type's rate.
+     */
+    private List<Money> readNightlyRates(ByteBuffer in, long nights) {
+        int count = VarInts.readUnsignedInt(in);
+        if (count == CodecSchema.NO_LOCKED_RATES) {
+            return null;
+        }
+        if (count - 1 != nights) {
+            throw new IllegalArgumentException("Expected " + nights + " nightly rates but got " + (count - 1));
+        }
+        List<Money> rates = new ArrayList<>(count - 1);
+        if (count > 1) {
+            Currency currency = readCurrency(in);
+            for (int i = 1; i < count; i++) {
+                rates.add(Money.ofMinorUnits(VarInts.readUnsigned(in), currency));
+            }
+        }
+        return rates;
+    }
+}
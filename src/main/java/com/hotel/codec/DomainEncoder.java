@@ -0,0 +1,180 @@
+package com.hotel.codec;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomState;
+import com.hotel.domain.RoomType;
+
+/**
+ * Writes domain objects in the compact binary format read by
+ * {@link DomainDecoder}.
+ *
+ * Integers are varints, dates are epoch days, money is an unscaled long
+ * with its scale and a currency id, and locked nightly rates are minor
+ * units. A room type is written in full the
+ * first time it appears in a stream and as a small id afterwards, so an
+ * encoder and its decoder must see the same stream from the same
+ * {@link #reset()}. Objects are written straight into the caller's buffer,
+ * which must have room for them.
+ *
+ * An encoder is not thread-safe.
+ */
+public final class DomainEncoder {
+    private final Map<RoomType, Integer> roomTypeIds = new HashMap<>();
+
+    /**
+     * Starts a new stream: writes the schema version and forgets every
+     * room type written so far.
+     */
+    public void writeHeader(ByteBuffer out) {
+        reset();
+        out.put(CodecSchema.VERSION);
+    }
+
+    /**
+     * Forgets the room types written so far, e.g. before reusing the encoder
+     * for another stream.
+     */
+    public void reset() {
+        roomTypeIds.clear();
+    }
+
+    /**
+     * Writes an amount. Amounts in whole minor units are written straight
+     * from them, scaled to the currency's minor unit, without building a
+     * BigDecimal.
+     */
+    public void writeMoney(ByteBuffer out, Money money) {
+        if (money.hasMinorUnits()) {
+            VarInts.writeSigned(out, money.getMinorUnits());
+            VarInts.writeSigned(out, Money.fractionDigits(money.getCurrency()));
+            writeCurrency(out, money.getCurrency());
+            return;
+        }
+        BigDecimal amount = money.getAmount();
+        long unscaled;
+        try {
+            unscaled = amount.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " does not fit the binary format", e);
+        }
+        VarInts.writeSigned(out, unscaled);
+        VarInts.writeSigned(out, amount.scale());
+        writeCurrency(out, money.getCurrency());
+    }
+
+    private void writeCurrency(ByteBuffer out, Currency currency) {
+        int currencyId = CodecSchema.currencyId(currency);
+        VarInts.writeUnsigned(out, currencyId);
+        if (currencyId == CodecSchema.INLINE_CURRENCY) {
+            Strings.write(out, currency.getCurrencyCode());
+        }
+    }
+
+    public void writeRoomType(ByteBuffer out, RoomType roomType) {
+        Integer id = roomTypeIds.get(roomType);
+        if (id != null) {
+            VarInts.writeUnsigned(out, id);
+            return;
+        }
+        VarInts.writeUnsigned(out, CodecSchema.NEW_ROOM_TYPE);
+        out.put((byte) CodecSchema.kindId(roomType.getKind()));
+        writeMoney(out, roomType.getCost());
+        roomTypeIds.put(roomType, roomTypeIds.size() + 1);
+    }
+
+    public void writeIdentity(ByteBuffer out, Identity identity) {
+        Strings.write(out, identity.getType());
+        Strings.write(out, identity.getIdNumber());
+    }
+
+    /**
+     * Writes the masked card number; the full number, expiry date and
+     * security code are never written.
+     */
+    public void writeCreditCard(ByteBuffer out, CreditCard card) {
+        Strings.write(out, card.getMaskedNumber());
+    }
+
+    public void writeGuest(ByteBuffer out, Guest guest) {
+        Strings.write(out, guest.getName());
+        Address address = guest.getAddressDetails();
+        Strings.write(out, address.getStreet());
+        Strings.write(out, address.getCity());
+        Strings.write(out, address.getZipCode());
+        if (guest.getId() == null) {
+            out.put((byte) 0);
+        } else {
+            out.put((byte) 1);
+            writeIdentity(out, guest.getId());
+        }
+    }
+
+    /**
+     * Writes a room with its type, state and, if occupied, its guest.
+     */
+    public void writeRoom(ByteBuffer out, Room room) {
+        VarInts.writeSigned(out, room.getNumber());
+        writeRoomType(out, room.getRoomType());
+        Guest occupant = room.getOccupant();
+        RoomState state = room.getState();
+        if (state == RoomState.OCCUPIED && occupant == null) {
+            // The guest checked in between the two reads; write the state from before
+            state = RoomState.RESERVED;
+        }
+        out.put((byte) CodecSchema.stateId(state));
+        if (state == RoomState.OCCUPIED) {
+            writeGuest(out, occupant);
+        }
+    }
+
+    /**
+     * Writes a reservation with its payer, room and locked nightly rates.
+     * The stay is its start day and length in nights; the rates are their
+     * count plus one, or 0 without locked rates, then the currency and each
+     * night's minor units.
+     */
+    public void writeReservation(ByteBuffer out, Reservation reservation) {
+        VarInts.writeSigned(out, reservation.getReservationNumber());
+        long startDay = reservation.getStartDay();
+        VarInts.writeSigned(out, startDay);
+        VarInts.writeUnsigned(out, reservation.getEndDay() - startDay);
+        ReserverPayer payer = reservation.getPayer();
+        writeIdentity(out, payer.getId());
+        writeCreditCard(out, payer.getCreditCardDetails());
+        writeRoom(out, reservation.getRoom());
+        writeNightlyRates(out, reservation);
+    }
+
+    private void writeNightlyRates(ByteBuffer out, Reservation reservation) {
+        if (!reservation.hasLockedRates()) {
+            VarInts.writeUnsigned(out, CodecSchema.NO_LOCKED_RATES);
+            return;
+        }
+        List<Money> rates = reservation.getNightlyRates();
+        VarInts.writeUnsigned(out, rates.size() + 1L);
+        if (rates.isEmpty()) {
+            return;
+        }
+        writeCurrency(out, rates.get(0).getCurrency());
+        for (Money rate : rates) {
+            if (!rate.hasMinorUnits()) {
+                throw new IllegalArgumentException("Nightly rate " + rate + " does not fit the binary format");
+            }
+            VarInts.writeUnsigned(out, rate.getMinorUnits());
+        }
+    }
+}
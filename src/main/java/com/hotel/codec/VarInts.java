@@ -0,0 +1,51 @@
+package com.hotel.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128 variable-length integers: seven bits per byte, low bits first,
+ * high bit set on every byte but the last. Signed values are zigzag
+ * encoded first so small negative numbers stay short.
+ */
+final class VarInts {
+
+    private VarInts() {
+    }
+
+    static void writeUnsigned(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static void writeSigned(ByteBuffer out, long value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readUnsigned(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte next = in.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint: more than 10 bytes");
+    }
+
+    static long readSigned(ByteBuffer in) {
+        long zigzag = readUnsigned(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    static int readUnsignedInt(ByteBuffer in) {
+        long value = readUnsigned(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint does not fit an int: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hotel.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.hotel.domain.RoomType;
+
+/**
+ * Recent answers to a hotel's availability question, kept in a size-bounded
+ * LRU map. Each answer is stamped with the version its room type had when
+ * it was worked out, and is only served while the type is still at that
+ * version, so a change to one type retires its answers without touching
+ * the others. Stale answers are replaced on their next lookup or age out.
+ */
+class AvailabilityCache {
+    static final int DEFAULT_SIZE = 10_000;
+
+    private final LinkedHashMap<Key, Answer> answers;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    AvailabilityCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Availability cache size must be positive");
+        }
+        this.answers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Answer> eldest) {
+                if (size() > size) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached answer if it was worked out at the given version,
+     * or null on a miss.
+     */
+    Boolean get(RoomType roomType, int startDay, int endDay, long version) {
+        lock.lock();
+        try {
+            Answer answer = answers.get(new Key(roomType, startDay, endDay));
+            if (answer == null || answer.version != version) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return answer.available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches an answer worked out at the given version, unless a newer one
+     * got there first.
+     */
+    void put(RoomType roomType, int startDay, int endDay, long version, boolean available) {
+        Key key = new Key(roomType, startDay, endDay);
+        lock.lock();
+        try {
+            Answer current = answers.get(key);
+            if (current == null || current.version <= version) {
+                answers.put(key, new Answer(version, available));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    AvailabilityCacheStats stats() {
+        lock.lock();
+        try {
+            return new AvailabilityCacheStats(hits, misses, evictions, answers.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Key {
+        private final RoomType roomType;
+        private final int startDay;
+        private final int endDay;
+
+        Key(RoomType roomType, int startDay, int endDay) {
+            this.roomType = roomType;
+            this.startDay = startDay;
+            this.endDay = endDay;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return startDay == key.startDay && endDay == key.endDay && roomType.equals(key.roomType);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = roomType.hashCode();
+            hash = 31 * hash + startDay;
+            return 31 * hash + endDay;
+        }
+    }
+
+    private static final class Answer {
+        private final long version;
+        private final boolean available;
+
+        Answer(long version, boolean available) {
+            this.version = version;
+            this.available = available;
+        }
+    }
+}
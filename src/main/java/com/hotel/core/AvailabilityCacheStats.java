@@ -0,0 +1,52 @@
+package com.hotel.core;
+
+/**
+ * A point-in-time count of how a hotel's availability cache has been used.
+ * Stale answers found in the cache count as misses; evictions are answers
+ * dropped to keep the cache within its size.
+ */
+public class AvailabilityCacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    public AvailabilityCacheStats(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns how many answers are cached, including stale ones not yet replaced.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return hits + " hits, " + misses + " misses, " + evictions + " evictions, " + size + " cached";
+    }
+}
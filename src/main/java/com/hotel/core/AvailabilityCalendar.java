@@ -0,0 +1,152 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+
+/**
+ * Day-granular bitmap of booked nights for a single room.
+ * Bit N is set when the night of epoch day N is booked. The calendar covers
+ * a rolling window of days stored as a ring, so range checks are word-wise
+ * mask tests and advancing the window never reallocates.
+ */
+class AvailabilityCalendar {
+    static final int DEFAULT_HORIZON_DAYS = 730;
+
+    private final long[] words;
+    private final int capacity;
+    private long windowStart;
+
+    /**
+     * Creates an empty calendar covering at least horizonDays nights from windowStart.
+     */
+    AvailabilityCalendar(LocalDate windowStart, int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Calendar horizon must be positive");
+        }
+        this.words = new long[(horizonDays + 63) >>> 6];
+        this.capacity = words.length << 6;
+        this.windowStart = windowStart.toEpochDay();
+    }
+
+    long getWindowStart() {
+        return windowStart;
+    }
+
+    long getWindowEnd() {
+        return windowStart + capacity;
+    }
+
+    /**
+     * Checks if all nights in [startDay, endDay) fall inside the window.
+     */
+    boolean covers(long startDay, long endDay) {
+        return startDay >= windowStart && endDay <= getWindowEnd();
+    }
+
+    /**
+     * Checks if no night in [startDay, endDay) is booked.
+     * The range must be covered by the window.
+     */
+    boolean isFree(long startDay, long endDay) {
+        if (endDay <= startDay) {
+            return true;
+        }
+        int from = position(startDay);
+        int length = (int) (endDay - startDay);
+        int firstPart = Math.min(length, capacity - from);
+        if (anySet(from, from + firstPart)) {
+            return false;
+        }
+        return firstPart == length || !anySet(0, length - firstPart);
+    }
+
+    /**
+     * Marks the nights in [startDay, endDay) as booked, ignoring nights outside the window.
+     */
+    void markBooked(long startDay, long endDay) {
+        apply(startDay, endDay, true);
+    }
+
+    /**
+     * Marks the nights in [startDay, endDay) as free, ignoring nights outside the window.
+     */
+    void markFree(long startDay, long endDay) {
+        apply(startDay, endDay, false);
+    }
+
+    /**
+     * Moves the window forward so it starts at newStart.
+     * Nights that leave the window are cleared; nights that enter it start free.
+     */
+    void advanceTo(long newStart) {
+        if (newStart <= windowStart) {
+            return;
+        }
+        markFree(windowStart, Math.min(newStart, getWindowEnd()));
+        windowStart = newStart;
+    }
+
+    private void apply(long startDay, long endDay, boolean booked) {
+        long from = Math.max(startDay, windowStart);
+        long to = Math.min(endDay, getWindowEnd());
+        if (to <= from) {
+            return;
+        }
+        int position = position(from);
+        int length = (int) (to - from);
+        int firstPart = Math.min(length, capacity - position);
+        setRange(position, position + firstPart, booked);
+        if (firstPart < length) {
+            setRange(0, length - firstPart, booked);
+        }
+    }
+
+    private int position(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) capacity);
+    }
+
+    /**
+     * Checks if any bit in [from, to) is set, one word at a time.
+     */
+    private boolean anySet(int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (words[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((words[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (words[i] != 0) {
+                return true;
+            }
+        }
+        return (words[lastWord] & lastMask) != 0;
+    }
+
+    private void setRange(int from, int to, boolean value) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            update(firstWord, firstMask & lastMask, value);
+            return;
+        }
+        update(firstWord, firstMask, value);
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = value ? -1L : 0L;
+        }
+        update(lastWord, lastMask, value);
+    }
+
+    private void update(int wordIndex, long mask, boolean value) {
+        if (value) {
+            words[wordIndex] |= mask;
+        } else {
+            words[wordIndex] &= ~mask;
+        }
+    }
+}
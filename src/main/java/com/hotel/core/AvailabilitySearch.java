@@ -0,0 +1,150 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+/**
+ * Searches every hotel of a chain for free rooms in parallel.
+ * The chain's hotels are split across a fork-join pool of the configured
+ * parallelism; once enough matches are found, remaining hotels are skipped.
+ */
+public class AvailabilitySearch implements AutoCloseable {
+    // Hotels checked sequentially by one task before it stops splitting
+    private static final int HOTELS_PER_TASK = 8;
+
+    private final HotelChain chain;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    /**
+     * Creates a search over the chain that runs on its own pool.
+     */
+    public AvailabilitySearch(HotelChain chain, int parallelism) {
+        this(chain, new ForkJoinPool(validateParallelism(parallelism)), true);
+    }
+
+    /**
+     * Creates a search over the chain that runs on the common fork-join pool.
+     */
+    public AvailabilitySearch(HotelChain chain) {
+        this(chain, ForkJoinPool.commonPool(), false);
+    }
+
+    private AvailabilitySearch(HotelChain chain, ForkJoinPool pool, boolean ownsPool) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Hotel chain is required");
+        }
+        this.chain = chain;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    private static int validateParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        return parallelism;
+    }
+
+    /**
+     * Finds up to maxResults hotels with a room of the given kind free for
+     * every night of the stay, at any rate.
+     */
+    public List<HotelAvailability> search(RoomKind roomKind, LocalDate start, LocalDate end, int maxResults) {
+        if (roomKind == null) {
+            throw new IllegalArgumentException("Room kind is required");
+        }
+        return search(hotel -> hotel.countAvailableRooms(start, end, roomKind), maxResults);
+    }
+
+    /**
+     * Finds up to maxResults hotels with a room of the given type free for
+     * every night of the stay.
+     */
+    public List<HotelAvailability> search(RoomType roomType, LocalDate start, LocalDate end, int maxResults) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type is required");
+        }
+        return search(hotel -> hotel.countAvailableRooms(start, end, roomType), maxResults);
+    }
+
+    /**
+     * Matches are returned in the chain's hotel order. With early
+     * termination, which hotels make the cut depends on scheduling.
+     */
+    private List<HotelAvailability> search(ToIntFunction<Hotel> freeRooms, int maxResults) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("Maximum number of results must be positive");
+        }
+        List<Hotel> hotels = chain.getHotels();
+        ConcurrentSkipListMap<Integer, HotelAvailability> matches = new ConcurrentSkipListMap<>();
+        pool.invoke(new SearchTask(hotels, 0, hotels.size(), freeRooms, maxResults,
+                new AtomicInteger(), matches));
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Shuts down the search's own pool, if it has one.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Checks a slice of the chain's hotels, splitting it while it is large.
+     */
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Hotel> hotels;
+        private final int from;
+        private final int to;
+        private final transient ToIntFunction<Hotel> freeRooms;
+        private final int maxResults;
+        private final AtomicInteger found;
+        private final ConcurrentSkipListMap<Integer, HotelAvailability> matches;
+
+        private SearchTask(List<Hotel> hotels, int from, int to, ToIntFunction<Hotel> freeRooms, int maxResults,
+                AtomicInteger found, ConcurrentSkipListMap<Integer, HotelAvailability> matches) {
+            this.hotels = hotels;
+            this.from = from;
+            this.to = to;
+            this.freeRooms = freeRooms;
+            this.maxResults = maxResults;
+            this.found = found;
+            this.matches = matches;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() >= maxResults) {
+                return;
+            }
+            if (to - from > HOTELS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SearchTask(hotels, from, middle, freeRooms, maxResults, found, matches),
+                        new SearchTask(hotels, middle, to, freeRooms, maxResults, found, matches));
+                return;
+            }
+            for (int i = from; i < to && found.get() < maxResults; i++) {
+                Hotel hotel = hotels.get(i);
+                int free = freeRooms.applyAsInt(hotel);
+                if (free > 0 && found.getAndIncrement() < maxResults) {
+                    matches.put(i, new HotelAvailability(hotel, free));
+                }
+            }
+        }
+    }
+}
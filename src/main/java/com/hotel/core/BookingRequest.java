@@ -0,0 +1,63 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomType;
+
+/**
+ * One booking in a batch sent to {@link HotelChain#createReservations} or
+ * {@link Hotel#createReservations}.
+ */
+public class BookingRequest {
+    private final String hotelName;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final RoomType roomType;
+    private final ReserverPayer payer;
+
+    public BookingRequest(String hotelName, LocalDate startDate, LocalDate endDate,
+            RoomType roomType, ReserverPayer payer) {
+        if (hotelName == null || hotelName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Hotel name is required");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Booking dates cannot be null");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must be after or equal to start date");
+        }
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type is required");
+        }
+        if (payer == null) {
+            throw new IllegalArgumentException("Payer information is required");
+        }
+
+        this.hotelName = hotelName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.roomType = roomType;
+        this.payer = payer;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public ReserverPayer getPayer() {
+        return payer;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.core;
+
+import com.hotel.domain.Reservation;
+
+/**
+ * Outcome of one {@link BookingRequest} in a batch: either the reservation
+ * that was created or the reason it could not be.
+ */
+public class BookingResult {
+    private final BookingRequest request;
+    private final Reservation reservation;
+    private final String failureReason;
+
+    private BookingResult(BookingRequest request, Reservation reservation, String failureReason) {
+        this.request = request;
+        this.reservation = reservation;
+        this.failureReason = failureReason;
+    }
+
+    static BookingResult success(BookingRequest request, Reservation reservation) {
+        return new BookingResult(request, reservation, null);
+    }
+
+    static BookingResult failure(BookingRequest request, String reason) {
+        return new BookingResult(request, null, reason);
+    }
+
+    /**
+     * Checks if the booking was made.
+     */
+    public boolean isSuccessful() {
+        return reservation != null;
+    }
+
+    public BookingRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Returns the created reservation, or null if the booking failed.
+     */
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    /**
+     * Returns why the booking failed, or null if it succeeded.
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccessful()
+                ? "Booked reservation #" + reservation.getReservationNumber()
+                : "Failed: " + failureReason;
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomType;
+
+/**
+ * Runs chain requests asynchronously, each on its own virtual thread.
+ * A request that blocks (waiting on a hotel's locks, or on I/O around the
+ * booking) parks its virtual thread instead of holding a platform thread.
+ * The booking path only uses ReentrantLock and atomics, never synchronized,
+ * so virtual threads are not pinned while they wait.
+ *
+ * Each hotel runs at most a fixed number of requests at a time; the rest
+ * wait for a permit without blocking other hotels.
+ */
+public class ChainRequestExecutor implements AutoCloseable {
+    private final HotelChain chain;
+    private final int maxConcurrentPerHotel;
+    private final Map<Hotel, Semaphore> permits;
+    private final ExecutorService executor;
+
+    public ChainRequestExecutor(HotelChain chain, int maxConcurrentPerHotel) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Hotel chain is required");
+        }
+        if (maxConcurrentPerHotel <= 0) {
+            throw new IllegalArgumentException("Concurrency limit per hotel must be positive");
+        }
+        this.chain = chain;
+        this.maxConcurrentPerHotel = maxConcurrentPerHotel;
+        this.permits = new ConcurrentHashMap<>();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Books a room in the named hotel.
+     */
+    public CompletableFuture<Reservation> makeReservation(String hotelName, LocalDate start, LocalDate end,
+            RoomType roomType, ReserverPayer customer) {
+        return submit(hotelName, hotel -> chain.makeReservation(hotel, start, end, roomType, customer));
+    }
+
+    /**
+     * Cancels a reservation in the named hotel.
+     */
+    public CompletableFuture<Void> cancelReservation(String hotelName, int reservationId) {
+        return submit(hotelName, hotel -> {
+            chain.cancelReservation(hotel, reservationId);
+            return null;
+        });
+    }
+
+    /**
+     * Checks a guest into a room of the named hotel.
+     */
+    public CompletableFuture<Void> checkInGuest(String hotelName, int roomNumber, Guest guest) {
+        return submit(hotelName, hotel -> {
+            chain.checkInGuest(hotel, roomNumber, guest);
+            return null;
+        });
+    }
+
+    /**
+     * Checks a guest out of a room of the named hotel.
+     */
+    public CompletableFuture<Void> checkOutGuest(String hotelName, int roomNumber) {
+        return submit(hotelName, hotel -> {
+            chain.checkOutGuest(hotel, roomNumber);
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting requests and waits for the submitted ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /**
+     * Resolves the hotel and runs the request under one of its permits.
+     * Lookup failures and request errors complete the future exceptionally.
+     */
+    private <T> CompletableFuture<T> submit(String hotelName, Function<Hotel, T> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            Hotel hotel = chain.getHotel(hotelName);
+            Semaphore hotelPermits = permits.computeIfAbsent(hotel, h -> new Semaphore(maxConcurrentPerHotel));
+            try {
+                hotelPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return request.apply(hotel);
+            } finally {
+                hotelPermits.release();
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hotel.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.exception.HotelException;
+
+/**
+ * Keeps a hotel's reservations as objects on the heap.
+ * Lookup and removal are constant time and safe to call from any thread.
+ * Every change also updates an immutable ordered list in O(log n), so
+ * reading all reservations never copies or sorts them.
+ */
+class HeapReservationStore implements ReservationStore {
+    private final Map<Integer, Reservation> byNumber = new ConcurrentHashMap<>();
+    private final AtomicReference<SortedReservations> ordered = new AtomicReference<>(SortedReservations.EMPTY);
+
+    @Override
+    public void add(Reservation reservation) {
+        Reservation existing = byNumber.putIfAbsent(reservation.getReservationNumber(), reservation);
+        if (existing != null) {
+            throw new HotelException("Reservation #" + reservation.getReservationNumber() + " already exists");
+        }
+        ordered.updateAndGet(list -> list.with(reservation));
+    }
+
+    @Override
+    public Reservation remove(int reservationNumber) {
+        Reservation removed = byNumber.remove(reservationNumber);
+        if (removed != null) {
+            ordered.updateAndGet(list -> list.without(reservationNumber));
+        }
+        return removed;
+    }
+
+    @Override
+    public Reservation find(int reservationNumber) {
+        return byNumber.get(reservationNumber);
+    }
+
+    @Override
+    public List<Reservation> all() {
+        return ordered.get();
+    }
+
+    @Override
+    public void forEach(Consumer<ReservationView> action) {
+        HeapView cursor = new HeapView();
+        for (Reservation reservation : byNumber.values()) {
+            cursor.reservation = reservation;
+            action.accept(cursor);
+        }
+    }
+
+    /**
+     * Points at one reservation object at a time.
+     */
+    private static final class HeapView implements ReservationView {
+        private Reservation reservation;
+
+        @Override
+        public int getReservationNumber() {
+            return reservation.getReservationNumber();
+        }
+
+        @Override
+        public int getStartDay() {
+            return reservation.getStartDay();
+        }
+
+        @Override
+        public int getEndDay() {
+            return reservation.getEndDay();
+        }
+
+        @Override
+        public Room getRoom() {
+            return reservation.getRoom();
+        }
+
+        @Override
+        public ReserverPayer getPayer() {
+            return reservation.getPayer();
+        }
+
+        @Override
+        public Reservation toReservation() {
+            return reservation;
+        }
+    }
+}
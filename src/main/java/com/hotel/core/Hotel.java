@@ -2,31 +2,86 @@ package com.hotel.core;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+import com.hotel.domain.Guest;
+import com.hotel.domain.Money;
 import com.hotel.domain.Reservation;
 import com.hotel.domain.ReserverPayer;
 import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
 import com.hotel.domain.RoomType;
 import com.hotel.exception.HotelException;
 import com.hotel.domain.RoomState;
 
 /**
  * Represents a hotel with rooms and reservation management.
+ * A hotel is safe to share between threads: each room type has its own lock,
+ * so bookings of different types never block each other, and adding rooms or
+ * moving the calendar takes a separate structure lock.
  */
 public class Hotel {
     private final String name;
     private final List<Room> rooms;
-    private final List<Reservation> reservations;
+    private final ReservationStore reservations;
+    private final Map<RoomType, RoomTypeInventory> inventories;
+    private final Map<Room, RoomSchedule> schedules;
+    private final ReservationNumberGenerator reservationNumbers;
+    private final ReentrantLock structureLock;
+    private final List<HotelEventListener> listeners;
+    private final AvailabilityCache availabilityCache;
+    private volatile RoomNumberIndex roomIndex;
+    private volatile LocalDate calendarStart;
+    private volatile OccupancyCurve occupancyCurve;
+    // Thread of an event loop applying a batch; only that thread sets or reads it as its own
+    private Thread batchingThread;
 
     public Hotel(String name) {
+        this(name, new ReservationNumberGenerator());
+    }
+
+    /**
+     * Creates a hotel that draws reservation numbers from the given generator,
+     * e.g. one shared by every hotel of a chain.
+     */
+    public Hotel(String name, ReservationNumberGenerator reservationNumbers) {
+        this(name, reservationNumbers, ReservationStorage.HEAP);
+    }
+
+    /**
+     * Creates a hotel that keeps its reservations in the given storage,
+     * e.g. off-heap for hotels with a very long reservation history.
+     */
+    public Hotel(String name, ReservationNumberGenerator reservationNumbers, ReservationStorage storage) {
         validateHotelName(name);
+        if (reservationNumbers == null) {
+            throw new IllegalArgumentException("Reservation number generator is required");
+        }
+        if (storage == null) {
+            throw new IllegalArgumentException("Reservation storage is required");
+        }
 
         this.name = name;
-        this.rooms = new ArrayList<>();
-        this.reservations = new ArrayList<>();
+        this.reservationNumbers = reservationNumbers;
+        this.calendarStart = LocalDate.now();
+        this.rooms = new CopyOnWriteArrayList<>();
+        this.reservations = storage.createStore();
+        this.inventories = new ConcurrentHashMap<>();
+        this.schedules = new ConcurrentHashMap<>();
+        this.structureLock = new ReentrantLock();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.availabilityCache = new AvailabilityCache(AvailabilityCache.DEFAULT_SIZE);
+        this.roomIndex = RoomNumberIndex.of(List.of());
     }
 
     /**
@@ -40,81 +95,457 @@ public class Hotel {
 
     /**
      * Adds a room to this hotel.
+     * Room numbers must be unique within the hotel.
      */
     public void addRoom(Room room) {
         if (room == null) {
             throw new IllegalArgumentException("Room cannot be null");
         }
-        rooms.add(room);
+        beforeChange();
+        structureLock.lock();
+        try {
+            if (roomIndex.find(room.getNumber()) != null) {
+                throw new HotelException("Room " + room.getNumber() + " already exists in " + name);
+            }
+            RoomTypeInventory inventory = inventories.computeIfAbsent(room.getRoomType(), this::createInventory);
+            inventory.lock();
+            try {
+                schedules.computeIfAbsent(room,
+                        r -> new RoomSchedule(calendarStart, AvailabilityCalendar.DEFAULT_HORIZON_DAYS));
+                inventory.addRoom(room);
+                rooms.add(room);
+                roomIndex = roomIndex.with(room);
+                for (HotelEventListener listener : listeners) {
+                    listener.roomAdded(this, room);
+                }
+            } finally {
+                inventory.unlock();
+            }
+        } finally {
+            structureLock.unlock();
+        }
+        afterChange();
+    }
+
+    /**
+     * Creates the inventory for a room type seen for the first time, priced
+     * on the hotel's occupancy curve if it has one.
+     * Callers must hold the structure lock.
+     */
+    private RoomTypeInventory createInventory(RoomType roomType) {
+        RoomTypeInventory inventory = new RoomTypeInventory(roomType, calendarStart,
+                AvailabilityCalendar.DEFAULT_HORIZON_DAYS);
+        inventory.setOccupancyCurve(occupancyCurve);
+        return inventory;
+    }
+
+    /**
+     * Prices every room type of this hotel, including types added later, on
+     * an occupancy curve: each night costs the type's rate times the curve's
+     * multiplier for how full the type is that night. Reservations lock in
+     * the rates of the nights they were booked at. A null curve goes back to
+     * the static rate of each room type.
+     */
+    public void setOccupancyCurve(OccupancyCurve curve) {
+        structureLock.lock();
+        try {
+            if (curve != null) {
+                for (RoomType roomType : inventories.keySet()) {
+                    if (!roomType.getCost().hasMinorUnits()) {
+                        throw new IllegalArgumentException(
+                                "Dynamic pricing needs base rates in whole minor units, not " + roomType.getCost());
+                    }
+                }
+            }
+            for (RoomTypeInventory inventory : inventories.values()) {
+                inventory.lock();
+                try {
+                    inventory.setOccupancyCurve(curve);
+                } finally {
+                    inventory.unlock();
+                }
+            }
+            occupancyCurve = curve;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    public OccupancyCurve getOccupancyCurve() {
+        return occupancyCurve;
+    }
+
+    /**
+     * Returns what each night of the given dates costs in a room of the
+     * given type if booked now. Under dynamic pricing the rates are read
+     * from the type's precomputed per-night table.
+     */
+    public List<Money> getNightlyRates(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        validateStayDates(startDate, endDate);
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            throw new HotelException(name + " has no rooms of type " + roomType);
+        }
+        int startDay = Reservation.toEpochDay(startDate);
+        int endDay = Reservation.toEpochDay(endDate);
+        List<Money> rates;
+        inventory.lock();
+        try {
+            rates = inventory.nightlyRates(startDay, endDay);
+        } finally {
+            inventory.unlock();
+        }
+        return rates == null ? Collections.nCopies(endDay - startDay, roomType.getCost()) : rates;
+    }
+
+    /**
+     * Registers a listener for changes made to this hotel from now on.
+     */
+    public void addListener(HotelEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(HotelEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Loads rooms and reservations saved earlier, e.g. from a snapshot, into
+     * this hotel, which must not have any rooms yet. Rooms keep the states
+     * they are in; reservations must refer to the given rooms. Indexes are
+     * built once for the whole load and listeners are not notified. New
+     * reservation numbers will be above lastIssuedNumber, as returned by
+     * {@link #getLastIssuedReservationNumber()} when the state was saved,
+     * so numbers of reservations cancelled before then are not reused.
+     */
+    public void restore(List<Room> savedRooms, List<Reservation> savedReservations, int lastIssuedNumber) {
+        if (savedRooms == null || savedReservations == null) {
+            throw new IllegalArgumentException("Rooms and reservations to restore cannot be null");
+        }
+        structureLock.lock();
+        try {
+            if (!rooms.isEmpty()) {
+                throw new HotelException("Cannot restore into " + name + ": it already has rooms");
+            }
+            RoomNumberIndex index = RoomNumberIndex.of(savedRooms);
+            for (Room room : savedRooms) {
+                if (index.find(room.getNumber()) != room) {
+                    throw new HotelException("Room " + room.getNumber() + " appears twice in the rooms to restore");
+                }
+            }
+            for (Room room : savedRooms) {
+                inventories.computeIfAbsent(room.getRoomType(), this::createInventory).addRoom(room);
+                schedules.put(room, new RoomSchedule(calendarStart, AvailabilityCalendar.DEFAULT_HORIZON_DAYS));
+            }
+            rooms.addAll(savedRooms);
+            roomIndex = index;
+
+            int highestNumber = lastIssuedNumber;
+            for (Reservation reservation : savedReservations) {
+                Room room = reservation.getRoom();
+                if (index.find(room.getNumber()) != room) {
+                    throw new HotelException("Reservation #" + reservation.getReservationNumber()
+                            + " is not for a room of " + name);
+                }
+                reservations.add(reservation);
+                scheduleOf(room).add(reservation);
+                inventoryOf(room).recordSale(reservation);
+                highestNumber = Math.max(highestNumber, reservation.getReservationNumber());
+            }
+            reservationNumbers.advancePast(highestNumber);
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Shows each room type's rooms and reservations to the visitor, e.g. to
+     * write a snapshot. Every type is visited under its own lock, so the
+     * visitor sees a consistent picture of that type while bookings of other
+     * types carry on; rooms cannot be added during the walk.
+     */
+    public void forEachRoomType(RoomTypeVisitor visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("Visitor cannot be null");
+        }
+        structureLock.lock();
+        try {
+            for (RoomTypeInventory inventory : inventories.values()) {
+                inventory.lock();
+                try {
+                    List<Reservation> typeReservations = new ArrayList<>();
+                    for (Room room : inventory.getRooms()) {
+                        for (int number : scheduleOf(room).reservationNumbers()) {
+                            typeReservations.add(reservations.find(number));
+                        }
+                    }
+                    visitor.visit(inventory.getRoomType(), inventory.getRooms(), typeReservations);
+                } finally {
+                    inventory.unlock();
+                }
+            }
+        } finally {
+            structureLock.unlock();
+        }
     }
 
     public List<Room> getRooms() {
         return Collections.unmodifiableList(rooms);
     }
 
+    /**
+     * Looks up one of this hotel's rooms by its number.
+     */
+    public Optional<Room> findRoom(int roomNumber) {
+        return Optional.ofNullable(roomIndex.find(roomNumber));
+    }
+
     public List<Reservation> getReservations() {
-        return Collections.unmodifiableList(reservations);
+        return reservations.all();
+    }
+
+    /**
+     * Shows every reservation, in no particular order, through a reused
+     * view, without creating a Reservation object for each one.
+     * The action must not change this hotel.
+     */
+    public void forEachReservation(Consumer<ReservationView> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        reservations.forEach(action);
     }
 
     public String getName() {
         return name;
     }
 
+    /**
+     * Returns a number at least as high as every reservation number this
+     * hotel's generator has handed out, cancelled reservations included.
+     */
+    public int getLastIssuedReservationNumber() {
+        return reservationNumbers.lastIssued();
+    }
+
     /**
      * Checks if a room of the given type is available for the specified dates.
      * A room is available if:
      * 1. It's currently in FREE state
      * 2. No existing reservations overlap with the requested dates
+     *
+     * Answers are cached per room type and dates until the type next changes
+     * through this hotel (a booking, cancellation, check-out or new room).
+     * Room states changed directly on a {@link Room} are not seen by cached
+     * answers until then.
      */
     public boolean available(LocalDate startDate, LocalDate endDate, RoomType roomType) {
-        return findAvailableRoom(startDate, endDate, roomType).isPresent();
+        validateStayDates(startDate, endDate);
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            return false;
+        }
+        int startDay = Reservation.toEpochDay(startDate);
+        int endDay = Reservation.toEpochDay(endDate);
+        Boolean cached = availabilityCache.get(roomType, startDay, endDay, inventory.getVersion());
+        if (cached != null) {
+            return cached;
+        }
+        long version;
+        boolean available;
+        inventory.lock();
+        try {
+            version = inventory.getVersion();
+            available = findAvailableRoom(inventory, startDay, endDay).isPresent();
+        } finally {
+            inventory.unlock();
+        }
+        availabilityCache.put(roomType, startDay, endDay, version, available);
+        return available;
+    }
+
+    /**
+     * Returns how often {@link #available} was answered from its cache.
+     */
+    public AvailabilityCacheStats getAvailabilityCacheStats() {
+        return availabilityCache.stats();
+    }
+
+    /**
+     * Counts the rooms of the given type that are free for every night of the
+     * specified dates.
+     */
+    public int countAvailableRooms(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        validateStayDates(startDate, endDate);
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            return 0;
+        }
+        return countAvailableRooms(inventory, Reservation.toEpochDay(startDate), Reservation.toEpochDay(endDate));
+    }
+
+    /**
+     * Counts the rooms of the given kind, at any rate, that are free for every
+     * night of the specified dates.
+     */
+    public int countAvailableRooms(LocalDate startDate, LocalDate endDate, RoomKind roomKind) {
+        validateStayDates(startDate, endDate);
+        int startDay = Reservation.toEpochDay(startDate);
+        int endDay = Reservation.toEpochDay(endDate);
+        int count = 0;
+        for (RoomTypeInventory inventory : inventories.values()) {
+            if (inventory.getRoomType().getKind() == roomKind) {
+                count += countAvailableRooms(inventory, startDay, endDay);
+            }
+        }
+        return count;
+    }
+
+    private int countAvailableRooms(RoomTypeInventory inventory, int startDay, int endDay) {
+        inventory.lock();
+        try {
+            int count = 0;
+            for (Room room : inventory.getRooms()) {
+                if (canBookRoom(room, startDay, endDay)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            inventory.unlock();
+        }
     }
 
     /**
-     * Finds an available room of the specified type for the given dates.
+     * Moves the start of every room's availability calendar forward.
+     * Stays before the new start are still checked, just without the bitmap.
      */
-    private Optional<Room> findAvailableRoom(LocalDate startDate, LocalDate endDate, RoomType roomType) {
-        return rooms.stream()
-                .filter(room -> room.getRoomType().equals(roomType))
-                .filter(room -> canBookRoom(room, startDate, endDate))
+    public void advanceCalendar(LocalDate newStart) {
+        if (newStart == null) {
+            throw new IllegalArgumentException("Calendar start date is required");
+        }
+        structureLock.lock();
+        try {
+            if (!newStart.isAfter(calendarStart)) {
+                return;
+            }
+            calendarStart = newStart;
+            for (RoomTypeInventory inventory : inventories.values()) {
+                inventory.lock();
+                try {
+                    for (Room room : inventory.getRooms()) {
+                        scheduleOf(room).advanceCalendar(Reservation.toEpochDay(newStart));
+                    }
+                    inventory.advanceCapacity(newStart, reservations);
+                } finally {
+                    inventory.unlock();
+                }
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the fewest rooms of the given type left unsold on any night of
+     * the specified dates, i.e. how many rooms can still be sold for the
+     * whole stay. Only dates inside the booking calendar window are tracked.
+     */
+    public int getRemainingCapacity(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        validateStayDates(startDate, endDate);
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            return 0;
+        }
+        inventory.lock();
+        try {
+            return inventory.remainingCapacity(startDate, endDate);
+        } finally {
+            inventory.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #getRemainingCapacity}, but returns -1 instead of failing
+     * when the dates fall outside this hotel's booking calendar window, so
+     * a chain can add up hotels whose windows differ.
+     */
+    int getRemainingCapacityIfTracked(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        validateStayDates(startDate, endDate);
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            return 0;
+        }
+        inventory.lock();
+        try {
+            return inventory.tracksCapacity(startDate, endDate)
+                    ? inventory.remainingCapacity(startDate, endDate)
+                    : -1;
+        } finally {
+            inventory.unlock();
+        }
+    }
+
+    /**
+     * Validates that stay dates are provided and in order.
+     */
+    private void validateStayDates(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Stay dates cannot be null");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must be after or equal to start date");
+        }
+    }
+
+    /**
+     * Returns the inventory holding the given room's type.
+     */
+    private RoomTypeInventory inventoryOf(Room room) {
+        return inventories.get(room.getRoomType());
+    }
+
+    /**
+     * Finds an available room of the inventory's type for the given epoch days.
+     * Only rooms of the requested type are considered.
+     * Callers must hold the inventory lock.
+     */
+    private Optional<Room> findAvailableRoom(RoomTypeInventory inventory, int startDay, int endDay) {
+        return inventory.getRooms().stream()
+                .filter(room -> canBookRoom(room, startDay, endDay))
                 .findFirst();
     }
 
     /**
-     * Checks if a specific room can be booked for the given dates.
+     * Checks if a specific room can be booked for the given epoch days.
      * Returns true if room is free and has no date conflicts.
      */
-    private boolean canBookRoom(Room room, LocalDate startDate, LocalDate endDate) {
+    private boolean canBookRoom(Room room, int startDay, int endDay) {
         // First check: Room must be in FREE state
         if (!room.isFree()) {
             return false;
         }
 
         // Second check: No date overlap with existing reservations
-        return !hasDateConflict(room, startDate, endDate);
+        return !hasDateConflict(room, startDay, endDay);
     }
 
     /**
      * Checks if the room has any reservation that overlaps with the given dates.
+     * Uses the room's schedule index instead of scanning all reservations.
      */
-    private boolean hasDateConflict(Room room, LocalDate startDate, LocalDate endDate) {
-        for (Reservation existingReservation : reservations) {
-            if (existingReservation.getRoom().equals(room)) {
-                if (datesOverlap(startDate, endDate, existingReservation)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean hasDateConflict(Room room, int startDay, int endDay) {
+        return scheduleOf(room).hasConflict(startDay, endDay);
     }
 
     /**
-     * Checks if two date ranges overlap.
-     * Overlap occurs when: (StartA < EndB) AND (EndA > StartB)
+     * Returns the reservation schedule of a room in this hotel.
      */
-    private boolean datesOverlap(LocalDate startDate, LocalDate endDate, Reservation reservation) {
-        return startDate.isBefore(reservation.getEndDate()) &&
-                endDate.isAfter(reservation.getStartDate());
+    private RoomSchedule scheduleOf(Room room) {
+        return schedules.get(room);
     }
 
     /**
@@ -123,37 +554,292 @@ public class Hotel {
      */
     public Reservation createReservation(LocalDate startDate, LocalDate endDate,
             RoomType roomType, ReserverPayer payer) {
-        // Find an available room
-        Optional<Room> availableRoom = findAvailableRoom(startDate, endDate, roomType);
-
-        if (availableRoom.isEmpty()) {
-            String errorMsg = String.format(
-                    "No rooms of type %s available for the requested dates",
-                    roomType.getKind());
-            throw new HotelException(errorMsg);
+        validateStayDates(startDate, endDate);
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            throw noRoomsAvailable(roomType);
         }
+        beforeChange();
 
-        Room room = availableRoom.get();
+        Reservation reservation;
+        inventory.lock();
+        try {
+            // Find an available room and book it (FREE -> RESERVED)
+            int roomIndex = claimAvailableRoom(inventory, 0,
+                    Reservation.toEpochDay(startDate), Reservation.toEpochDay(endDate));
 
-        // Generate unique reservation number
-        int reservationNumber = generateReservationNumber();
+            if (roomIndex < 0) {
+                throw noRoomsAvailable(roomType);
+            }
 
-        // Create the reservation object
-        Reservation reservation = new Reservation(
-                reservationNumber, startDate, endDate, payer, room);
-        reservations.add(reservation);
+            Room room = inventory.getRooms().get(roomIndex);
+            reservation = recordReservation(inventory, room, startDate, endDate, payer);
+            reservationCreated(reservation);
+        } finally {
+            inventory.unlock();
+        }
+        afterChange();
+        return reservation;
+    }
 
-        // Update room state to RESERVED (book the room)
-        room.bookRoom();
+    /**
+     * Re-creates a reservation made earlier, keeping its number, room and
+     * the nightly rates it locked in (null if it pays the room type's rate),
+     * e.g. when replaying a journal after a restart. The room must be free
+     * for the stay. Later reservation numbers continue after this one.
+     */
+    public Reservation restoreReservation(int reservationNumber, int roomNumber, LocalDate startDate,
+            LocalDate endDate, ReserverPayer payer, List<Money> nightlyRates) {
+        validateStayDates(startDate, endDate);
+        Room room = findRoomByNumber(roomNumber);
+        RoomTypeInventory inventory = inventoryOf(room);
+        beforeChange();
 
+        Reservation reservation;
+        inventory.lock();
+        try {
+            if (!canBookRoom(room, Reservation.toEpochDay(startDate), Reservation.toEpochDay(endDate))
+                    || !room.tryBookRoom()) {
+                throw new HotelException("Room " + roomNumber + " is not available for reservation #"
+                        + reservationNumber);
+            }
+            reservation = recordReservation(inventory, room, reservationNumber, startDate, endDate, payer,
+                    nightlyRates);
+            reservationNumbers.advancePast(reservationNumber);
+            reservationCreated(reservation);
+        } finally {
+            inventory.unlock();
+        }
+        afterChange();
         return reservation;
     }
 
     /**
-     * Generates a unique reservation number based on current reservations.
+     * Books count rooms of the same type for the same dates, e.g. for a tour
+     * operator. Either all rooms are booked or none are: the type's lock is
+     * taken once, free rooms are collected in one pass over the inventory,
+     * and anything booked so far is rolled back if the group cannot be
+     * completed.
+     */
+    public List<Reservation> createGroupReservation(LocalDate startDate, LocalDate endDate,
+            RoomType roomType, int count, ReserverPayer payer) {
+        validateStayDates(startDate, endDate);
+        if (count <= 0) {
+            throw new IllegalArgumentException("Group size must be positive");
+        }
+        RoomTypeInventory inventory = inventories.get(roomType);
+        if (inventory == null) {
+            throw noRoomsAvailable(roomType);
+        }
+
+        int startDay = Reservation.toEpochDay(startDate);
+        int endDay = Reservation.toEpochDay(endDate);
+        beforeChange();
+        List<Reservation> group;
+        inventory.lock();
+        try {
+            List<Room> freeRooms = new ArrayList<>(count);
+            for (Room room : inventory.getRooms()) {
+                if (canBookRoom(room, startDay, endDay)) {
+                    freeRooms.add(room);
+                    if (freeRooms.size() == count) {
+                        break;
+                    }
+                }
+            }
+            if (freeRooms.size() < count) {
+                throw new HotelException(String.format(
+                        "Only %d of %d rooms of type %s available for the requested dates",
+                        freeRooms.size(), count, roomType.getKind()));
+            }
+            group = bookAll(inventory, freeRooms, startDate, endDate, payer);
+            for (Reservation reservation : group) {
+                reservationCreated(reservation);
+            }
+        } finally {
+            inventory.unlock();
+        }
+        afterChange();
+        return group;
+    }
+
+    /**
+     * Books every given room or, if any of them fails, none of them.
+     * Callers must hold the inventory lock.
+     */
+    private List<Reservation> bookAll(RoomTypeInventory inventory, List<Room> freeRooms,
+            LocalDate startDate, LocalDate endDate, ReserverPayer payer) {
+        List<Reservation> booked = new ArrayList<>(freeRooms.size());
+        try {
+            for (Room room : freeRooms) {
+                if (!room.tryBookRoom()) {
+                    throw new HotelException("Room " + room.getNumber() + " was booked by someone else");
+                }
+                booked.add(recordReservation(inventory, room, startDate, endDate, payer));
+            }
+            return booked;
+        } catch (RuntimeException e) {
+            for (Reservation reservation : booked) {
+                discardReservation(inventory, reservation);
+                reservation.getRoom().tryCancelBooking();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a batch of reservations, e.g. a burst from a channel manager.
+     * Requests are grouped by room type so each type's lock is taken once,
+     * and requests for the same dates continue the room scan where the
+     * previous one stopped, so each date range is resolved in a single pass
+     * over the inventory. Every request gets its own result, in request
+     * order; one failure does not stop the rest of the batch.
+     */
+    public List<BookingResult> createReservations(List<BookingRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Booking requests cannot be null");
+        }
+        beforeChange();
+        BookingResult[] results = new BookingResult[requests.size()];
+        Map<RoomType, List<Integer>> byType = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            if (!name.equalsIgnoreCase(request.getHotelName())) {
+                results[i] = BookingResult.failure(request,
+                        "Request is for hotel '" + request.getHotelName() + "', not '" + name + "'");
+            } else if (!inventories.containsKey(request.getRoomType())) {
+                results[i] = BookingResult.failure(request, noRoomsAvailable(request.getRoomType()).getMessage());
+            } else {
+                byType.computeIfAbsent(request.getRoomType(), type -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (Map.Entry<RoomType, List<Integer>> group : byType.entrySet()) {
+            bookGroup(inventories.get(group.getKey()), requests, group.getValue(), results);
+        }
+        if (!byType.isEmpty()) {
+            afterChange();
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Books the given requests of one room type under a single lock.
+     */
+    private void bookGroup(RoomTypeInventory inventory, List<BookingRequest> requests,
+            List<Integer> positions, BookingResult[] results) {
+        // Rooms before a cursor are taken for that date range for the rest of the batch;
+        // cursors are keyed by the start and end day packed into one long
+        Map<Long, Integer> cursors = new HashMap<>();
+        inventory.lock();
+        try {
+            for (int position : positions) {
+                BookingRequest request = requests.get(position);
+                int startDay = Reservation.toEpochDay(request.getStartDate());
+                int endDay = Reservation.toEpochDay(request.getEndDate());
+                long dates = ((long) startDay << 32) | (endDay & 0xFFFFFFFFL);
+                int from = cursors.getOrDefault(dates, 0);
+                int roomIndex = claimAvailableRoom(inventory, from, startDay, endDay);
+                if (roomIndex < 0) {
+                    cursors.put(dates, inventory.getRooms().size());
+                    results[position] = BookingResult.failure(request,
+                            noRoomsAvailable(request.getRoomType()).getMessage());
+                    continue;
+                }
+                cursors.put(dates, roomIndex + 1);
+                try {
+                    Reservation reservation = recordReservation(inventory, inventory.getRooms().get(roomIndex),
+                            request.getStartDate(), request.getEndDate(), request.getPayer());
+                    reservationCreated(reservation);
+                    results[position] = BookingResult.success(request, reservation);
+                } catch (RuntimeException e) {
+                    results[position] = BookingResult.failure(request, e.getMessage());
+                }
+            }
+        } finally {
+            inventory.unlock();
+        }
+    }
+
+    /**
+     * Creates and indexes the reservation for a room that was just booked.
+     * The room is released again if the reservation cannot be created.
+     * Callers must hold the inventory lock.
+     */
+    private Reservation recordReservation(RoomTypeInventory inventory, Room room,
+            LocalDate startDate, LocalDate endDate, ReserverPayer payer) {
+        int reservationNumber;
+        try {
+            // Generate unique reservation number
+            reservationNumber = generateReservationNumber();
+        } catch (RuntimeException e) {
+            room.tryCancelBooking();
+            throw e;
+        }
+        List<Money> nightlyRates;
+        try {
+            nightlyRates = inventory.nightlyRates(Reservation.toEpochDay(startDate), Reservation.toEpochDay(endDate));
+        } catch (RuntimeException e) {
+            room.tryCancelBooking();
+            throw e;
+        }
+        return recordReservation(inventory, room, reservationNumber, startDate, endDate, payer, nightlyRates);
+    }
+
+    /**
+     * Creates and indexes a reservation with the given number and locked-in
+     * rates for a room that was just booked, releasing the room again on
+     * failure.
+     * Callers must hold the inventory lock.
+     */
+    private Reservation recordReservation(RoomTypeInventory inventory, Room room, int reservationNumber,
+            LocalDate startDate, LocalDate endDate, ReserverPayer payer, List<Money> nightlyRates) {
+        try {
+            // Create the reservation object
+            Reservation reservation = new Reservation(reservationNumber, startDate, endDate, payer, room,
+                    nightlyRates);
+            reservations.add(reservation);
+            scheduleOf(room).add(reservation);
+            inventory.recordSale(reservation);
+
+            return reservation;
+        } catch (RuntimeException e) {
+            room.tryCancelBooking();
+            throw e;
+        }
+    }
+
+    /**
+     * Books the first room of the inventory, starting at position from, that
+     * is free for the given dates. A room whose state changed under us (e.g.
+     * booked directly through Room) is skipped rather than failing the request.
+     * Returns the booked room's position, or -1 if no room could be booked.
+     * Callers must hold the inventory lock.
+     */
+    private int claimAvailableRoom(RoomTypeInventory inventory, int from, int startDay, int endDay) {
+        List<Room> candidates = inventory.getRooms();
+        for (int i = from; i < candidates.size(); i++) {
+            Room room = candidates.get(i);
+            if (canBookRoom(room, startDay, endDay) && room.tryBookRoom()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private HotelException noRoomsAvailable(RoomType roomType) {
+        String errorMsg = String.format(
+                "No rooms of type %s available for the requested dates",
+                roomType.getKind());
+        return new HotelException(errorMsg);
+    }
+
+    /**
+     * Generates a unique reservation number.
+     * Numbers are never reused, even after a cancellation.
      */
     private int generateReservationNumber() {
-        return reservations.size() + 1;
+        return reservationNumbers.next();
     }
 
     /**
@@ -161,22 +847,176 @@ public class Hotel {
      */
     public void cancelReservation(int reservationNumber) {
         Reservation reservation = findReservationByNumber(reservationNumber);
+        RoomTypeInventory inventory = inventoryOf(reservation.getRoom());
+        beforeChange();
 
-        // Remove reservation from list
-        reservations.remove(reservation);
+        inventory.lock();
+        try {
+            // Another thread may have cancelled it while we waited for the lock
+            if (reservations.find(reservationNumber) == null) {
+                throw new HotelException("Reservation #" + reservationNumber + " not found");
+            }
 
-        // Free up the room (change state from RESERVED to FREE)
-        reservation.getRoom().cancelBooking();
+            // Free up the room (RESERVED to FREE) before touching any index, so a
+            // room that cannot be freed, e.g. an occupied one, leaves everything as it was
+            reservation.getRoom().cancelBooking();
+            discardReservation(inventory, reservation);
+            for (HotelEventListener listener : listeners) {
+                listener.reservationCancelled(this, reservation);
+            }
+        } finally {
+            inventory.unlock();
+        }
+        afterChange();
+    }
+
+    /**
+     * Removes a reservation from every index, returning false if it was
+     * already gone. The room state is left to the caller.
+     * Callers must hold the inventory lock.
+     */
+    private boolean discardReservation(RoomTypeInventory inventory, Reservation reservation) {
+        if (reservations.remove(reservation.getReservationNumber()) == null) {
+            return false;
+        }
+        scheduleOf(reservation.getRoom()).remove(reservation);
+        inventory.releaseSale(reservation);
+        return true;
+    }
+
+    /**
+     * Checks a guest in to one of this hotel's rooms.
+     */
+    public void checkInGuest(int roomNumber, Guest guest) {
+        Room room = findRoomByNumber(roomNumber);
+        RoomTypeInventory inventory = inventoryOf(room);
+        beforeChange();
+
+        inventory.lock();
+        try {
+            room.checkInGuest(guest);
+            for (HotelEventListener listener : listeners) {
+                listener.guestCheckedIn(this, room, guest);
+            }
+        } finally {
+            inventory.unlock();
+        }
+        afterChange();
+    }
+
+    /**
+     * Checks the current guest out of one of this hotel's rooms.
+     */
+    public void checkOutGuest(int roomNumber) {
+        Room room = findRoomByNumber(roomNumber);
+        RoomTypeInventory inventory = inventoryOf(room);
+        beforeChange();
+
+        inventory.lock();
+        try {
+            room.checkOutGuest();
+            inventory.availabilityChanged();
+            for (HotelEventListener listener : listeners) {
+                listener.guestCheckedOut(this, room);
+            }
+        } finally {
+            inventory.unlock();
+        }
+        afterChange();
+    }
+
+    /**
+     * Tells listeners about a new reservation.
+     * Callers must hold the inventory lock.
+     */
+    private void reservationCreated(Reservation reservation) {
+        for (HotelEventListener listener : listeners) {
+            listener.reservationCreated(this, reservation);
+        }
+    }
+
+    /**
+     * Lets listeners reject an operation before it changes anything.
+     * Callers must not hold any of the hotel's locks.
+     */
+    private void beforeChange() {
+        for (HotelEventListener listener : listeners) {
+            listener.beforeChange(this);
+        }
+    }
+
+    /**
+     * Holds back {@link HotelEventListener#afterChange} for the operations
+     * the calling thread makes until {@link #finishBatch()}, so an event
+     * loop's batch waits for its journal records once rather than once per
+     * command.
+     */
+    void startBatch() {
+        batchingThread = Thread.currentThread();
+    }
+
+    /**
+     * Ends the calling thread's batch and tells listeners its changes are
+     * complete, passing on the first failure.
+     * Callers must not hold any of the hotel's locks.
+     */
+    void finishBatch() {
+        batchingThread = null;
+        notifyAfterChange();
+    }
+
+    /**
+     * Tells listeners that an operation's changes are complete, unless the
+     * calling thread is applying a batch.
+     * Callers must not hold any of the hotel's locks.
+     */
+    private void afterChange() {
+        if (batchingThread != Thread.currentThread()) {
+            notifyAfterChange();
+        }
+    }
+
+    /**
+     * Calls every listener's afterChange even if one of them fails; the
+     * first failure is then passed on to the caller.
+     */
+    private void notifyAfterChange() {
+        RuntimeException failure = null;
+        for (HotelEventListener listener : listeners) {
+            try {
+                listener.afterChange(this);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Finds a room by its number or throws an exception if not found.
+     */
+    private Room findRoomByNumber(int roomNumber) {
+        Room room = roomIndex.find(roomNumber);
+        if (room == null) {
+            throw new HotelException("Room " + roomNumber + " not found in " + name);
+        }
+        return room;
     }
 
     /**
      * Finds a reservation by its number or throws an exception if not found.
      */
     private Reservation findReservationByNumber(int reservationNumber) {
-        return reservations.stream()
-                .filter(r -> r.getReservationNumber() == reservationNumber)
-                .findFirst()
-                .orElseThrow(() -> new HotelException(
-                        "Reservation #" + reservationNumber + " not found"));
+        Reservation reservation = reservations.find(reservationNumber);
+        if (reservation == null) {
+            throw new HotelException("Reservation #" + reservationNumber + " not found");
+        }
+        return reservation;
     }
 }
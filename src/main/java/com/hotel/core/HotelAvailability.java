@@ -0,0 +1,31 @@
+package com.hotel.core;
+
+/**
+ * A hotel that matched an availability search, with how many matching
+ * rooms it has free for the whole stay.
+ */
+public class HotelAvailability {
+    private final Hotel hotel;
+    private final int freeRooms;
+
+    public HotelAvailability(Hotel hotel, int freeRooms) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        this.hotel = hotel;
+        this.freeRooms = freeRooms;
+    }
+
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    public int getFreeRooms() {
+        return freeRooms;
+    }
+
+    @Override
+    public String toString() {
+        return hotel.getName() + ": " + freeRooms + " free";
+    }
+}
@@ -2,15 +2,24 @@ package com.hotel.core;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.hotel.domain.CreditCard;
 import com.hotel.domain.Guest;
 import com.hotel.domain.Identity;
 import com.hotel.domain.Reservation;
 import com.hotel.domain.ReserverPayer;
-import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
 import com.hotel.domain.RoomType;
 import com.hotel.exception.HotelException;
 
@@ -20,13 +29,21 @@ import com.hotel.exception.HotelException;
 public class HotelChain {
     private final String name;
     private final List<Hotel> hotels;
-    private final List<ReserverPayer> customers;
+    private final Map<String, Hotel> hotelsByName;
+    private final Set<Hotel> members;
+    private final Collection<ReserverPayer> customers;
+    private final ReservationNumberGenerator reservationNumbers;
+    private final List<HotelEventListener> listeners;
 
     public HotelChain(String name) {
         validateChainName(name);
         this.name = name;
-        this.hotels = new ArrayList<>();
-        this.customers = new ArrayList<>();
+        this.reservationNumbers = new ReservationNumberGenerator();
+        this.hotels = new CopyOnWriteArrayList<>();
+        this.hotelsByName = new ConcurrentHashMap<>();
+        this.members = ConcurrentHashMap.newKeySet();
+        this.customers = new ConcurrentLinkedQueue<>();
+        this.listeners = new CopyOnWriteArrayList<>();
     }
 
     private void validateChainName(String chainName) {
@@ -37,18 +54,88 @@ public class HotelChain {
 
     /**
      * Adds a new hotel to the chain's portfolio.
+     * Hotel names are unique within a chain, ignoring case.
      */
     public void addHotel(Hotel hotel) {
         if (hotel == null) {
             throw new IllegalArgumentException("Cannot add a null hotel to the chain");
         }
+        for (HotelEventListener listener : listeners) {
+            listener.beforeChange(hotel);
+        }
+        // Membership goes first so a hotel is never found by name before it is a member
+        boolean newMember = members.add(hotel);
+        if (hotelsByName.putIfAbsent(normalizeName(hotel.getName()), hotel) != null) {
+            if (newMember) {
+                members.remove(hotel);
+            }
+            throw new HotelException("A hotel named '" + hotel.getName() + "' already belongs to this chain");
+        }
         hotels.add(hotel);
+        for (HotelEventListener listener : listeners) {
+            listener.hotelAdded(this, hotel);
+            hotel.addListener(listener);
+        }
+        for (HotelEventListener listener : listeners) {
+            listener.afterChange(hotel);
+        }
+    }
+
+    /**
+     * Registers a listener for hotels added to the chain from now on and for
+     * changes to every hotel of the chain. Changes made before the listener
+     * was registered are not reported.
+     */
+    public void addListener(HotelEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+        for (Hotel hotel : hotels) {
+            hotel.addListener(listener);
+        }
+    }
+
+    /**
+     * Creates a hotel that shares the chain's reservation number sequence
+     * and adds it to the chain.
+     */
+    public Hotel createHotel(String hotelName) {
+        Hotel hotel = new Hotel(hotelName, reservationNumbers);
+        addHotel(hotel);
+        return hotel;
+    }
+
+    /**
+     * Creates a hotel with the given reservation storage that shares the
+     * chain's reservation number sequence, and adds it to the chain.
+     */
+    public Hotel createHotel(String hotelName, ReservationStorage storage) {
+        Hotel hotel = new Hotel(hotelName, reservationNumbers, storage);
+        addHotel(hotel);
+        return hotel;
     }
 
     public List<Hotel> getHotels() {
         return Collections.unmodifiableList(hotels);
     }
 
+    /**
+     * Looks up a hotel by name (case-insensitive).
+     * Callers that make many requests against one hotel can resolve it once
+     * and use the overloads that take a Hotel.
+     */
+    public Hotel getHotel(String hotelName) {
+        return findHotelByName(hotelName);
+    }
+
+    /**
+     * Tells whether a hotel with this name (case-insensitive) belongs to the chain.
+     */
+    public boolean hasHotel(String hotelName) {
+        return hotelName != null && hotelsByName.containsKey(normalizeName(hotelName));
+    }
+
     /**
      * Registers a new customer (ReserverPayer) in the system.
      */
@@ -58,21 +145,96 @@ public class HotelChain {
         return newCustomer;
     }
 
+    public Collection<ReserverPayer> getCustomers() {
+        return Collections.unmodifiableCollection(customers);
+    }
+
     /**
      * Attempts to book a room in a specific hotel.
      */
     public Reservation makeReservation(String hotelName, LocalDate start, LocalDate end,
             RoomType roomType, ReserverPayer customer) {
-        Hotel targetHotel = findHotelByName(hotelName);
+        return makeReservation(findHotelByName(hotelName), start, end, roomType, customer);
+    }
+
+    /**
+     * Attempts to book a room in a hotel already resolved through this chain.
+     */
+    public Reservation makeReservation(Hotel hotel, LocalDate start, LocalDate end,
+            RoomType roomType, ReserverPayer customer) {
+        Hotel targetHotel = requireMember(hotel);
 
         // Double check availability before creating reservation
         if (!targetHotel.available(start, end, roomType)) {
-            throw new HotelException("Sorry, no " + roomType.getKind() + " rooms available in " + hotelName);
+            throw new HotelException("Sorry, no " + roomType.getKind() + " rooms available in "
+                    + targetHotel.getName());
         }
 
         return targetHotel.createReservation(start, end, roomType, customer);
     }
 
+    /**
+     * Books a batch of requests, e.g. a burst from a channel manager.
+     * Requests are grouped by hotel and each hotel books its share in one
+     * call. Results come back in request order; a failed request (unknown
+     * hotel, sold out, ...) does not stop the rest of the batch.
+     */
+    public List<BookingResult> createReservations(List<BookingRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Booking requests cannot be null");
+        }
+        BookingResult[] results = new BookingResult[requests.size()];
+        Map<Hotel, List<Integer>> byHotel = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            Hotel hotel = hotelsByName.get(normalizeName(request.getHotelName()));
+            if (hotel == null) {
+                results[i] = BookingResult.failure(request,
+                        "Hotel '" + request.getHotelName() + "' does not belong to this chain");
+            } else {
+                byHotel.computeIfAbsent(hotel, h -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (Map.Entry<Hotel, List<Integer>> group : byHotel.entrySet()) {
+            List<Integer> positions = group.getValue();
+            List<BookingRequest> hotelRequests = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                hotelRequests.add(requests.get(position));
+            }
+            List<BookingResult> hotelResults = group.getKey().createReservations(hotelRequests);
+            for (int i = 0; i < positions.size(); i++) {
+                results[positions.get(i)] = hotelResults.get(i);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Finds up to maxResults hotels with a room of the given kind free for
+     * every night of the stay, checking hotels in parallel on the common
+     * fork-join pool. Use {@link AvailabilitySearch} directly to control
+     * the parallelism.
+     */
+    public List<HotelAvailability> searchAvailability(RoomKind roomKind, LocalDate start, LocalDate end,
+            int maxResults) {
+        return new AvailabilitySearch(this).search(roomKind, start, end, maxResults);
+    }
+
+    /**
+     * Returns how many rooms of the given type can still be sold for the whole
+     * stay across every hotel in the chain. Hotels whose booking calendar
+     * window does not cover the stay, e.g. because it was advanced further
+     * than the others', are left out.
+     */
+    public int getRemainingCapacity(LocalDate start, LocalDate end, RoomType roomType) {
+        int remaining = 0;
+        for (Hotel hotel : hotels) {
+            remaining += Math.max(hotel.getRemainingCapacityIfTracked(start, end, roomType), 0);
+        }
+        return remaining;
+    }
+
     /**
      * Cancels an existing reservation in the specified hotel.
      */
@@ -80,44 +242,71 @@ public class HotelChain {
         findHotelByName(hotelName).cancelReservation(reservationId);
     }
 
+    /**
+     * Cancels an existing reservation in a hotel already resolved through this chain.
+     */
+    public void cancelReservation(Hotel hotel, int reservationId) {
+        requireMember(hotel).cancelReservation(reservationId);
+    }
+
     /**
      * Performs guest check-in at a specific hotel and room.
      */
     public void checkInGuest(String hotelName, int roomNumber, Guest guest) {
-        Hotel hotel = findHotelByName(hotelName);
-        Room room = findRoomInHotel(hotel, roomNumber);
+        findHotelByName(hotelName).checkInGuest(roomNumber, guest);
+    }
 
-        room.checkInGuest(guest);
+    /**
+     * Performs guest check-in at a hotel already resolved through this chain.
+     */
+    public void checkInGuest(Hotel hotel, int roomNumber, Guest guest) {
+        requireMember(hotel).checkInGuest(roomNumber, guest);
     }
 
     /**
      * Performs guest check-out at a specific hotel and room.
      */
     public void checkOutGuest(String hotelName, int roomNumber) {
-        Hotel hotel = findHotelByName(hotelName);
-        Room room = findRoomInHotel(hotel, roomNumber);
+        findHotelByName(hotelName).checkOutGuest(roomNumber);
+    }
 
-        room.checkOutGuest();
+    /**
+     * Performs guest check-out at a hotel already resolved through this chain.
+     */
+    public void checkOutGuest(Hotel hotel, int roomNumber) {
+        requireMember(hotel).checkOutGuest(roomNumber);
     }
 
     /**
      * Helper to find a hotel by its name (case-insensitive).
      */
     private Hotel findHotelByName(String name) {
-        return hotels.stream()
-                .filter(h -> h.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElseThrow(() -> new HotelException("Hotel '" + name + "' does not belong to this chain"));
+        Hotel hotel = name == null ? null : hotelsByName.get(normalizeName(name));
+        if (hotel == null) {
+            throw new HotelException("Hotel '" + name + "' does not belong to this chain");
+        }
+        return hotel;
+    }
+
+    /**
+     * Helper to check that a hotel handle belongs to this chain.
+     * This is an identity check, so no name lookup is involved.
+     */
+    private Hotel requireMember(Hotel hotel) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        if (!members.contains(hotel)) {
+            throw new HotelException("Hotel '" + hotel.getName() + "' does not belong to this chain");
+        }
+        return hotel;
     }
 
     /**
-     * Helper to find a specific room within a hotel.
+     * Normalizes a hotel name for case-insensitive lookups.
      */
-    private Room findRoomInHotel(Hotel hotel, int number) {
-        return hotel.getRooms().stream()
-                .filter(r -> r.getNumber() == number)
-                .findFirst()
-                .orElseThrow(() -> new HotelException("Room " + number + " not found in " + hotel.getName()));
+    private static String normalizeName(String hotelName) {
+        return hotelName.toLowerCase(Locale.ROOT);
     }
 
     public String getName() {
@@ -0,0 +1,55 @@
+package com.hotel.core;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+
+/**
+ * Receives the changes made to a hotel, e.g. to write them to a journal.
+ *
+ * Change events are delivered while the hotel still holds the lock of the
+ * affected room type, so changes to one room arrive in the order they
+ * happened. They should be quick and must not call back into the hotel.
+ * Once the change's locks are released, {@link #afterChange} is called on
+ * the same thread; that is the place for slow work such as waiting for a
+ * write to reach the disk.
+ *
+ * A listener can veto changes: an exception thrown from
+ * {@link #beforeChange} rejects the operation before anything changed, and
+ * one thrown from {@link #afterChange} reaches the caller of an operation
+ * whose changes are already made.
+ */
+public interface HotelEventListener {
+
+    /**
+     * Called before an operation changes the hotel, or adds it to a chain,
+     * without holding any of its locks.
+     */
+    default void beforeChange(Hotel hotel) {
+    }
+
+    default void hotelAdded(HotelChain chain, Hotel hotel) {
+    }
+
+    default void roomAdded(Hotel hotel, Room room) {
+    }
+
+    default void reservationCreated(Hotel hotel, Reservation reservation) {
+    }
+
+    default void reservationCancelled(Hotel hotel, Reservation reservation) {
+    }
+
+    default void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+    }
+
+    default void guestCheckedOut(Hotel hotel, Room room) {
+    }
+
+    /**
+     * Called after an operation that changed the hotel, once it has
+     * released its locks. A batch of changes gets a single call.
+     */
+    default void afterChange(Hotel hotel) {
+    }
+}
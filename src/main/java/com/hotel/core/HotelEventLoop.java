@@ -0,0 +1,317 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Runs every change to a hotel on one writer thread (actor mode).
+ * Callers queue commands and get futures back; the writer drains the
+ * bounded queue in batches, applies each batch in order and then publishes
+ * a new {@link HotelSnapshot} for readers. As the writer is the only
+ * thread touching the hotel, the hotel's locks are never contended.
+ * The loop follows the hotel's reservation events to keep its own ordered
+ * list up to date, so publishing a snapshot never copies the reservations.
+ *
+ * While a hotel runs in this mode, all changes must go through its loop.
+ */
+public class HotelEventLoop implements AutoCloseable {
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    // Most commands applied before a snapshot is published
+    private static final int MAX_BATCH = 64;
+
+    private final Hotel hotel;
+    private final BlockingQueue<Command<?>> commands;
+    private final Command<Void> stop = new Command<>(() -> null);
+    private final Thread writer;
+    private final HotelEventListener tracker = new ReservationTracker();
+    // Written only by the writer thread, through the tracker
+    private SortedReservations reservations = SortedReservations.EMPTY;
+    private volatile HotelSnapshot snapshot;
+    private volatile boolean closed;
+    private long applied;
+
+    public HotelEventLoop(Hotel hotel) {
+        this(hotel, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public HotelEventLoop(Hotel hotel, int queueCapacity) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.hotel = hotel;
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        for (Reservation reservation : hotel.getReservations()) {
+            reservations = reservations.with(reservation);
+        }
+        hotel.addListener(tracker);
+        this.snapshot = HotelSnapshot.of(hotel, reservations, 0);
+        this.writer = Thread.ofPlatform()
+                .name("hotel-writer-" + hotel.getName())
+                .daemon()
+                .start(this::run);
+    }
+
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    /**
+     * Returns the state published after the latest batch of commands.
+     * A command's effects are visible here once its future has completed.
+     */
+    public HotelSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public CompletableFuture<Void> addRoom(Room room) {
+        return submit(() -> {
+            hotel.addRoom(room);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Reservation> createReservation(LocalDate startDate, LocalDate endDate,
+            RoomType roomType, ReserverPayer payer) {
+        return submit(() -> hotel.createReservation(startDate, endDate, roomType, payer));
+    }
+
+    public CompletableFuture<Void> cancelReservation(int reservationNumber) {
+        return submit(() -> {
+            hotel.cancelReservation(reservationNumber);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> checkInGuest(int roomNumber, Guest guest) {
+        return submit(() -> {
+            hotel.checkInGuest(roomNumber, guest);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> checkOutGuest(int roomNumber) {
+        return submit(() -> {
+            hotel.checkOutGuest(roomNumber);
+            return null;
+        });
+    }
+
+    /**
+     * Stops the writer after it has applied the commands already queued.
+     * Commands submitted afterwards fail with a HotelException.
+     *
+     * @throws IllegalStateException if called from the writer thread, e.g.
+     *         by a listener, which would wait for itself
+     */
+    @Override
+    public void close() {
+        if (Thread.currentThread() == writer) {
+            throw new IllegalStateException("Hotel " + hotel.getName() + " cannot be closed from its own writer");
+        }
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                commands.put(stop);
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        shutDown();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a command. A full queue fails the command at once instead of
+     * blocking the caller.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        Command<T> command = new Command<>(action);
+        if (closed) {
+            command.reject(closedException());
+        } else if (!commands.offer(command)) {
+            command.reject(new HotelException("Too many pending requests for hotel " + hotel.getName()));
+        } else if (closed && commands.remove(command)) {
+            // Raced with close(); whoever removes the command from the queue settles it
+            command.reject(closedException());
+        }
+        return command.future;
+    }
+
+    private HotelException closedException() {
+        return new HotelException("Hotel " + hotel.getName() + " is no longer accepting requests");
+    }
+
+    /**
+     * Writer loop: apply a batch, wait once for its changes to be made
+     * durable (see {@link Hotel#startBatch()}), publish a snapshot, then
+     * complete the batch's futures so callers see their own changes in the
+     * snapshot. Every future of a batch is completed, whatever happens; if
+     * the loop itself breaks, it stops and rejects whatever is still queued.
+     */
+    private void run() {
+        List<Command<?>> batch = new ArrayList<>(MAX_BATCH);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(commands.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            commands.drainTo(batch, MAX_BATCH - 1);
+            try {
+                stopping = applyBatch(batch);
+                snapshot = HotelSnapshot.of(hotel, reservations, applied);
+            } catch (Throwable broken) {
+                for (Command<?> command : batch) {
+                    command.fail(broken);
+                }
+                stopping = true;
+                shutDown();
+            } finally {
+                for (Command<?> command : batch) {
+                    command.complete();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch in order and fails every applied command whose
+     * changes listeners could not complete, e.g. because they could not be
+     * journaled. Returns whether the batch holds the stop command.
+     */
+    private boolean applyBatch(List<Command<?>> batch) {
+        boolean stopping = false;
+        hotel.startBatch();
+        try {
+            for (Command<?> command : batch) {
+                if (command == stop) {
+                    stopping = true;
+                } else if (stopping) {
+                    command.fail(closedException());
+                } else {
+                    command.apply();
+                    applied++;
+                }
+            }
+        } finally {
+            try {
+                hotel.finishBatch();
+            } catch (RuntimeException e) {
+                for (Command<?> command : batch) {
+                    command.failIfSucceeded(e);
+                }
+            }
+        }
+        return stopping;
+    }
+
+    /**
+     * Stops taking commands once the writer is done, rejecting those still
+     * queued.
+     */
+    private void shutDown() {
+        closed = true;
+        hotel.removeListener(tracker);
+        Command<?> leftover;
+        while ((leftover = commands.poll()) != null) {
+            leftover.reject(closedException());
+        }
+    }
+
+    /**
+     * Applies the hotel's reservation changes to the loop's ordered list.
+     * Events arrive on the writer thread, as every change goes through it.
+     */
+    private final class ReservationTracker implements HotelEventListener {
+        @Override
+        public void reservationCreated(Hotel changed, Reservation reservation) {
+            reservations = reservations.with(reservation);
+        }
+
+        @Override
+        public void reservationCancelled(Hotel changed, Reservation reservation) {
+            reservations = reservations.without(reservation.getReservationNumber());
+        }
+    }
+
+    /**
+     * A queued change and the future its caller is waiting on.
+     */
+    private static final class Command<T> {
+        private final Supplier<T> action;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private boolean applied;
+        private T result;
+        private Throwable failure;
+
+        private Command(Supplier<T> action) {
+            this.action = action;
+        }
+
+        /**
+         * Runs the action, keeping whatever it throws, errors included, for
+         * the caller rather than letting it end the writer.
+         */
+        private void apply() {
+            applied = true;
+            try {
+                result = action.get();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Fails a command whose action ran without throwing, e.g. because
+         * its changes could not be journaled.
+         */
+        private void failIfSucceeded(RuntimeException e) {
+            if (applied) {
+                fail(e);
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private void reject(RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
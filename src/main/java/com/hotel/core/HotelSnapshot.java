@@ -0,0 +1,67 @@
+package com.hotel.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomState;
+
+/**
+ * Immutable picture of a hotel's rooms and reservations at one point in time.
+ * Published by {@link HotelEventLoop} after each batch of commands, so
+ * readers never wait for the writer. Successive snapshots share the
+ * reservations they have in common.
+ */
+public class HotelSnapshot {
+    private final long sequence;
+    private final SortedReservations reservations;
+    private final Map<Integer, RoomState> roomStates;
+
+    private HotelSnapshot(long sequence, SortedReservations reservations, Map<Integer, RoomState> roomStates) {
+        this.sequence = sequence;
+        this.reservations = reservations;
+        this.roomStates = roomStates;
+    }
+
+    /**
+     * Captures the current state of the hotel, given its reservations as the
+     * writer keeps them. Only the hotel's writer may call this, so nothing
+     * changes while the room states are copied.
+     */
+    static HotelSnapshot of(Hotel hotel, SortedReservations reservations, long sequence) {
+        Map<Integer, RoomState> states = new LinkedHashMap<>();
+        for (Room room : hotel.getRooms()) {
+            states.put(room.getNumber(), room.getState());
+        }
+        return new HotelSnapshot(sequence, reservations, Collections.unmodifiableMap(states));
+    }
+
+    /**
+     * Returns how many commands had been applied when the snapshot was taken.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Looks up a reservation by number, in O(log n).
+     */
+    public Optional<Reservation> findReservation(int reservationNumber) {
+        return Optional.ofNullable(reservations.find(reservationNumber));
+    }
+
+    /**
+     * Returns the state of every room, keyed by room number.
+     */
+    public Map<Integer, RoomState> getRoomStates() {
+        return roomStates;
+    }
+}
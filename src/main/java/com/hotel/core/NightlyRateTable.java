@@ -0,0 +1,84 @@
+package com.hotel.core;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.hotel.domain.Money;
+
+/**
+ * Precomputed dynamic rate, in minor units, of every night of one room
+ * type's capacity window. Nights are stored in a ring over the same window
+ * as the type's {@link SoldNightsTree}, and a night's rate is only worked
+ * out again when its rooms sold change, so reading a stay's rates never
+ * evaluates the occupancy curve. Nights outside the window cost the base
+ * rate.
+ */
+class NightlyRateTable {
+    private final long baseRate;
+    private final Currency currency;
+    private final int[] basisPointsBySold;
+    private final long[] rates;
+    private long windowStart;
+
+    /**
+     * Creates a table for the given number of rooms, pricing every night
+     * from the sold counts.
+     */
+    NightlyRateTable(Money baseRate, OccupancyCurve curve, int rooms, SoldNightsTree soldNights) {
+        if (!baseRate.hasMinorUnits()) {
+            throw new IllegalArgumentException("Dynamic pricing needs a base rate in whole minor units, not "
+                    + baseRate);
+        }
+        this.baseRate = baseRate.getMinorUnits();
+        this.currency = baseRate.getCurrency();
+        this.basisPointsBySold = curve.basisPointsBySold(rooms);
+        this.rates = new long[(int) (soldNights.getWindowEnd() - soldNights.getWindowStart())];
+        refreshAll(soldNights);
+    }
+
+    /**
+     * Prices every night of the window again, e.g. after it moved.
+     */
+    void refreshAll(SoldNightsTree soldNights) {
+        windowStart = soldNights.getWindowStart();
+        refresh(windowStart, soldNights.getWindowEnd(), soldNights);
+    }
+
+    /**
+     * Prices the nights in [startDay, endDay) inside the window again.
+     */
+    void refresh(long startDay, long endDay, SoldNightsTree soldNights) {
+        long from = Math.max(startDay, windowStart);
+        long to = Math.min(endDay, windowStart + rates.length);
+        for (long day = from; day < to; day++) {
+            int sold = Math.min(soldNights.maxSold(day, day + 1), basisPointsBySold.length - 1);
+            rates[position(day)] = price(basisPointsBySold[Math.max(sold, 0)]);
+        }
+    }
+
+    /**
+     * Returns the rate of each night in [startDay, endDay).
+     */
+    List<Money> ratesFor(long startDay, long endDay) {
+        List<Money> stay = new ArrayList<>((int) (endDay - startDay));
+        for (long day = startDay; day < endDay; day++) {
+            boolean inWindow = day >= windowStart && day < windowStart + rates.length;
+            stay.add(Money.ofMinorUnits(inWindow ? rates[position(day)] : baseRate, currency));
+        }
+        return stay;
+    }
+
+    /**
+     * Applies a multiplier to the base rate, rounding half up to a whole
+     * minor unit.
+     */
+    private long price(int basisPoints) {
+        return Math.addExact(Math.multiplyExact(baseRate, (long) basisPoints), OccupancyCurve.BASIS_POINTS / 2)
+                / OccupancyCurve.BASIS_POINTS;
+    }
+
+    private int position(long day) {
+        return (int) Math.floorMod(day, (long) rates.length);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotel.core;
+
+import java.util.Arrays;
+
+/**
+ * Maps how full a room type is on a night to a multiplier of its base rate.
+ * The curve is a step function: each threshold starts a band of occupancy
+ * (rooms sold / rooms, from 0 to 1) priced at its multiplier until the
+ * next threshold. For example thresholds {0, 0.7, 0.9} with multipliers
+ * {1.0, 1.2, 1.5} charge the base rate until 70% of the rooms are sold,
+ * 20% more up to 90%, and 50% more above that.
+ */
+public final class OccupancyCurve {
+    static final int BASIS_POINTS = 10_000;
+
+    private final double[] thresholds;
+    private final int[] basisPoints;
+
+    public OccupancyCurve(double[] occupancyThresholds, double[] multipliers) {
+        if (occupancyThresholds == null || multipliers == null) {
+            throw new IllegalArgumentException("Thresholds and multipliers are required");
+        }
+        if (occupancyThresholds.length == 0 || occupancyThresholds.length != multipliers.length) {
+            throw new IllegalArgumentException("Each occupancy threshold needs exactly one multiplier");
+        }
+        if (occupancyThresholds[0] != 0) {
+            throw new IllegalArgumentException("The first occupancy threshold must be 0");
+        }
+        this.thresholds = occupancyThresholds.clone();
+        this.basisPoints = new int[multipliers.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            if (i > 0 && !(thresholds[i] > thresholds[i - 1] && thresholds[i] <= 1)) {
+                throw new IllegalArgumentException("Occupancy thresholds must increase and stay within 0 to 1");
+            }
+            if (!(multipliers[i] > 0 && multipliers[i] <= 100)) {
+                throw new IllegalArgumentException("Multipliers must be positive and at most 100");
+            }
+            basisPoints[i] = (int) Math.round(multipliers[i] * BASIS_POINTS);
+        }
+    }
+
+    /**
+     * Returns the multiplier for a night with the given share of rooms sold.
+     */
+    public double multiplierAt(double occupancy) {
+        return (double) basisPoints[band(occupancy)] / BASIS_POINTS;
+    }
+
+    /**
+     * Returns the multiplier, in basis points, for each possible number of
+     * rooms sold out of the given number of rooms, so pricing a night is an
+     * array read.
+     */
+    int[] basisPointsBySold(int rooms) {
+        int[] bySold = new int[rooms + 1];
+        for (int sold = 0; sold <= rooms; sold++) {
+            bySold[sold] = basisPoints[band(rooms == 0 ? 0 : (double) sold / rooms)];
+        }
+        return bySold;
+    }
+
+    private int band(double occupancy) {
+        int band = 0;
+        while (band + 1 < thresholds.length && thresholds[band + 1] <= occupancy) {
+            band++;
+        }
+        return band;
+    }
+
+    @Override
+    public String toString() {
+        return "OccupancyCurve" + Arrays.toString(thresholds) + " x" + Arrays.toString(basisPoints) + "bp";
+    }
+}
@@ -0,0 +1,413 @@
+package com.hotel.core;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.exception.HotelException;
+
+/**
+ * Keeps reservations as fixed-width records in an off-heap memory segment,
+ * one struct per slot: number, room index, start and end epoch day, payer
+ * index. Rooms and payers are stored once in side tables and referred to
+ * by index, so a reservation costs a 24-byte record plus its slot in the
+ * number index, and no heap object of its own. Payer entries are counted
+ * by the records using them: an entry is dropped with its last
+ * reservation, and its index is reused, so cancelled bookings do not keep
+ * their payers on the heap.
+ *
+ * Nightly rates locked in under dynamic pricing vary in length, so they are
+ * kept on the heap, keyed by reservation number, for the reservations that
+ * have them.
+ *
+ * Records are addressed by long offsets, so the store grows to the limit
+ * of its int slot numbers and hash index (about 500 million reservations)
+ * and then rejects further reservations rather than overflowing.
+ *
+ * Reads create Reservation objects on demand; {@link #forEach} walks the
+ * records through a single reused view instead. Freed slots are reused.
+ * A read-write lock guards the store: lookups run in parallel, changes
+ * are exclusive.
+ */
+class OffHeapReservationStore implements ReservationStore {
+    private static final int RECORD_BYTES = 24;
+    private static final int NUMBER = 0;
+    private static final int ROOM = 4;
+    private static final int START_DAY = 8;
+    private static final int END_DAY = 12;
+    private static final int PAYER = 16;
+    // Next free slot for free records, LIVE for records in use
+    private static final int LINK = 20;
+    private static final int LIVE = -2;
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Slots are stored in the index as slot + 1
+    private static final int MAX_SLOTS = Integer.MAX_VALUE - 1;
+    private static final int MAX_INDEX_CAPACITY = 1 << 30;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Room> rooms = new ArrayList<>();
+    private final Map<Room, Integer> roomIndexes = new HashMap<>();
+    private final List<ReserverPayer> payers = new ArrayList<>();
+    private final Map<ReserverPayer, Integer> payerIndexes = new IdentityHashMap<>();
+    // Records using each payer entry; a count of 0 marks a free index
+    private int[] payerRefs = new int[16];
+    private final Deque<Integer> freePayerIndexes = new ArrayDeque<>();
+    private final Map<Integer, List<Money>> lockedRates = new HashMap<>();
+    private MemorySegment records;
+    private int usedSlots;
+    private int freeSlot = NO_SLOT;
+    private int size;
+    // Open-addressing index from reservation number to slot + 1 (0 = empty)
+    private int[] indexKeys;
+    private int[] indexSlots;
+
+    OffHeapReservationStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    OffHeapReservationStore(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        this.records = allocate(Math.min(initialCapacity, MAX_SLOTS));
+        long indexCapacity = Long.highestOneBit(Math.max(2, initialCapacity * 2L - 1)) << 1;
+        this.indexKeys = new int[(int) Math.min(indexCapacity, MAX_INDEX_CAPACITY)];
+        this.indexSlots = new int[indexKeys.length];
+    }
+
+    /**
+     * Allocates zeroed memory for the given number of records. It is freed
+     * once the segment is no longer reachable.
+     */
+    private static MemorySegment allocate(long slots) {
+        return Arena.ofAuto().allocate(slots * RECORD_BYTES, Long.BYTES);
+    }
+
+    private static long offset(int slot) {
+        return (long) slot * RECORD_BYTES;
+    }
+
+    private int getInt(long base, int field) {
+        return records.get(ValueLayout.JAVA_INT, base + field);
+    }
+
+    private void putInt(long base, int field, int value) {
+        records.set(ValueLayout.JAVA_INT, base + field, value);
+    }
+
+    @Override
+    public void add(Reservation reservation) {
+        int startDay = reservation.getStartDay();
+        int endDay = reservation.getEndDay();
+        lock.writeLock().lock();
+        try {
+            int number = reservation.getReservationNumber();
+            if (indexSlots[probe(number)] != 0) {
+                throw new HotelException("Reservation #" + number + " already exists");
+            }
+            if ((size + 1L) * 2 > indexKeys.length) {
+                growIndex();
+            }
+            int slot = claimSlot();
+            long base = offset(slot);
+            putInt(base, NUMBER, number);
+            putInt(base, ROOM, roomIndex(reservation.getRoom()));
+            putInt(base, START_DAY, startDay);
+            putInt(base, END_DAY, endDay);
+            putInt(base, PAYER, payerIndex(reservation.getPayer()));
+            putInt(base, LINK, LIVE);
+            int position = probe(number);
+            indexKeys[position] = number;
+            indexSlots[position] = slot + 1;
+            size++;
+            if (reservation.hasLockedRates()) {
+                lockedRates.put(number, reservation.getNightlyRates());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Reservation remove(int reservationNumber) {
+        lock.writeLock().lock();
+        try {
+            int position = probe(reservationNumber);
+            int slot = indexSlots[position] - 1;
+            if (slot < 0) {
+                return null;
+            }
+            Reservation removed = materialize(slot);
+            releasePayer(getInt(offset(slot), PAYER));
+            lockedRates.remove(reservationNumber);
+            deleteFromIndex(position);
+            putInt(offset(slot), LINK, freeSlot);
+            freeSlot = slot;
+            size--;
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Reservation find(int reservationNumber) {
+        lock.readLock().lock();
+        try {
+            int slot = indexSlots[probe(reservationNumber)] - 1;
+            return slot < 0 ? null : materialize(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fresh list on every call; prefer {@link #forEach} for scans.
+     */
+    @Override
+    public List<Reservation> all() {
+        lock.readLock().lock();
+        try {
+            List<Reservation> all = new ArrayList<>(size);
+            for (int slot = 0; slot < usedSlots; slot++) {
+                if (isLive(slot)) {
+                    all.add(materialize(slot));
+                }
+            }
+            all.sort((a, b) -> Integer.compare(a.getReservationNumber(), b.getReservationNumber()));
+            return Collections.unmodifiableList(all);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<ReservationView> action) {
+        lock.readLock().lock();
+        try {
+            RecordView cursor = new RecordView();
+            for (int slot = 0; slot < usedSlots; slot++) {
+                if (isLive(slot)) {
+                    cursor.slot = slot;
+                    action.accept(cursor);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isLive(int slot) {
+        return getInt(offset(slot), LINK) == LIVE;
+    }
+
+    private Reservation materialize(int slot) {
+        long base = offset(slot);
+        int number = getInt(base, NUMBER);
+        return new Reservation(number,
+                LocalDate.ofEpochDay(getInt(base, START_DAY)),
+                LocalDate.ofEpochDay(getInt(base, END_DAY)),
+                payers.get(getInt(base, PAYER)),
+                rooms.get(getInt(base, ROOM)),
+                lockedRates.get(number));
+    }
+
+    /**
+     * Takes a free slot, or a new one at the end, doubling the segment when
+     * full.
+     */
+    private int claimSlot() {
+        if (freeSlot != NO_SLOT) {
+            int slot = freeSlot;
+            freeSlot = getInt(offset(slot), LINK);
+            return slot;
+        }
+        if (offset(usedSlots) == records.byteSize()) {
+            if (usedSlots == MAX_SLOTS) {
+                throw storeFull();
+            }
+            MemorySegment larger = allocate(Math.min(usedSlots * 2L, MAX_SLOTS));
+            MemorySegment.copy(records, 0, larger, 0, records.byteSize());
+            records = larger;
+        }
+        return usedSlots++;
+    }
+
+    private static HotelException storeFull() {
+        return new HotelException("Off-heap reservation store is full");
+    }
+
+    private int roomIndex(Room room) {
+        Integer index = roomIndexes.get(room);
+        if (index == null) {
+            index = rooms.size();
+            rooms.add(room);
+            roomIndexes.put(room, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the payer's entry, creating it if needed, and counts one more
+     * record using it.
+     */
+    private int payerIndex(ReserverPayer payer) {
+        Integer index = payerIndexes.get(payer);
+        if (index == null) {
+            index = freePayerIndexes.poll();
+            if (index == null) {
+                index = payers.size();
+                payers.add(payer);
+                if (index == payerRefs.length) {
+                    payerRefs = Arrays.copyOf(payerRefs, index * 2);
+                }
+            } else {
+                payers.set(index, payer);
+            }
+            payerIndexes.put(payer, index);
+        }
+        payerRefs[index]++;
+        return index;
+    }
+
+    /**
+     * Counts one record less using the payer entry, dropping it with its last one.
+     */
+    private void releasePayer(int index) {
+        if (--payerRefs[index] == 0) {
+            payerIndexes.remove(payers.set(index, null));
+            freePayerIndexes.push(index);
+        }
+    }
+
+    /**
+     * Returns how many payers the store holds on the heap.
+     */
+    int payerCount() {
+        lock.readLock().lock();
+        try {
+            return payerIndexes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the index position holding number, or the empty position where it belongs.
+     */
+    private int probe(int number) {
+        int mask = indexKeys.length - 1;
+        int position = mix(number) & mask;
+        while (indexSlots[position] != 0 && indexKeys[position] != number) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    /**
+     * Removes an index entry, shifting later entries of the same probe run
+     * back so lookups never stop early at the hole.
+     */
+    private void deleteFromIndex(int position) {
+        int mask = indexKeys.length - 1;
+        int hole = position;
+        int next = (hole + 1) & mask;
+        while (indexSlots[next] != 0) {
+            int home = mix(indexKeys[next]) & mask;
+            // Move the entry back if the hole lies between its home and its position
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                indexKeys[hole] = indexKeys[next];
+                indexSlots[hole] = indexSlots[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        indexKeys[hole] = 0;
+        indexSlots[hole] = 0;
+    }
+
+    private void growIndex() {
+        if (indexKeys.length == MAX_INDEX_CAPACITY) {
+            throw storeFull();
+        }
+        int[] oldKeys = indexKeys;
+        int[] oldSlots = indexSlots;
+        indexKeys = new int[oldKeys.length * 2];
+        indexSlots = new int[oldSlots.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != 0) {
+                int position = probe(oldKeys[i]);
+                indexKeys[position] = oldKeys[i];
+                indexSlots[position] = oldSlots[i];
+            }
+        }
+    }
+
+    private static int mix(int number) {
+        int hash = number * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Flyweight over one record; {@link #slot} moves from record to record.
+     */
+    private final class RecordView implements ReservationView {
+        private int slot;
+
+        @Override
+        public int getReservationNumber() {
+            return getInt(offset(slot), NUMBER);
+        }
+
+        @Override
+        public int getStartDay() {
+            return getInt(offset(slot), START_DAY);
+        }
+
+        @Override
+        public int getEndDay() {
+            return getInt(offset(slot), END_DAY);
+        }
+
+        @Override
+        public Room getRoom() {
+            return rooms.get(getInt(offset(slot), ROOM));
+        }
+
+        @Override
+        public ReserverPayer getPayer() {
+            return payers.get(getInt(offset(slot), PAYER));
+        }
+
+        @Override
+        public Reservation toReservation() {
+            return materialize(slot);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hotel.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.hotel.exception.HotelException;
+
+/**
+ * Hands out unique reservation numbers to concurrent bookers.
+ * Threads are spread over striped cells that each own a block of numbers;
+ * the shared counter is only touched when a cell's block runs out. Numbers
+ * are unique but not strictly ordered across threads.
+ */
+public class ReservationNumberGenerator {
+    static final int DEFAULT_BLOCK_SIZE = 64;
+
+    // One cell per 64-byte cache line so neighbouring stripes do not contend
+    private static final int CELL_SPACING = 8;
+    private static final int STRIPES = stripeCount();
+
+    private final AtomicLong nextBlockStart;
+    private final AtomicLongArray cells;
+    private final int blockSize;
+
+    /**
+     * Creates a generator whose first number is 1.
+     */
+    public ReservationNumberGenerator() {
+        this(0, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a generator that only hands out numbers above lastIssued,
+     * e.g. the highest number recovered after a restart.
+     */
+    public ReservationNumberGenerator(int lastIssued, int blockSize) {
+        if (lastIssued < 0) {
+            throw new IllegalArgumentException("Last issued number cannot be negative");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.nextBlockStart = new AtomicLong(lastIssued + 1L);
+        this.cells = new AtomicLongArray(STRIPES * CELL_SPACING);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next unused reservation number.
+     */
+    public int next() {
+        int cell = cellIndex();
+        while (true) {
+            long block = cells.get(cell);
+            int next = (int) block;
+            int limit = (int) (block >>> 32);
+            if (next < limit) {
+                if (cells.compareAndSet(cell, block, block + 1)) {
+                    return next;
+                }
+                continue;
+            }
+            return claimBlock(cell, block);
+        }
+    }
+
+    /**
+     * Returns a number at least as high as every number handed out so far,
+     * e.g. to save with a snapshot and pass to {@link #advancePast} on
+     * restore. Numbers reserved in blocks but not yet handed out count too.
+     */
+    public int lastIssued() {
+        return (int) Math.min(nextBlockStart.get() - 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Makes sure every number handed out from now on is greater than number.
+     * Intended for recovery, before the generator is shared with bookers.
+     */
+    public void advancePast(int number) {
+        nextBlockStart.accumulateAndGet(number + 1L, Math::max);
+        for (int i = 0; i < STRIPES; i++) {
+            cells.set(i * CELL_SPACING, 0L);
+        }
+    }
+
+    /**
+     * Takes a fresh block from the shared counter, returns its first number
+     * and leaves the rest in the cell for the next caller on this stripe.
+     */
+    private int claimBlock(int cell, long exhausted) {
+        long start = nextBlockStart.getAndAdd(blockSize);
+        long end = start + blockSize;
+        if (end - 1 > Integer.MAX_VALUE) {
+            throw new HotelException("Reservation numbers are exhausted");
+        }
+        // Losing this race only discards the unused tail of the block
+        cells.compareAndSet(cell, exhausted, (end << 32) | (start + 1));
+        return (int) start;
+    }
+
+    private int cellIndex() {
+        long threadId = Thread.currentThread().threadId();
+        int hash = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32);
+        return (hash & (STRIPES - 1)) * CELL_SPACING;
+    }
+
+    private static int stripeCount() {
+        int wanted = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+        return Math.min(Integer.highestOneBit(wanted - 1) << 1, 256);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hotel.core;
+
+/**
+ * Where a hotel keeps its reservations.
+ */
+public enum ReservationStorage {
+    /**
+     * One object per reservation on the heap. Fastest to read back.
+     */
+    HEAP,
+
+    /**
+     * Fixed-width records in off-heap memory, so large reservation
+     * histories add almost nothing to the heap or to GC work. Reservation
+     * objects are created on demand when read.
+     */
+    OFF_HEAP;
+
+    ReservationStore createStore() {
+        return this == HEAP ? new HeapReservationStore() : new OffHeapReservationStore();
+    }
+}
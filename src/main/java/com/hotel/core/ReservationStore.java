@@ -0,0 +1,39 @@
+package com.hotel.core;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.hotel.domain.Reservation;
+
+/**
+ * Holds a hotel's reservations indexed by reservation number.
+ * Implementations are safe to call from any thread.
+ */
+interface ReservationStore {
+
+    /**
+     * Adds a reservation, rejecting duplicate reservation numbers.
+     */
+    void add(Reservation reservation);
+
+    /**
+     * Removes and returns the reservation with the given number, or null if none exists.
+     */
+    Reservation remove(int reservationNumber);
+
+    /**
+     * Returns the reservation with the given number, or null if none exists.
+     */
+    Reservation find(int reservationNumber);
+
+    /**
+     * Returns an unmodifiable list of all reservations ordered by number.
+     */
+    List<Reservation> all();
+
+    /**
+     * Shows every reservation, in no particular order, through a view that
+     * is reused between calls. The action must not change the store.
+     */
+    void forEach(Consumer<ReservationView> action);
+}
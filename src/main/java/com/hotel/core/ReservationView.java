@@ -0,0 +1,44 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+
+/**
+ * Read-only window onto one stored reservation.
+ * Views handed to a callback are reused for the next reservation, so read
+ * what you need inside the callback, or keep {@link #toReservation()}.
+ */
+public interface ReservationView {
+
+    int getReservationNumber();
+
+    /**
+     * Returns the first night of the stay as an epoch day.
+     */
+    int getStartDay();
+
+    /**
+     * Returns the check-out day as an epoch day.
+     */
+    int getEndDay();
+
+    Room getRoom();
+
+    ReserverPayer getPayer();
+
+    default LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(getStartDay());
+    }
+
+    default LocalDate getEndDate() {
+        return LocalDate.ofEpochDay(getEndDay());
+    }
+
+    /**
+     * Returns the reservation as a standalone object.
+     */
+    Reservation toReservation();
+}
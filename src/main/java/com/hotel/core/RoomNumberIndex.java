@@ -0,0 +1,167 @@
+package com.hotel.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.hotel.domain.Room;
+
+/**
+ * Immutable lookup table from room number to room.
+ * Compact numbering (e.g. 101-180) is stored as a dense array indexed by
+ * offset from the lowest number; sparse numbering falls back to an
+ * open-addressing table with linear probing. Either way a lookup is a few
+ * array reads with no boxing.
+ */
+final class RoomNumberIndex {
+    // Dense storage is used while at most this many slots exist per room
+    private static final int MAX_DENSE_SLOTS_PER_ROOM = 4;
+
+    private final int offset;
+    private final int[] keys;
+    private final Room[] slots;
+    private final boolean dense;
+    private final int size;
+    // Lowest and highest room numbers held, meaningless while empty
+    private final int lowest;
+    private final int highest;
+
+    private RoomNumberIndex(int offset, int[] keys, Room[] slots, boolean dense, int size, int lowest, int highest) {
+        this.offset = offset;
+        this.keys = keys;
+        this.slots = slots;
+        this.dense = dense;
+        this.size = size;
+        this.lowest = lowest;
+        this.highest = highest;
+    }
+
+    /**
+     * Builds an index over rooms with unique numbers.
+     */
+    static RoomNumberIndex of(Collection<Room> rooms) {
+        if (rooms.isEmpty()) {
+            return new RoomNumberIndex(0, null, new Room[0], true, 0, 0, 0);
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (Room room : rooms) {
+            min = Math.min(min, room.getNumber());
+            max = Math.max(max, room.getNumber());
+        }
+        if (isCompact(min, max, rooms.size())) {
+            Room[] slots = new Room[max - min + 1];
+            for (Room room : rooms) {
+                slots[room.getNumber() - min] = room;
+            }
+            return new RoomNumberIndex(min, null, slots, true, rooms.size(), min, max);
+        }
+        return hashed(rooms, min, max);
+    }
+
+    /**
+     * Returns an index that also holds room, whose number this index must
+     * not hold yet. The room goes into a free slot of this index's table,
+     * which the returned index shares, so adding is amortized constant
+     * time: the table is only copied when it runs out of room or the
+     * numbering turns from compact to sparse. Only the latest index may
+     * be added to, by one thread at a time; lookups through an older one
+     * may already find the new room.
+     */
+    RoomNumberIndex with(Room room) {
+        int number = room.getNumber();
+        if (size == 0) {
+            return new RoomNumberIndex(number, null, new Room[] { room }, true, 1, number, number);
+        }
+        int count = size + 1;
+        int low = Math.min(lowest, number);
+        int high = Math.max(highest, number);
+        if (dense && isCompact(low, high, count)) {
+            return withDense(room, count, low, high);
+        }
+        if (!dense && (long) count * 2 <= slots.length) {
+            int slot = probe(keys, slots, number);
+            keys[slot] = number;
+            slots[slot] = room;
+            return new RoomNumberIndex(0, keys, slots, false, count, low, high);
+        }
+        List<Room> rooms = new ArrayList<>(count);
+        for (Room held : slots) {
+            if (held != null) {
+                rooms.add(held);
+            }
+        }
+        rooms.add(room);
+        return hashed(rooms, low, high);
+    }
+
+    /**
+     * Adds a room to a dense table, growing it towards the new number by
+     * at least doubling if the number falls outside it.
+     */
+    private RoomNumberIndex withDense(Room room, int count, int low, int high) {
+        int number = room.getNumber();
+        long index = (long) number - offset;
+        if (index >= 0 && index < slots.length) {
+            slots[(int) index] = room;
+            return new RoomNumberIndex(offset, null, slots, true, count, low, high);
+        }
+        long span = (long) high - low + 1;
+        int length = (int) Math.min(Math.max(span, 2L * slots.length), (long) count * MAX_DENSE_SLOTS_PER_ROOM);
+        // Spare slots go on the side the numbering grows towards
+        int start = number > highest ? low : (int) Math.max((long) high - length + 1, Integer.MIN_VALUE);
+        Room[] table = new Room[length];
+        System.arraycopy(slots, lowest - offset, table, lowest - start, highest - lowest + 1);
+        table[number - start] = room;
+        return new RoomNumberIndex(start, null, table, true, count, low, high);
+    }
+
+    /**
+     * Builds an open-addressing table over rooms, at most half full.
+     */
+    private static RoomNumberIndex hashed(Collection<Room> rooms, int min, int max) {
+        int capacity = Integer.highestOneBit(Math.max(2, rooms.size() * 2 - 1)) << 1;
+        int[] keys = new int[capacity];
+        Room[] slots = new Room[capacity];
+        for (Room room : rooms) {
+            int slot = probe(keys, slots, room.getNumber());
+            keys[slot] = room.getNumber();
+            slots[slot] = room;
+        }
+        return new RoomNumberIndex(0, keys, slots, false, rooms.size(), min, max);
+    }
+
+    private static boolean isCompact(int min, int max, int roomCount) {
+        return (long) max - min + 1 <= (long) roomCount * MAX_DENSE_SLOTS_PER_ROOM;
+    }
+
+    /**
+     * Returns the room with the given number, or null if there is none.
+     */
+    Room find(int roomNumber) {
+        if (dense) {
+            long index = (long) roomNumber - offset;
+            return index >= 0 && index < slots.length ? slots[(int) index] : null;
+        }
+        Room room = slots[probe(keys, slots, roomNumber)];
+        // A lookup racing with an addition may see the room before its key
+        return room != null && room.getNumber() == roomNumber ? room : null;
+    }
+
+    /**
+     * Finds the slot holding roomNumber, or the empty slot where it belongs.
+     */
+    private static int probe(int[] keys, Room[] slots, int roomNumber) {
+        int mask = slots.length - 1;
+        int slot = mix(roomNumber) & mask;
+        while (slots[slot] != null && keys[slot] != roomNumber) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(int roomNumber) {
+        int hash = roomNumber * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
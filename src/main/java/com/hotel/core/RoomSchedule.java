@@ -0,0 +1,184 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.hotel.domain.Reservation;
+
+/**
+ * Sorted interval index over the reservations of a single room.
+ * Stays are held as parallel int arrays of epoch days and reservation
+ * numbers, ordered by start day, so an overlap check is a binary search
+ * over contiguous primitives instead of a walk over the hotel's reservation
+ * history. Stays inside the calendar window are also answered from a bitmap
+ * of booked nights.
+ */
+class RoomSchedule {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private int[] numbers = new int[INITIAL_CAPACITY];
+    private int size;
+    private final AvailabilityCalendar calendar;
+    private int zeroNightStays;
+
+    RoomSchedule(LocalDate calendarStart, int horizonDays) {
+        this.calendar = new AvailabilityCalendar(calendarStart, horizonDays);
+    }
+
+    /**
+     * Records a reservation for this room.
+     * Stays with the same start day keep the order they were added in.
+     */
+    void add(Reservation reservation) {
+        int startDay = reservation.getStartDay();
+        int endDay = reservation.getEndDay();
+        if (size == startDays.length) {
+            int capacity = size * 2;
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+        }
+        int position = countStartingOnOrBefore(startDay);
+        int moved = size - position;
+        System.arraycopy(startDays, position, startDays, position + 1, moved);
+        System.arraycopy(endDays, position, endDays, position + 1, moved);
+        System.arraycopy(numbers, position, numbers, position + 1, moved);
+        startDays[position] = startDay;
+        endDays[position] = endDay;
+        numbers[position] = reservation.getReservationNumber();
+        size++;
+        calendar.markBooked(startDay, endDay);
+        if (startDay == endDay) {
+            zeroNightStays++;
+        }
+    }
+
+    /**
+     * Removes a reservation from this room's schedule.
+     */
+    void remove(Reservation reservation) {
+        int startDay = reservation.getStartDay();
+        int number = reservation.getReservationNumber();
+        int position = countStartingOnOrBefore(startDay) - 1;
+        while (position >= 0 && startDays[position] == startDay && numbers[position] != number) {
+            position--;
+        }
+        if (position < 0 || startDays[position] != startDay) {
+            return;
+        }
+        int endDay = endDays[position];
+        int moved = size - position - 1;
+        System.arraycopy(startDays, position + 1, startDays, position, moved);
+        System.arraycopy(endDays, position + 1, endDays, position, moved);
+        System.arraycopy(numbers, position + 1, numbers, position, moved);
+        size--;
+        calendar.markFree(startDay, endDay);
+        if (startDay == endDay) {
+            zeroNightStays--;
+        }
+    }
+
+    /**
+     * Returns the numbers of this room's reservations in start day order.
+     */
+    int[] reservationNumbers() {
+        return Arrays.copyOf(numbers, size);
+    }
+
+    /**
+     * Checks if any reservation overlaps with the given epoch days.
+     * Overlap occurs when: (StartA < EndB) AND (EndA > StartB)
+     *
+     * Zero-night stays book no nights in the calendar, so they are always
+     * checked against the interval index.
+     */
+    boolean hasConflict(int startDay, int endDay) {
+        if (zeroNightStays == 0 && calendar.covers(startDay, endDay)) {
+            return !calendar.isFree(startDay, endDay);
+        }
+        return hasIndexedConflict(startDay, endDay);
+    }
+
+    /**
+     * Reservations of one room never overlap each other, so only the
+     * reservations with the latest start before the requested end day
+     * can conflict: any earlier one ends no later than those begin.
+     */
+    private boolean hasIndexedConflict(int startDay, int endDay) {
+        int position = countStartingBefore(endDay) - 1;
+        if (position < 0) {
+            return false;
+        }
+        int latestStart = startDays[position];
+        for (; position >= 0 && startDays[position] == latestStart; position--) {
+            if (startDay < endDays[position]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the calendar window forward and books the nights that enter it.
+     */
+    void advanceCalendar(int newStartDay) {
+        long oldEnd = calendar.getWindowEnd();
+        calendar.advanceTo(newStartDay);
+        long enteringFrom = Math.max(oldEnd, calendar.getWindowStart());
+        long enteringTo = calendar.getWindowEnd();
+        if (enteringFrom >= enteringTo) {
+            return;
+        }
+        int position = countStartingBefore(enteringTo) - 1;
+        while (position >= 0) {
+            int groupStart = startDays[position];
+            boolean reachesWindow = false;
+            for (; position >= 0 && startDays[position] == groupStart; position--) {
+                if (endDays[position] > enteringFrom) {
+                    calendar.markBooked(Math.max(groupStart, enteringFrom), endDays[position]);
+                    reachesWindow = true;
+                }
+            }
+            if (!reachesWindow) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stays starting on or before the given day,
+     * which is also the position just after them.
+     */
+    private int countStartingOnOrBefore(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (startDays[middle] <= day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of stays starting strictly before the given day.
+     */
+    private int countStartingBefore(long day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (startDays[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,153 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+
+/**
+ * Holds the rooms of a hotel that share one room type.
+ * Availability searches only walk the inventory of the requested type, and
+ * capacity queries read the type's per-night sold counts. Under dynamic
+ * pricing the inventory also keeps each night's rate, refreshed whenever the
+ * night's sold count changes. Everything in an inventory is guarded by its
+ * own lock, so bookings of different room types never block each other.
+ */
+class RoomTypeInventory {
+    private final RoomType roomType;
+    private final List<Room> rooms;
+    private final SoldNightsTree soldNights;
+    private final ReentrantLock lock = new ReentrantLock();
+    private OccupancyCurve curve;
+    private NightlyRateTable nightlyRates;
+    private volatile long version;
+
+    RoomTypeInventory(RoomType roomType, LocalDate calendarStart, int horizonDays) {
+        this.roomType = roomType;
+        this.rooms = new ArrayList<>();
+        this.soldNights = new SoldNightsTree(calendarStart, horizonDays);
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    void addRoom(Room room) {
+        rooms.add(room);
+        availabilityChanged();
+        if (curve != null) {
+            // Occupancy bands depend on the room count, so every night is priced again
+            nightlyRates = new NightlyRateTable(roomType.getCost(), curve, rooms.size(), soldNights);
+        }
+    }
+
+    /**
+     * Switches the type to dynamic pricing on the given curve, or back to
+     * its static rate when the curve is null.
+     */
+    void setOccupancyCurve(OccupancyCurve occupancyCurve) {
+        nightlyRates = occupancyCurve == null ? null
+                : new NightlyRateTable(roomType.getCost(), occupancyCurve, rooms.size(), soldNights);
+        curve = occupancyCurve;
+    }
+
+    /**
+     * Returns the rate of each night of the given epoch days, or null when
+     * the type is priced statically.
+     */
+    List<Money> nightlyRates(int startDay, int endDay) {
+        return nightlyRates == null ? null : nightlyRates.ratesFor(startDay, endDay);
+    }
+
+    /**
+     * Counts the nights of a new reservation as sold.
+     */
+    void recordSale(Reservation reservation) {
+        soldNights.addStay(reservation.getStartDay(), reservation.getEndDay(), 1);
+        availabilityChanged();
+        if (nightlyRates != null) {
+            nightlyRates.refresh(reservation.getStartDay(), reservation.getEndDay(), soldNights);
+        }
+    }
+
+    /**
+     * Returns the nights of a cancelled reservation to the inventory.
+     */
+    void releaseSale(Reservation reservation) {
+        soldNights.addStay(reservation.getStartDay(), reservation.getEndDay(), -1);
+        availabilityChanged();
+        if (nightlyRates != null) {
+            nightlyRates.refresh(reservation.getStartDay(), reservation.getEndDay(), soldNights);
+        }
+    }
+
+    /**
+     * Returns whether sold nights are tracked for every night of the given dates.
+     */
+    boolean tracksCapacity(LocalDate startDate, LocalDate endDate) {
+        return soldNights.covers(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Returns the fewest rooms left unsold on any night of the given dates.
+     */
+    int remainingCapacity(LocalDate startDate, LocalDate endDate) {
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        if (!soldNights.covers(startDay, endDay)) {
+            throw new IllegalArgumentException(
+                    "Capacity is only tracked between " + LocalDate.ofEpochDay(soldNights.getWindowStart())
+                            + " and " + LocalDate.ofEpochDay(soldNights.getWindowEnd()));
+        }
+        return rooms.size() - soldNights.maxSold(startDay, endDay);
+    }
+
+    /**
+     * Moves the sold-night window forward and recounts the given reservations of this type.
+     */
+    void advanceCapacity(LocalDate newStart, ReservationStore reservations) {
+        soldNights.reset(newStart.toEpochDay());
+        reservations.forEach(reservation -> {
+            if (roomType.equals(reservation.getRoom().getRoomType())) {
+                soldNights.addStay(reservation.getStartDay(), reservation.getEndDay(), 1);
+            }
+        });
+        if (nightlyRates != null) {
+            nightlyRates.refreshAll(soldNights);
+        }
+    }
+
+    /**
+     * Bumps the version, retiring every cached availability answer of this
+     * type. Callers must hold the lock.
+     */
+    void availabilityChanged() {
+        version++;
+    }
+
+    /**
+     * Returns the version of this type's rooms and stays, which changes
+     * whenever an availability answer for the type might.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    RoomType getRoomType() {
+        return roomType;
+    }
+
+    List<Room> getRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
+}
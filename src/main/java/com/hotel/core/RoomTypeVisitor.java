@@ -0,0 +1,21 @@
+package com.hotel.core;
+
+import java.util.List;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+
+/**
+ * Looks at the rooms and reservations of one room type of a hotel.
+ * See {@link Hotel#forEachRoomType}.
+ */
+@FunctionalInterface
+public interface RoomTypeVisitor {
+
+    /**
+     * Called with the type's lock held. Implementations must not call back
+     * into the hotel or keep the lists after returning.
+     */
+    void visit(RoomType roomType, List<Room> rooms, List<Reservation> reservations);
+}
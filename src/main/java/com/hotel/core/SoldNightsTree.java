@@ -0,0 +1,121 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Segment tree of rooms sold per night for one room type.
+ * Supports adding a stay (range add) and finding the busiest night of a date
+ * range (range max) in O(log n). Nights are stored in a ring covering a
+ * rolling window, like {@link AvailabilityCalendar}.
+ */
+class SoldNightsTree {
+    private final int capacity;
+    private final int[] max;
+    private final int[] pending;
+    private long windowStart;
+
+    SoldNightsTree(LocalDate windowStart, int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Capacity horizon must be positive");
+        }
+        this.capacity = horizonDays;
+        this.max = new int[4 * horizonDays];
+        this.pending = new int[4 * horizonDays];
+        this.windowStart = windowStart.toEpochDay();
+    }
+
+    long getWindowStart() {
+        return windowStart;
+    }
+
+    long getWindowEnd() {
+        return windowStart + capacity;
+    }
+
+    /**
+     * Checks if all nights in [startDay, endDay) fall inside the window.
+     */
+    boolean covers(long startDay, long endDay) {
+        return startDay >= windowStart && endDay <= getWindowEnd();
+    }
+
+    /**
+     * Adds delta rooms sold to every night in [startDay, endDay), ignoring
+     * nights outside the window.
+     */
+    void addStay(long startDay, long endDay, int delta) {
+        long from = Math.max(startDay, windowStart);
+        long to = Math.min(endDay, getWindowEnd());
+        if (to <= from) {
+            return;
+        }
+        int position = position(from);
+        int length = (int) (to - from);
+        int firstPart = Math.min(length, capacity - position);
+        add(1, 0, capacity - 1, position, position + firstPart - 1, delta);
+        if (firstPart < length) {
+            add(1, 0, capacity - 1, 0, length - firstPart - 1, delta);
+        }
+    }
+
+    /**
+     * Returns the highest number of rooms sold on any night in [startDay, endDay).
+     * The range must be covered by the window.
+     */
+    int maxSold(long startDay, long endDay) {
+        if (endDay <= startDay) {
+            return 0;
+        }
+        int position = position(startDay);
+        int length = (int) (endDay - startDay);
+        int firstPart = Math.min(length, capacity - position);
+        int result = query(1, 0, capacity - 1, position, position + firstPart - 1);
+        if (firstPart < length) {
+            result = Math.max(result, query(1, 0, capacity - 1, 0, length - firstPart - 1));
+        }
+        return result;
+    }
+
+    /**
+     * Empties the tree and moves the window to start at newStart.
+     * Callers re-add the stays that fall inside the new window.
+     */
+    void reset(long newStart) {
+        Arrays.fill(max, 0);
+        Arrays.fill(pending, 0);
+        windowStart = newStart;
+    }
+
+    private int position(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) capacity);
+    }
+
+    private void add(int node, int nodeFrom, int nodeTo, int from, int to, int delta) {
+        if (to < nodeFrom || nodeTo < from) {
+            return;
+        }
+        if (from <= nodeFrom && nodeTo <= to) {
+            max[node] += delta;
+            pending[node] += delta;
+            return;
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        add(2 * node, nodeFrom, middle, from, to, delta);
+        add(2 * node + 1, middle + 1, nodeTo, from, to, delta);
+        max[node] = pending[node] + Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private int query(int node, int nodeFrom, int nodeTo, int from, int to) {
+        if (to < nodeFrom || nodeTo < from) {
+            return Integer.MIN_VALUE;
+        }
+        if (from <= nodeFrom && nodeTo <= to) {
+            return max[node];
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        int best = Math.max(query(2 * node, nodeFrom, middle, from, to),
+                query(2 * node + 1, middle + 1, nodeTo, from, to));
+        return best == Integer.MIN_VALUE ? best : best + pending[node];
+    }
+}
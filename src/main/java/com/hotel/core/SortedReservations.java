@@ -0,0 +1,211 @@
+package com.hotel.core;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.hotel.domain.Reservation;
+
+/**
+ * Immutable list of reservations ordered by number.
+ * Adding or removing a reservation returns a new list that shares all but
+ * O(log n) nodes with this one, so a list handed to readers never changes
+ * and publishing the next one costs no copy. The nodes form a treap whose
+ * priorities are derived from the reservation numbers, which keeps it
+ * balanced for the ascending numbers new bookings get.
+ */
+final class SortedReservations extends AbstractList<Reservation> {
+    static final SortedReservations EMPTY = new SortedReservations(null);
+
+    private final Node root;
+
+    private SortedReservations(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns a list with the reservation added.
+     *
+     * @throws IllegalArgumentException if the list already holds its number
+     */
+    SortedReservations with(Reservation reservation) {
+        return new SortedReservations(insert(root, reservation, reservation.getReservationNumber()));
+    }
+
+    /**
+     * Returns a list without the reservation with the given number, or this
+     * list if it holds no such reservation.
+     */
+    SortedReservations without(int reservationNumber) {
+        Node removed = delete(root, reservationNumber);
+        return removed == root ? this : new SortedReservations(removed);
+    }
+
+    /**
+     * Returns the reservation with the given number, or null if none exists.
+     */
+    Reservation find(int reservationNumber) {
+        Node node = root;
+        while (node != null) {
+            if (reservationNumber < node.number) {
+                node = node.left;
+            } else if (reservationNumber > node.number) {
+                node = node.right;
+            } else {
+                return node.reservation;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Reservation get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.reservation;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Walks the tree in order, so a full pass is linear rather than a
+     * descent from the root per element.
+     */
+    @Override
+    public Iterator<Reservation> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node> path = new ArrayDeque<>();
+            {
+                descendLeft(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Reservation next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = path.pop();
+                descendLeft(node.right);
+                return node.reservation;
+            }
+
+            private void descendLeft(Node node) {
+                for (; node != null; node = node.left) {
+                    path.push(node);
+                }
+            }
+        };
+    }
+
+    private static Node insert(Node node, Reservation reservation, int number) {
+        if (node == null) {
+            return new Node(reservation, null, null);
+        }
+        if (number < node.number) {
+            Node left = insert(node.left, reservation, number);
+            if (left.priority > node.priority) {
+                // Rotate right: the new child moves up
+                return new Node(left.reservation, left.left, new Node(node.reservation, left.right, node.right));
+            }
+            return new Node(node.reservation, left, node.right);
+        }
+        if (number > node.number) {
+            Node right = insert(node.right, reservation, number);
+            if (right.priority > node.priority) {
+                // Rotate left: the new child moves up
+                return new Node(right.reservation, new Node(node.reservation, node.left, right.left), right.right);
+            }
+            return new Node(node.reservation, node.left, right);
+        }
+        throw new IllegalArgumentException("Reservation #" + number + " is already listed");
+    }
+
+    private static Node delete(Node node, int number) {
+        if (node == null) {
+            return null;
+        }
+        if (number < node.number) {
+            Node left = delete(node.left, number);
+            return left == node.left ? node : new Node(node.reservation, left, node.right);
+        }
+        if (number > node.number) {
+            Node right = delete(node.right, number);
+            return right == node.right ? node : new Node(node.reservation, node.left, right);
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Joins two trees where every number in low is below every number in high.
+     */
+    private static Node merge(Node low, Node high) {
+        if (low == null) {
+            return high;
+        }
+        if (high == null) {
+            return low;
+        }
+        if (low.priority > high.priority) {
+            return new Node(low.reservation, low.left, merge(low.right, high));
+        }
+        return new Node(high.reservation, merge(low, high.left), high.right);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Scrambles a reservation number into a heap priority (the finalizer of
+     * MurmurHash3), so consecutive numbers get unrelated priorities.
+     */
+    private static int priorityOf(int number) {
+        int h = number;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static final class Node {
+        private final Reservation reservation;
+        private final int number;
+        private final int priority;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        private Node(Reservation reservation, Node left, Node right) {
+            this.reservation = reservation;
+            this.number = reservation.getReservationNumber();
+            this.priority = priorityOf(number);
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + 1 + sizeOf(right);
+        }
+    }
+}
@@ -5,11 +5,17 @@ import java.util.Objects;
 /**
  * Represents a credit card with validation for secure payment processing.
  * Uses helper methods for clearer validation logic.
+ *
+ * The full number never leaves the card: storage and wire formats keep the
+ * masked number, and read it back with {@link #fromMaskedNumber}.
  */
 public class CreditCard {
+    private static final String MASK = "XXXX-XXXX-XXXX-";
+
     private final String number;
     private final String expiryDate;
     private final String cvv;
+    private final boolean masked;
 
     public CreditCard(String number, String expiryDate, String cvv) {
         // Validate each field using helper methods for better readability
@@ -20,6 +26,26 @@ public class CreditCard {
         this.number = number;
         this.expiryDate = expiryDate;
         this.cvv = cvv;
+        this.masked = false;
+    }
+
+    private CreditCard(String maskedNumber) {
+        this.number = maskedNumber;
+        this.expiryDate = null;
+        this.cvv = null;
+        this.masked = true;
+    }
+
+    /**
+     * Recreates a card from the masked number of an earlier card, e.g. when
+     * reading it back from a journal or snapshot. Only the masked number is
+     * known, so the card can be shown but not charged.
+     */
+    public static CreditCard fromMaskedNumber(String maskedNumber) {
+        if (maskedNumber == null || maskedNumber.length() != MASK.length() + 4 || !maskedNumber.startsWith(MASK)) {
+            throw new IllegalArgumentException("Masked card number must look like " + MASK + "1234");
+        }
+        return new CreditCard(maskedNumber);
     }
 
     /**
@@ -68,7 +94,14 @@ public class CreditCard {
      * Returns masked card number for display purposes.
      */
     public String getMaskedNumber() {
-        return "XXXX-XXXX-XXXX-" + getLastFourDigits();
+        return masked ? number : MASK + getLastFourDigits();
+    }
+
+    /**
+     * Checks if only the masked number of this card is known.
+     */
+    public boolean isMasked() {
+        return masked;
     }
 
     /**
@@ -87,12 +120,12 @@ public class CreditCard {
             return false;
         }
         CreditCard otherCard = (CreditCard) other;
-        return Objects.equals(number, otherCard.number);
+        return masked == otherCard.masked && Objects.equals(number, otherCard.number);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(number);
+        return Objects.hash(number, masked);
     }
 
     @Override
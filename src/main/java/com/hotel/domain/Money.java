@@ -2,15 +2,27 @@ package com.hotel.domain;
 
 import java.math.BigDecimal;
 import java.util.Currency;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a monetary value with currency.
  * Ensures amounts are always non-negative.
+ *
+ * Amounts are held as a long count of the currency's minor units (cents
+ * for USD), so adding amounts and multiplying by nights is plain long
+ * arithmetic. A BigDecimal is only built when {@link #getAmount()} asks
+ * for one. Amounts that cannot be expressed in whole minor units, or that
+ * do not fit a long, keep their BigDecimal and take the slower path.
+ * Amounts are equal when their values are, regardless of scale.
  */
 public class Money {
-    private final BigDecimal amount;
+    private static final Map<String, Currency> CURRENCIES = new ConcurrentHashMap<>();
+    private static final long NOT_IN_MINOR_UNITS = -1;
+
+    private final long minorUnits;
     private final Currency currency;
+    private BigDecimal amount;
 
     /**
      * Creates Money with BigDecimal amount and Currency object.
@@ -21,6 +33,7 @@ public class Money {
 
         this.amount = amount;
         this.currency = currency;
+        this.minorUnits = toMinorUnits(amount, currency);
     }
 
     /**
@@ -28,7 +41,39 @@ public class Money {
      * Example: new Money(100.50, "USD")
      */
     public Money(double amountValue, String currencyCode) {
-        this(BigDecimal.valueOf(amountValue), Currency.getInstance(currencyCode));
+        this(BigDecimal.valueOf(amountValue), currency(currencyCode));
+    }
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Creates Money from a count of the currency's minor units, e.g.
+     * ofMinorUnits(10050, usd) is 100.50 USD.
+     */
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount must be non-negative");
+        }
+        validateCurrency(currency);
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Looks up a currency by its ISO 4217 code. Currencies are interned,
+     * so repeated lookups of the same code are a single map read.
+     */
+    public static Currency currency(String currencyCode) {
+        if (currencyCode == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        Currency currency = CURRENCIES.get(currencyCode);
+        if (currency == null) {
+            currency = CURRENCIES.computeIfAbsent(currencyCode, Currency::getInstance);
+        }
+        return currency;
     }
 
     /**
@@ -53,28 +98,150 @@ public class Money {
     /**
      * Validates that currency is not null.
      */
-    private void validateCurrency(Currency curr) {
+    private static void validateCurrency(Currency curr) {
         if (curr == null) {
             throw new IllegalArgumentException("Currency cannot be null");
         }
     }
 
+    /**
+     * Returns the amount in whole minor units, or NOT_IN_MINOR_UNITS if it
+     * has a fraction of a minor unit or does not fit a long.
+     */
+    private static long toMinorUnits(BigDecimal value, Currency curr) {
+        try {
+            return value.movePointRight(fractionDigits(curr)).longValueExact();
+        } catch (ArithmeticException e) {
+            return NOT_IN_MINOR_UNITS;
+        }
+    }
+
+    /**
+     * Returns how many decimal places the currency's minor unit has.
+     * Pseudo-currencies without one are counted in whole units.
+     */
+    public static int fractionDigits(Currency curr) {
+        return Math.max(0, curr.getDefaultFractionDigits());
+    }
+
     /**
      * Checks if this money amount is positive (greater than zero).
      */
     public boolean isPositive() {
-        return amount.compareTo(BigDecimal.ZERO) > 0;
+        return hasMinorUnits() ? minorUnits > 0 : amount.signum() > 0;
     }
 
     /**
      * Checks if this money amount is zero.
      */
     public boolean isZero() {
-        return amount.compareTo(BigDecimal.ZERO) == 0;
+        return hasMinorUnits() ? minorUnits == 0 : amount.signum() == 0;
+    }
+
+    /**
+     * Checks if the amount is a whole number of minor units that fits a long,
+     * i.e. if arithmetic on it takes the fast path.
+     */
+    public boolean hasMinorUnits() {
+        return minorUnits != NOT_IN_MINOR_UNITS;
+    }
+
+    /**
+     * Returns the amount as a count of the currency's minor units.
+     *
+     * @throws ArithmeticException if the amount has a fraction of a minor unit
+     *         or does not fit a long
+     */
+    public long getMinorUnits() {
+        if (!hasMinorUnits()) {
+            throw new ArithmeticException(amount + " " + currency.getCurrencyCode()
+                    + " cannot be expressed in whole minor units");
+        }
+        return minorUnits;
+    }
+
+    /**
+     * Returns the sum of this amount and another one in the same currency.
+     */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        if (hasMinorUnits() && other.hasMinorUnits()) {
+            long sum = minorUnits + other.minorUnits;
+            // Both operands are non-negative, so overflow wraps to a negative sum
+            if (sum >= 0) {
+                return new Money(sum, currency);
+            }
+        }
+        return new Money(getAmount().add(other.getAmount()), currency);
     }
 
+    /**
+     * Returns this amount multiplied by a count, e.g. a nightly rate by the
+     * number of nights.
+     */
+    public Money times(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        if (hasMinorUnits() && (count == 0 || minorUnits <= Long.MAX_VALUE / count)) {
+            return new Money(minorUnits * count, currency);
+        }
+        return new Money(getAmount().multiply(BigDecimal.valueOf(count)), currency);
+    }
+
+    /**
+     * Adds up the given amounts, which must all be in the given currency.
+     * Amounts are accumulated as minor units, so only the result is allocated
+     * unless an amount needs the BigDecimal path.
+     */
+    public static Money sum(Currency currency, Iterable<Money> amounts) {
+        validateCurrency(currency);
+        if (amounts == null) {
+            throw new IllegalArgumentException("Amounts cannot be null");
+        }
+        long total = 0;
+        BigDecimal overflow = null;
+        for (Money money : amounts) {
+            if (money == null) {
+                throw new IllegalArgumentException("Amounts cannot contain null");
+            }
+            if (!currency.equals(money.currency)) {
+                throw new IllegalArgumentException("Cannot add " + money.currency.getCurrencyCode()
+                        + " to " + currency.getCurrencyCode());
+            }
+            long next = money.hasMinorUnits() ? total + money.minorUnits : -1;
+            if (next >= 0) {
+                total = next;
+            } else {
+                overflow = (overflow == null ? BigDecimal.ZERO : overflow).add(money.getAmount());
+            }
+        }
+        Money sum = new Money(total, currency);
+        return overflow == null ? sum : new Money(sum.getAmount().add(overflow), currency);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot add " + other.currency.getCurrencyCode()
+                    + " to " + currency.getCurrencyCode());
+        }
+    }
+
+    /**
+     * Returns the amount as a BigDecimal. Amounts created from a BigDecimal
+     * return that value; others are scaled to the currency's minor unit.
+     */
     public BigDecimal getAmount() {
-        return amount;
+        BigDecimal value = amount;
+        if (value == null) {
+            // Racing threads build equal immutable values, so the field needs no lock
+            value = BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+            amount = value;
+        }
+        return value;
     }
 
     public Currency getCurrency() {
@@ -90,17 +257,23 @@ public class Money {
             return false;
         }
         Money otherMoney = (Money) other;
-        return Objects.equals(amount, otherMoney.amount) &&
-                Objects.equals(currency, otherMoney.currency);
+        if (!currency.equals(otherMoney.currency)) {
+            return false;
+        }
+        if (hasMinorUnits() || otherMoney.hasMinorUnits()) {
+            return minorUnits == otherMoney.minorUnits;
+        }
+        return amount.compareTo(otherMoney.amount) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        int valueHash = hasMinorUnits() ? Long.hashCode(minorUnits) : amount.stripTrailingZeros().hashCode();
+        return 31 * valueHash + currency.hashCode();
     }
 
     @Override
     public String toString() {
-        return amount + " " + currency.getSymbol();
+        return getAmount() + " " + currency.getSymbol();
     }
 }
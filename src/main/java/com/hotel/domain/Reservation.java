@@ -1,21 +1,39 @@
 package com.hotel.domain;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Represents a hotel room reservation with dates and payment information.
+ * The dates are also kept as int epoch days, which is what availability
+ * and conflict checks work with.
+ *
+ * A reservation booked under dynamic pricing keeps the nightly rates it was
+ * sold at; otherwise every night costs the room type's rate.
  */
 public class Reservation {
     private final int reservationNumber;
     private final LocalDate startDate;
     private final LocalDate endDate;
+    private final int startDay;
+    private final int endDay;
     private final ReserverPayer payer;
     private final Room room;
+    private final Money[] nightlyRates;
 
     public Reservation(int reservationNumber, LocalDate startDate, LocalDate endDate,
             ReserverPayer payer, Room room) {
+        this(reservationNumber, startDate, endDate, payer, room, null);
+    }
+
+    /**
+     * Creates a reservation that locks in the given rate for each night of
+     * the stay, in order. Null rates mean the room type's rate every night.
+     */
+    public Reservation(int reservationNumber, LocalDate startDate, LocalDate endDate,
+            ReserverPayer payer, Room room, List<Money> nightlyRates) {
         validateDates(startDate, endDate);
         validatePayer(payer);
         validateRoom(room);
@@ -23,8 +41,11 @@ public class Reservation {
         this.reservationNumber = reservationNumber;
         this.startDate = startDate;
         this.endDate = endDate;
+        this.startDay = toEpochDay(startDate);
+        this.endDay = toEpochDay(endDate);
         this.payer = payer;
         this.room = room;
+        this.nightlyRates = nightlyRates == null ? null : validateRates(nightlyRates, endDay - startDay);
     }
 
     /**
@@ -39,6 +60,37 @@ public class Reservation {
         }
     }
 
+    /**
+     * Converts a date to an int epoch day (days since 1970-01-01).
+     * Dates too far from the epoch to fit an int are rejected.
+     */
+    public static int toEpochDay(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day < Integer.MIN_VALUE || day > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date " + date + " is out of the supported range");
+        }
+        return (int) day;
+    }
+
+    /**
+     * Validates that there is one rate per night, all in the same currency.
+     */
+    private static Money[] validateRates(List<Money> rates, int nights) {
+        if (rates.size() != nights) {
+            throw new IllegalArgumentException("Expected " + nights + " nightly rates but got " + rates.size());
+        }
+        Money[] copy = rates.toArray(new Money[0]);
+        for (Money rate : copy) {
+            if (rate == null) {
+                throw new IllegalArgumentException("Nightly rates cannot contain null");
+            }
+            if (!rate.getCurrency().equals(copy[0].getCurrency())) {
+                throw new IllegalArgumentException("Nightly rates must share one currency");
+            }
+        }
+        return copy;
+    }
+
     /**
      * Validates that payer information is provided.
      */
@@ -61,7 +113,35 @@ public class Reservation {
      * Calculates the number of nights for this reservation.
      */
     public long getDurationInNights() {
-        return ChronoUnit.DAYS.between(startDate, endDate);
+        return endDay - startDay;
+    }
+
+    /**
+     * Checks if this reservation keeps its own nightly rates rather than
+     * using the room type's rate.
+     */
+    public boolean hasLockedRates() {
+        return nightlyRates != null;
+    }
+
+    /**
+     * Returns the rate of each night of the stay, in order.
+     */
+    public List<Money> getNightlyRates() {
+        if (nightlyRates == null) {
+            return Collections.nCopies(endDay - startDay, room.getRoomType().getCost());
+        }
+        return List.of(nightlyRates);
+    }
+
+    /**
+     * Calculates the cost of the stay: the sum of its nightly rates.
+     */
+    public Money getTotalCost() {
+        if (nightlyRates == null || nightlyRates.length == 0) {
+            return room.getRoomType().getCost().times(getDurationInNights());
+        }
+        return Money.sum(nightlyRates[0].getCurrency(), List.of(nightlyRates));
     }
 
     /**
@@ -69,7 +149,8 @@ public class Reservation {
      * end dates).
      */
     public boolean isActiveOn(LocalDate date) {
-        return !date.isBefore(startDate) && !date.isAfter(endDate);
+        long day = date.toEpochDay();
+        return day >= startDay && day <= endDay;
     }
 
     public int getReservationNumber() {
@@ -84,6 +165,20 @@ public class Reservation {
         return endDate;
     }
 
+    /**
+     * Returns the first night of the stay as an epoch day.
+     */
+    public int getStartDay() {
+        return startDay;
+    }
+
+    /**
+     * Returns the check-out day as an epoch day.
+     */
+    public int getEndDay() {
+        return endDay;
+    }
+
     public ReserverPayer getPayer() {
         return payer;
     }
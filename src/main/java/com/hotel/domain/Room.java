@@ -1,24 +1,30 @@
 package com.hotel.domain;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
 import com.hotel.exception.HotelException;
 
 /**
  * Represents a hotel room with state management for bookings and occupancy.
  * Room states: FREE -> RESERVED -> OCCUPIED -> FREE
+ * Every transition is a single compare-and-set, so concurrent callers never
+ * both win the same transition.
  */
 public class Room {
+    private static final Occupancy FREE = new Occupancy(RoomState.FREE, null);
+    private static final Occupancy RESERVED = new Occupancy(RoomState.RESERVED, null);
+
     private final int number;
     private final RoomType roomType;
-    private RoomState state;
-    private Guest occupant;
+    private final AtomicReference<Occupancy> occupancy;
 
     public Room(int number, RoomType roomType) {
         validateRoomType(roomType);
 
         this.number = number;
         this.roomType = roomType;
-        this.state = RoomState.FREE;
+        this.occupancy = new AtomicReference<>(FREE);
     }
 
     /**
@@ -39,32 +45,32 @@ public class Room {
     }
 
     public RoomState getState() {
-        return state;
+        return occupancy.get().state;
     }
 
     public Guest getOccupant() {
-        return occupant;
+        return occupancy.get().occupant;
     }
 
     /**
      * Checks if room is currently free (available for booking).
      */
     public boolean isFree() {
-        return state == RoomState.FREE;
+        return getState() == RoomState.FREE;
     }
 
     /**
      * Checks if room is currently booked/reserved.
      */
     public boolean isBooked() {
-        return state == RoomState.RESERVED;
+        return getState() == RoomState.RESERVED;
     }
 
     /**
      * Checks if room is currently occupied by a guest.
      */
     public boolean isOccupied() {
-        return state == RoomState.OCCUPIED;
+        return getState() == RoomState.OCCUPIED;
     }
 
     /**
@@ -72,13 +78,21 @@ public class Room {
      * This is called when a customer makes a reservation.
      */
     public void bookRoom() {
-        if (!isFree()) {
+        if (!tryBookRoom()) {
             String errorMsg = String.format(
                     "Cannot book room %d - current state is %s (must be FREE)",
-                    number, state);
+                    number, getState());
             throw new HotelException(errorMsg);
         }
-        this.state = RoomState.RESERVED;
+    }
+
+    /**
+     * Atomically books the room if it is FREE.
+     * Returns false instead of throwing when another caller got there first,
+     * so the caller can move on to another room.
+     */
+    public boolean tryBookRoom() {
+        return occupancy.compareAndSet(FREE, RESERVED);
     }
 
     /**
@@ -86,13 +100,19 @@ public class Room {
      * This is called when a customer cancels their reservation.
      */
     public void cancelBooking() {
-        if (!isBooked()) {
+        if (!tryCancelBooking()) {
             String errorMsg = String.format(
                     "Cannot cancel room %d - current state is %s (must be RESERVED)",
-                    number, state);
+                    number, getState());
             throw new HotelException(errorMsg);
         }
-        this.state = RoomState.FREE;
+    }
+
+    /**
+     * Atomically frees the room if it is RESERVED.
+     */
+    public boolean tryCancelBooking() {
+        return occupancy.compareAndSet(RESERVED, FREE);
     }
 
     /**
@@ -104,8 +124,23 @@ public class Room {
     public void checkInGuest(Guest guest) {
         validateGuestForCheckIn(guest);
 
-        this.state = RoomState.OCCUPIED;
-        this.occupant = guest;
+        if (!tryCheckInGuest(guest)) {
+            String errorMsg = String.format(
+                    "Cannot check in to room %d - state changed to %s during check-in",
+                    number, getState());
+            throw new HotelException(errorMsg);
+        }
+    }
+
+    /**
+     * Atomically checks in a guest if the room is RESERVED.
+     * The guest is published together with the new state.
+     */
+    public boolean tryCheckInGuest(Guest guest) {
+        if (guest == null) {
+            return false;
+        }
+        return occupancy.compareAndSet(RESERVED, new Occupancy(RoomState.OCCUPIED, guest));
     }
 
     /**
@@ -115,7 +150,7 @@ public class Room {
         if (!isBooked()) {
             String errorMsg = String.format(
                     "Cannot check in to room %d - must have a reservation first (current state: %s)",
-                    number, state);
+                    number, getState());
             throw new HotelException(errorMsg);
         }
         if (guest == null) {
@@ -128,14 +163,26 @@ public class Room {
      * This is called when a guest leaves the hotel.
      */
     public void checkOutGuest() {
-        if (!isOccupied()) {
+        if (!tryCheckOutGuest()) {
             String errorMsg = String.format(
                     "Cannot check out from room %d - no guest is currently staying (current state: %s)",
-                    number, state);
+                    number, getState());
             throw new HotelException(errorMsg);
         }
-        this.state = RoomState.FREE;
-        this.occupant = null;
+    }
+
+    /**
+     * Atomically checks out the current guest if the room is OCCUPIED.
+     */
+    public boolean tryCheckOutGuest() {
+        Occupancy current = occupancy.get();
+        while (current.state == RoomState.OCCUPIED) {
+            if (occupancy.compareAndSet(current, FREE)) {
+                return true;
+            }
+            current = occupancy.get();
+        }
+        return false;
     }
 
     @Override
@@ -154,4 +201,17 @@ public class Room {
     public int hashCode() {
         return Objects.hash(number);
     }
+
+    /**
+     * Room state and occupant, swapped together as one value.
+     */
+    private static final class Occupancy {
+        private final RoomState state;
+        private final Guest occupant;
+
+        private Occupancy(RoomState state, Guest occupant) {
+            this.state = state;
+            this.occupant = occupant;
+        }
+    }
 }
@@ -0,0 +1,268 @@
+package com.hotel.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomState;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Compact binary snapshot of a hotel chain: hotels, rooms with their state
+ * and occupant, reservations and customers.
+ *
+ * Snapshots are fuzzy: writers keep going while one is taken, and the
+ * chain's journal fills in what happened meanwhile (see
+ * {@link RestorePoint}). On restore the file is memory-mapped and every
+ * hotel, which has its own length-prefixed section, is rebuilt in
+ * parallel.
+ *
+ * Layout: magic, version, journal position, chain name, payer table,
+ * then the hotel sections. Each section starts with the hotel's name and
+ * the last reservation number it handed out, so numbers of reservations
+ * cancelled before the snapshot are not handed out again. Reservations refer to payers by their index in
+ * the table and carry the nightly rates they locked in, if any. Cards are
+ * stored as their masked number.
+ */
+public final class ChainSnapshot {
+    private static final int MAGIC = 0x48534E50;
+    // Restore reads this version only; until snapshots are released the layout changes in place
+    private static final int VERSION = 1;
+
+    private ChainSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the chain to path, replacing any earlier one.
+     * The journal, if given, must be the one the chain writes its changes
+     * to; it is synced so the snapshot never gets ahead of it. Once the
+     * snapshot is in place, the journal segments it covers are deleted, so
+     * the journal alone no longer holds the whole history.
+     */
+    public static void write(HotelChain chain, Journal journal, Path path) throws IOException {
+        if (chain == null) {
+            throw new IllegalArgumentException("Hotel chain is required");
+        }
+        long journalPosition = journal == null ? 0 : journal.getAppendedPosition();
+        Map<ReserverPayer, Integer> payerIndexes = new IdentityHashMap<>();
+        List<ReserverPayer> payers = new ArrayList<>();
+        for (ReserverPayer customer : chain.getCustomers()) {
+            if (payerIndexes.putIfAbsent(customer, payers.size()) == null) {
+                payers.add(customer);
+            }
+        }
+        int customerCount = payers.size();
+
+        List<byte[]> sections = new ArrayList<>();
+        for (Hotel hotel : chain.getHotels()) {
+            sections.add(writeHotel(hotel, journal, payerIndexes, payers));
+        }
+        if (journal != null) {
+            journal.sync();
+        }
+
+        RecordWriter file = new RecordWriter()
+                .writeInt(MAGIC)
+                .writeInt(VERSION)
+                .writeLong(journalPosition)
+                .writeString(chain.getName())
+                .writeInt(payers.size());
+        for (int i = 0; i < payers.size(); i++) {
+            file.writePayer(payers.get(i)).writeByte(i < customerCount ? 1 : 0);
+        }
+        file.writeInt(sections.size());
+        for (byte[] section : sections) {
+            file.writeInt(section.length).writeBytes(section);
+        }
+        writeAtomically(path, file.toByteArray());
+        if (journal != null) {
+            journal.deleteSegmentsBefore(journalPosition);
+        }
+    }
+
+    /**
+     * Writes one hotel's section. Every room type is written under its lock,
+     * together with the journal position at that moment.
+     */
+    private static byte[] writeHotel(Hotel hotel, Journal journal, Map<ReserverPayer, Integer> payerIndexes,
+            List<ReserverPayer> payers) {
+        RecordWriter types = new RecordWriter();
+        int[] typeCount = new int[1];
+        hotel.forEachRoomType((roomType, rooms, reservations) -> {
+            typeCount[0]++;
+            types.writeLong(journal == null ? 0 : journal.getAppendedPosition())
+                    .writeRoomType(roomType)
+                    .writeInt(rooms.size());
+            for (Room room : rooms) {
+                types.writeInt(room.getNumber()).writeByte(room.getState().ordinal());
+                if (room.getState() == RoomState.OCCUPIED) {
+                    types.writeGuest(room.getOccupant());
+                }
+            }
+            types.writeInt(reservations.size());
+            for (Reservation reservation : reservations) {
+                Integer payerIndex = payerIndexes.get(reservation.getPayer());
+                if (payerIndex == null) {
+                    payerIndex = payers.size();
+                    payerIndexes.put(reservation.getPayer(), payerIndex);
+                    payers.add(reservation.getPayer());
+                }
+                types.writeInt(reservation.getReservationNumber())
+                        .writeInt(reservation.getRoom().getNumber())
+                        .writeDate(reservation.getStartDate())
+                        .writeDate(reservation.getEndDate())
+                        .writeInt(payerIndex)
+                        .writeNightlyRates(reservation);
+            }
+        });
+        // Read after the room types so it covers every reservation written above
+        return new RecordWriter()
+                .writeString(hotel.getName())
+                .writeInt(hotel.getLastIssuedReservationNumber())
+                .writeInt(typeCount[0])
+                .writeBytes(types.toByteArray())
+                .toByteArray();
+    }
+
+    private static void writeAtomically(Path path, byte[] contents) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores a chain from a snapshot alone.
+     */
+    public static HotelChain restore(Path snapshot) throws IOException {
+        return restore(snapshot, null);
+    }
+
+    /**
+     * Restores a chain from a snapshot and then replays the part of the
+     * journal, given by its directory, that the snapshot does not cover.
+     * Open the journal for writing only after the restore.
+     */
+    public static HotelChain restore(Path snapshot, Path journal) throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + channel.size() + " bytes");
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        RecordReader header = new RecordReader(file);
+        if (header.readInt() != MAGIC) {
+            throw new IOException(snapshot + " is not a hotel chain snapshot");
+        }
+        int version = header.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long journalPosition = header.readLong();
+        HotelChain chain = new HotelChain(header.readString());
+
+        ReserverPayer[] payers = new ReserverPayer[header.readInt()];
+        for (int i = 0; i < payers.length; i++) {
+            ReserverPayer payer = header.readPayer();
+            boolean customer = header.readByte() == 1;
+            payers[i] = customer
+                    ? chain.createReserverPayer(payer.getId(), payer.getCreditCardDetails())
+                    : payer;
+        }
+        RestorePoint restorePoint = new RestorePoint(journalPosition, List.of(payers));
+
+        int hotelCount = header.readInt();
+        List<ByteBuffer> sections = new ArrayList<>(hotelCount);
+        List<Hotel> hotels = new ArrayList<>(hotelCount);
+        for (int i = 0; i < hotelCount; i++) {
+            int length = file.getInt();
+            ByteBuffer section = file.slice(file.position(), length);
+            file.position(file.position() + length);
+            hotels.add(chain.createHotel(new RecordReader(section.duplicate()).readString()));
+            sections.add(section);
+        }
+
+        IntStream.range(0, hotelCount).parallel()
+                .forEach(i -> restoreHotel(hotels.get(i), sections.get(i), payers, restorePoint));
+
+        if (journal != null) {
+            JournalReplayer.replay(journal, chain, restorePoint);
+        }
+        return chain;
+    }
+
+    /**
+     * Rebuilds one hotel from its section. Room states are reached through
+     * the rooms' normal transitions.
+     */
+    private static void restoreHotel(Hotel hotel, ByteBuffer section, ReserverPayer[] payers,
+            RestorePoint restorePoint) {
+        RecordReader reader = new RecordReader(section);
+        reader.readString();
+        int lastIssuedNumber = reader.readInt();
+        int typeCount = reader.readInt();
+        List<Room> rooms = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        Map<Integer, Room> roomsByNumber = new HashMap<>();
+        for (int t = 0; t < typeCount; t++) {
+            long cut = reader.readLong();
+            RoomType roomType = reader.readRoomType();
+            restorePoint.addCut(hotel, roomType, cut);
+            int roomCount = reader.readInt();
+            for (int r = 0; r < roomCount; r++) {
+                Room room = new Room(reader.readInt(), roomType);
+                RoomState state = RoomState.values()[reader.readByte()];
+                if (state != RoomState.FREE) {
+                    room.bookRoom();
+                }
+                if (state == RoomState.OCCUPIED) {
+                    Guest occupant = reader.readGuest();
+                    room.checkInGuest(occupant);
+                }
+                rooms.add(room);
+                roomsByNumber.put(room.getNumber(), room);
+            }
+            int reservationCount = reader.readInt();
+            for (int r = 0; r < reservationCount; r++) {
+                int number = reader.readInt();
+                Room room = roomsByNumber.get(reader.readInt());
+                if (room == null) {
+                    throw new HotelException("Snapshot of " + hotel.getName() + " has a reservation for an unknown room");
+                }
+                LocalDate startDate = reader.readDate();
+                LocalDate endDate = reader.readDate();
+                ReserverPayer payer = payers[reader.readInt()];
+                List<Money> nightlyRates = reader.readNightlyRates();
+                reservations.add(new Reservation(number, startDate, endDate, payer, room, nightlyRates));
+            }
+        }
+        hotel.restore(rooms, reservations, lastIssuedNumber);
+    }
+}
@@ -0,0 +1,476 @@
+package com.hotel.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of length-prefixed, checksummed records.
+ * Each record is [payload length][CRC32C of payload][payload].
+ *
+ * Appends only copy the record into memory. {@link #sync(long)} writes and
+ * forces everything appended so far, so while one thread waits for the
+ * disk, records appended by others pile up and go out with the next force:
+ * many writers share one fsync (group commit).
+ *
+ * A position in the journal doubles as a log sequence number: a record is
+ * durable once the durable position has reached the end of it.
+ *
+ * The journal is a directory of segment files, each named after the
+ * position of its first record. Once the current segment reaches the
+ * segment size, the next sync starts a new one (or a later sync, if the
+ * file cannot be created then), so no file grows without bound, and segments a snapshot already covers can be deleted (see
+ * {@link ChainSnapshot#write}). Records never span segments.
+ *
+ * If writing or forcing a batch fails, the disk can no longer be trusted
+ * to hold what was written, so the journal is marked failed: the unsynced
+ * records stay queued in memory, the file is cut back to the last durable
+ * record, and every later append or sync throws. See {@link #getFailure()}.
+ */
+public class Journal implements AutoCloseable {
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final long MAX_MAPPED_BYTES = Integer.MAX_VALUE;
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+    // Start positions of the segments on disk, oldest first; guarded by the sync lock
+    private final List<Long> segmentStarts;
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long appendedPosition;
+    private volatile long durablePosition;
+    private volatile IOException failure;
+
+    private Journal(Path directory, long segmentBytes, List<Long> segmentStarts, FileChannel channel, long end) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.segmentStarts = segmentStarts;
+        this.channel = channel;
+        this.appendedPosition = end;
+        this.durablePosition = end;
+    }
+
+    /**
+     * Opens the journal in the given directory for appending, creating it
+     * if needed, with segments of {@link #DEFAULT_SEGMENT_BYTES}.
+     */
+    public static Journal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens the journal in the given directory for appending, starting a
+     * new segment whenever the current one holds at least segmentBytes.
+     * A torn record at the end, left by a crash during a write, is cut off.
+     */
+    public static Journal open(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        Files.createDirectories(directory);
+        List<Long> starts = segmentStarts(directory);
+        boolean created = starts.isEmpty();
+        if (created) {
+            starts.add(0L);
+        }
+        long lastStart = starts.get(starts.size() - 1);
+        FileChannel channel = FileChannel.open(segmentPath(directory, lastStart), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (created) {
+                forceDirectory(directory);
+            }
+            long end = scan(channel, lastStart, 0, (recordEnd, payload) -> { }, MAX_MAPPED_BYTES);
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+            return new Journal(directory, segmentBytes, starts, channel, lastStart + end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Passes the payload of every complete record in the journal in the
+     * given directory to the consumer, in order. Stops at the first torn or
+     * corrupt record. Returns the position just past the last record read.
+     */
+    public static long read(Path directory, Consumer<ByteBuffer> consumer) throws IOException {
+        return read(directory, 0, (end, payload) -> consumer.accept(payload));
+    }
+
+    /**
+     * Like {@link #read(Path, Consumer)}, starting at a record boundary,
+     * e.g. the position a snapshot was taken at. Each payload is passed
+     * with the position just past its record. Segments are read one at a
+     * time. Fails if the segments holding fromPosition were already deleted.
+     */
+    public static long read(Path directory, long fromPosition, RecordConsumer consumer) throws IOException {
+        return read(directory, fromPosition, consumer, MAX_MAPPED_BYTES);
+    }
+
+    /**
+     * Reads the journal mapping at most mappedBytes of a segment at a time.
+     */
+    static long read(Path directory, long fromPosition, RecordConsumer consumer, long mappedBytes)
+            throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return fromPosition;
+        }
+        List<Long> starts = segmentStarts(directory);
+        if (starts.isEmpty()) {
+            return fromPosition;
+        }
+        if (fromPosition < starts.get(0)) {
+            throw new IOException("Journal " + directory + " no longer holds the records before position "
+                    + starts.get(0) + "; they were covered by a snapshot");
+        }
+        long position = fromPosition;
+        for (int i = 0; i < starts.size(); i++) {
+            long start = starts.get(i);
+            boolean last = i == starts.size() - 1;
+            if (!last && starts.get(i + 1) <= fromPosition) {
+                continue;
+            }
+            try (FileChannel segment = FileChannel.open(segmentPath(directory, start), StandardOpenOption.READ)) {
+                long end = scan(segment, start, Math.max(fromPosition - start, 0), consumer, mappedBytes);
+                position = start + end;
+                if (end < segment.size()) {
+                    // A torn or corrupt record: nothing after it can be trusted
+                    return position;
+                }
+            }
+            if (!last && position != starts.get(i + 1)) {
+                return position;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Reads the records of one segment starting at offset, mapping at most
+     * mappedBytes at a time. Returns the offset just past the last good record.
+     */
+    private static long scan(FileChannel segment, long segmentStart, long offset, RecordConsumer consumer,
+            long mappedBytes) throws IOException {
+        long size = segment.size();
+        CRC32C crc = new CRC32C();
+        while (size - offset >= HEADER_BYTES) {
+            MappedByteBuffer window = segment.map(FileChannel.MapMode.READ_ONLY, offset,
+                    Math.min(size - offset, mappedBytes));
+            int position = 0;
+            boolean stop = false;
+            while (window.limit() - position >= HEADER_BYTES) {
+                int length = window.getInt(position);
+                int expectedChecksum = window.getInt(position + 4);
+                if (length < 0 || length > window.limit() - position - HEADER_BYTES) {
+                    // Either torn, or it runs past this window and is read from the next one
+                    long recordEnd = offset + position + HEADER_BYTES + (long) length;
+                    stop = length < 0 || recordEnd > size || position == 0;
+                    break;
+                }
+                ByteBuffer payload = window.slice(position + HEADER_BYTES, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != expectedChecksum) {
+                    stop = true;
+                    break;
+                }
+                position += HEADER_BYTES + length;
+                consumer.accept(segmentStart + offset + position, payload.asReadOnlyBuffer());
+            }
+            offset += position;
+            if (stop || position == 0) {
+                break;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the start positions of the segments in the directory, in order.
+     */
+    private static List<Long> segmentStarts(Path directory) throws IOException {
+        List<Long> starts = new ArrayList<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                try {
+                    starts.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Unexpected file in journal " + directory + ": " + name, e);
+                }
+            }
+        }
+        Collections.sort(starts);
+        return starts;
+    }
+
+    static Path segmentPath(Path directory, long start) {
+        return directory.resolve(String.format("%020d%s", start, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Returns the journal's directory.
+     */
+    public Path getPath() {
+        return directory;
+    }
+
+    /**
+     * Adds a record to the journal. The record is not durable until a
+     * sync covers the returned position.
+     */
+    public long append(byte[] payload) {
+        appendLock.lock();
+        try {
+            if (failure != null) {
+                throw new IllegalStateException("Journal " + directory + " failed and takes no more records", failure);
+            }
+            int recordBytes = HEADER_BYTES + payload.length;
+            if (pending.remaining() < recordBytes) {
+                pending = grow(pending, recordBytes);
+            }
+            checksum.reset();
+            checksum.update(payload);
+            pending.putInt(payload.length);
+            pending.putInt((int) checksum.getValue());
+            pending.put(payload);
+            appendedPosition += recordBytes;
+            return appendedPosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the position just past the last appended record.
+     */
+    public long getAppendedPosition() {
+        appendLock.lock();
+        try {
+            return appendedPosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the position up to which records are known to be on disk.
+     */
+    public long getDurablePosition() {
+        return durablePosition;
+    }
+
+    /**
+     * Makes every record appended so far durable.
+     */
+    public void sync() throws IOException {
+        sync(getAppendedPosition());
+    }
+
+    /**
+     * Makes the journal durable at least up to position. Callers that
+     * arrive while another thread is forcing wait for it, and the first of
+     * them then forces everything appended in the meantime in one go.
+     */
+    public void sync(long position) throws IOException {
+        if (durablePosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durablePosition >= position) {
+                return;
+            }
+            if (failure != null) {
+                throw new IOException("Journal " + directory + " failed earlier", failure);
+            }
+            ByteBuffer batch;
+            long target;
+            appendLock.lock();
+            try {
+                batch = pending;
+                pending = spare;
+                target = appendedPosition;
+            } finally {
+                appendLock.unlock();
+            }
+            batch.flip();
+            try {
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            } catch (IOException | RuntimeException e) {
+                fail(batch, e);
+                throw e;
+            }
+            durablePosition = target;
+            batch.clear();
+            spare = batch;
+            if (target - segmentStarts.get(segmentStarts.size() - 1) >= segmentBytes) {
+                try {
+                    startSegment(target);
+                } catch (IOException e) {
+                    // The caller's records are durable either way; the current segment
+                    // takes the next batch too, and the next sync tries to roll again
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the journal failed after a batch could not be made durable. The
+     * batch goes back in front of the records appended since, and the file
+     * is cut back to the last durable record, so it never holds records
+     * that were not acknowledged. Callers must hold the sync lock.
+     */
+    private void fail(ByteBuffer batch, Exception cause) {
+        appendLock.lock();
+        try {
+            batch.position(0);
+            pending.flip();
+            ByteBuffer unsynced = ByteBuffer.allocate(batch.limit() + pending.limit() + INITIAL_BUFFER_BYTES);
+            unsynced.put(batch).put(pending);
+            pending = unsynced;
+            failure = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } finally {
+            appendLock.unlock();
+        }
+        long durableEnd = durablePosition - segmentStarts.get(segmentStarts.size() - 1);
+        try {
+            channel.truncate(durableEnd);
+            channel.position(durableEnd);
+        } catch (IOException e) {
+            // The channel may be closed already; the torn tail is cut off when the journal is opened again
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Returns why the journal failed, or null while it is healthy. A
+     * {@link JournalWriter} rejects every change once its journal has
+     * failed, until the hotel is restarted from its snapshot and journal.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Switches appends to a new segment starting at position, which must
+     * be durable. If the segment cannot be created, appends stay on the
+     * current one. Callers must hold the sync lock.
+     */
+    private void startSegment(long position) throws IOException {
+        FileChannel next = FileChannel.open(segmentPath(directory, position), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel previous = channel;
+        channel = next;
+        segmentStarts.add(position);
+        forceDirectory(directory);
+        try {
+            previous.close();
+        } catch (IOException e) {
+            // Everything in the previous segment is durable already
+        }
+    }
+
+    /**
+     * Deletes the segments that hold only records before position, e.g.
+     * the start of a snapshot that covers them. The current segment is
+     * always kept. Returns the number of segments deleted.
+     */
+    int deleteSegmentsBefore(long position) throws IOException {
+        syncLock.lock();
+        try {
+            int deleted = 0;
+            while (segmentStarts.size() > 1 && segmentStarts.get(1) <= position) {
+                Files.deleteIfExists(segmentPath(directory, segmentStarts.remove(0)));
+                deleted++;
+            }
+            if (deleted > 0) {
+                forceDirectory(directory);
+            }
+            return deleted;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Makes segment creations and deletions durable where the platform
+     * allows forcing a directory.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory; the entries become durable with the file system
+        }
+    }
+
+    /**
+     * Syncs outstanding records and closes the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            syncLock.lock();
+            try {
+                channel.close();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < needed) {
+            capacity *= 2;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Receives the records of a journal being read.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long endPosition, ByteBuffer payload);
+    }
+}
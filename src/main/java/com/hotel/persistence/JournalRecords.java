@@ -0,0 +1,29 @@
+package com.hotel.persistence;
+
+/**
+ * Record types of the journal.
+ * Every record starts with its type byte and the hotel name; records about
+ * a room continue with its number.
+ *
+ * Cards are written as their masked number only, so replayed payers carry
+ * masked cards. Reservations carry the nightly rates they locked in, so
+ * replay never prices a stay again.
+ */
+final class JournalRecords {
+    static final byte HOTEL_ADDED = 1;
+    static final byte ROOM_ADDED = 2;
+    static final byte RESERVATION_CREATED = 3;
+    static final byte RESERVATION_CANCELLED = 4;
+    static final byte GUEST_CHECKED_IN = 5;
+    static final byte GUEST_CHECKED_OUT = 6;
+
+    private JournalRecords() {
+    }
+
+    /**
+     * Starts a journal record of the given type about the named hotel.
+     */
+    static RecordWriter start(byte type, String hotelName) {
+        return new RecordWriter().writeByte(type).writeString(hotelName);
+    }
+}
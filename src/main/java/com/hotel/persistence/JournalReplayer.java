@@ -0,0 +1,145 @@
+package com.hotel.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Identity;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Rebuilds hotels from a journal written by {@link JournalWriter}.
+ * Replay the journal before registering a new writer, otherwise the
+ * replayed changes are journaled a second time.
+ */
+public class JournalReplayer {
+    private final Function<String, Hotel> hotelAdded;
+    private final Function<String, Hotel> hotelLookup;
+    private final BiFunction<Identity, CreditCard, ReserverPayer> payerFactory;
+    private final RestorePoint restorePoint;
+    private final Map<List<Object>, ReserverPayer> payers = new HashMap<>();
+    private int replayed;
+
+    private JournalReplayer(Function<String, Hotel> hotelAdded, Function<String, Hotel> hotelLookup,
+            BiFunction<Identity, CreditCard, ReserverPayer> payerFactory, RestorePoint restorePoint) {
+        this.hotelAdded = hotelAdded;
+        this.hotelLookup = hotelLookup;
+        this.payerFactory = payerFactory;
+        this.restorePoint = restorePoint;
+        for (ReserverPayer payer : restorePoint.getPayers()) {
+            payers.putIfAbsent(payerKey(payer), payer);
+        }
+    }
+
+    /**
+     * Replays a chain's journal, creating its hotels and customers.
+     * Hotels the chain already has are reused.
+     * Returns the number of records replayed.
+     */
+    public static int replay(Path path, HotelChain chain) throws IOException {
+        return replay(path, chain, RestorePoint.NONE);
+    }
+
+    /**
+     * Replays the records of a chain's journal that a snapshot restored into
+     * the chain does not already cover, reusing the snapshot's payers.
+     */
+    static int replay(Path path, HotelChain chain, RestorePoint restorePoint) throws IOException {
+        if (chain == null) {
+            throw new IllegalArgumentException("Hotel chain is required");
+        }
+        JournalReplayer replayer = new JournalReplayer(
+                name -> chain.hasHotel(name) ? null : chain.createHotel(name),
+                chain::getHotel,
+                chain::createReserverPayer,
+                restorePoint);
+        return replayer.replay(path);
+    }
+
+    /**
+     * Replays the records of a single hotel's journal into it. Records of
+     * other hotels are skipped.
+     * Returns the number of records replayed.
+     */
+    public static int replay(Path path, Hotel hotel) throws IOException {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        JournalReplayer replayer = new JournalReplayer(
+                name -> null,
+                name -> hotel.getName().equalsIgnoreCase(name) ? hotel : null,
+                ReserverPayer::new,
+                RestorePoint.NONE);
+        return replayer.replay(path);
+    }
+
+    private int replay(Path path) throws IOException {
+        Journal.read(path, restorePoint.getJournalPosition(), this::apply);
+        return replayed;
+    }
+
+    private void apply(long endPosition, ByteBuffer payload) {
+        RecordReader record = new RecordReader(payload);
+        byte type = record.readByte();
+        String hotelName = record.readString();
+        if (type == JournalRecords.HOTEL_ADDED) {
+            hotelAdded.apply(hotelName);
+            replayed++;
+            return;
+        }
+        Hotel hotel = hotelLookup.apply(hotelName);
+        if (hotel == null) {
+            return;
+        }
+        int roomNumber = record.readInt();
+        Optional<Room> room = hotel.findRoom(roomNumber);
+        if (room.isPresent() && restorePoint.covers(hotel, room.get().getRoomType(), endPosition)) {
+            return;
+        }
+        switch (type) {
+            case JournalRecords.ROOM_ADDED -> {
+                RoomType roomType = record.readRoomType();
+                if (room.isPresent()) {
+                    // Rooms are never removed, so an existing room was added before the snapshot
+                    return;
+                }
+                hotel.addRoom(new Room(roomNumber, roomType));
+            }
+            case JournalRecords.RESERVATION_CREATED -> {
+                int reservationNumber = record.readInt();
+                hotel.restoreReservation(reservationNumber, roomNumber, record.readDate(), record.readDate(),
+                        payerOf(record), record.readNightlyRates());
+            }
+            case JournalRecords.RESERVATION_CANCELLED -> hotel.cancelReservation(record.readInt());
+            case JournalRecords.GUEST_CHECKED_IN -> hotel.checkInGuest(roomNumber, record.readGuest());
+            case JournalRecords.GUEST_CHECKED_OUT -> hotel.checkOutGuest(roomNumber);
+            default -> throw new HotelException("Unknown journal record type " + type);
+        }
+        replayed++;
+    }
+
+    /**
+     * Reads a payer, reusing the one already created for the same identity and card.
+     */
+    private ReserverPayer payerOf(RecordReader record) {
+        ReserverPayer payer = record.readPayer();
+        return payers.computeIfAbsent(payerKey(payer),
+                key -> payerFactory.apply(payer.getId(), payer.getCreditCardDetails()));
+    }
+
+    private static List<Object> payerKey(ReserverPayer payer) {
+        return List.of(payer.getId(), payer.getCreditCardDetails());
+    }
+}
@@ -0,0 +1,128 @@
+package com.hotel.persistence;
+
+import java.io.IOException;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.HotelEventListener;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.exception.HotelException;
+
+/**
+ * Writes the changes of a hotel or chain to a journal.
+ * Each change is appended while the hotel holds its lock, so the journal
+ * keeps the order of changes to each room. The operation then waits,
+ * without holding any hotel lock, until its records are on disk; waiting
+ * operations share fsyncs through the journal's group commit. A hotel
+ * run by a {@link com.hotel.core.HotelEventLoop} waits once per batch.
+ *
+ * Register the writer before adding rooms or hotels: only changes made
+ * after registration are journaled.
+ *
+ * A change is made in memory before its records reach the disk. If they
+ * cannot be made durable, the operation fails with a HotelException even
+ * though the change was made, and the journal is marked failed (see
+ * {@link Journal#getFailure()}). From then on the writer rejects every
+ * change before it is made, so the hotel never gets ahead of the journal
+ * by more than the failed operations. Restart the hotel from its snapshot
+ * and journal to take changes again.
+ */
+public class JournalWriter implements HotelEventListener {
+    private final Journal journal;
+
+    public JournalWriter(Journal journal) {
+        if (journal == null) {
+            throw new IllegalArgumentException("Journal is required");
+        }
+        this.journal = journal;
+    }
+
+    /**
+     * Rejects the change if the journal has failed.
+     */
+    @Override
+    public void beforeChange(Hotel hotel) {
+        IOException failure = journal.getFailure();
+        if (failure != null) {
+            throw new HotelException("Journal has failed; " + hotel.getName() + " takes no more changes", failure);
+        }
+    }
+
+    @Override
+    public void hotelAdded(HotelChain chain, Hotel hotel) {
+        append(JournalRecords.start(JournalRecords.HOTEL_ADDED, hotel.getName()));
+    }
+
+    @Override
+    public void roomAdded(Hotel hotel, Room room) {
+        append(JournalRecords.start(JournalRecords.ROOM_ADDED, hotel.getName())
+                .writeInt(room.getNumber())
+                .writeRoomType(room.getRoomType()));
+    }
+
+    @Override
+    public void reservationCreated(Hotel hotel, Reservation reservation) {
+        append(JournalRecords.start(JournalRecords.RESERVATION_CREATED, hotel.getName())
+                .writeInt(reservation.getRoom().getNumber())
+                .writeInt(reservation.getReservationNumber())
+                .writeDate(reservation.getStartDate())
+                .writeDate(reservation.getEndDate())
+                .writePayer(reservation.getPayer())
+                .writeNightlyRates(reservation));
+    }
+
+    @Override
+    public void reservationCancelled(Hotel hotel, Reservation reservation) {
+        append(JournalRecords.start(JournalRecords.RESERVATION_CANCELLED, hotel.getName())
+                .writeInt(reservation.getRoom().getNumber())
+                .writeInt(reservation.getReservationNumber()));
+    }
+
+    @Override
+    public void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+        append(JournalRecords.start(JournalRecords.GUEST_CHECKED_IN, hotel.getName())
+                .writeInt(room.getNumber())
+                .writeGuest(guest));
+    }
+
+    @Override
+    public void guestCheckedOut(Hotel hotel, Room room) {
+        append(JournalRecords.start(JournalRecords.GUEST_CHECKED_OUT, hotel.getName())
+                .writeInt(room.getNumber()));
+    }
+
+    /**
+     * Waits until every change appended so far is on disk, failing the
+     * operation if it cannot be written.
+     */
+    @Override
+    public void afterChange(Hotel hotel) {
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            throw new HotelException("Changes to " + hotel.getName() + " could not be journaled", e);
+        }
+    }
+
+    /**
+     * Returns why the journal failed, or null while changes are journaled.
+     */
+    public IOException getFailure() {
+        return journal.getFailure();
+    }
+
+    /**
+     * Appends a record while the hotel holds its lock. If the journal
+     * failed since the change was let through, the record is dropped here
+     * and the failure reaches the caller through {@link #afterChange}.
+     */
+    private void append(RecordWriter record) {
+        try {
+            journal.append(record.toByteArray());
+        } catch (IllegalStateException failed) {
+            // The journal failed after beforeChange; afterChange reports it
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.hotel.persistence;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Money;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+/**
+ * Reads the fields of a record written by {@link RecordWriter}, in the
+ * order they were written.
+ */
+final class RecordReader {
+    private final ByteBuffer payload;
+
+    RecordReader(ByteBuffer payload) {
+        this.payload = payload;
+    }
+
+    byte readByte() {
+        return payload.get();
+    }
+
+    int readInt() {
+        return payload.getInt();
+    }
+
+    String readString() {
+        byte[] utf8 = new byte[payload.getInt()];
+        payload.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    long readLong() {
+        return payload.getLong();
+    }
+
+    LocalDate readDate() {
+        return LocalDate.ofEpochDay(payload.getLong());
+    }
+
+    RoomType readRoomType() {
+        RoomKind kind = RoomKind.valueOf(readString());
+        BigDecimal amount = new BigDecimal(readString());
+        Currency currency = Money.currency(readString());
+        return new RoomType(kind, new Money(amount, currency));
+    }
+
+    /**
+     * Reads nightly rates written by {@link RecordWriter#writeNightlyRates},
+     * returning null for a reservation at the room type's rate.
+     */
+    List<Money> readNightlyRates() {
+        int count = readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<Money> rates = new ArrayList<>(count);
+        if (count > 0) {
+            Currency currency = Money.currency(readString());
+            for (int i = 0; i < count; i++) {
+                rates.add(new Money(new BigDecimal(readString()), currency));
+            }
+        }
+        return rates;
+    }
+
+    Identity readIdentity() {
+        return new Identity(readString(), readString());
+    }
+
+    ReserverPayer readPayer() {
+        Identity identity = readIdentity();
+        return new ReserverPayer(identity, CreditCard.fromMaskedNumber(readString()));
+    }
+
+    Guest readGuest() {
+        String name = readString();
+        Address address = new Address(readString(), readString(), readString());
+        Identity identity = readByte() == 0 ? null : readIdentity();
+        return new Guest(name, address, identity);
+    }
+}
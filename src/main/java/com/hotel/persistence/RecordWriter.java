@@ -0,0 +1,131 @@
+package com.hotel.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotel.domain.Address;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomType;
+
+/**
+ * Builds a binary record field by field. Strings are UTF-8 with an int
+ * length prefix, dates are epoch days.
+ */
+final class RecordWriter {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    RecordWriter() {
+    }
+
+    RecordWriter writeByte(int value) {
+        try {
+            out.writeByte(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    RecordWriter writeInt(int value) {
+        try {
+            out.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    RecordWriter writeString(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(utf8.length);
+        bytes.writeBytes(utf8);
+        return this;
+    }
+
+    RecordWriter writeLong(long value) {
+        try {
+            out.writeLong(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    RecordWriter writeBytes(byte[] value) {
+        bytes.writeBytes(value);
+        return this;
+    }
+
+    RecordWriter writeDate(LocalDate date) {
+        return writeLong(date.toEpochDay());
+    }
+
+    RecordWriter writeRoomType(RoomType roomType) {
+        writeString(roomType.getKind().name());
+        writeString(roomType.getCost().getAmount().toPlainString());
+        return writeString(roomType.getCost().getCurrency().getCurrencyCode());
+    }
+
+    /**
+     * Writes a reservation's locked-in nightly rates: their count, or -1
+     * when it uses the room type's rate, then the currency and amounts.
+     */
+    RecordWriter writeNightlyRates(Reservation reservation) {
+        if (!reservation.hasLockedRates()) {
+            return writeInt(-1);
+        }
+        List<Money> rates = reservation.getNightlyRates();
+        writeInt(rates.size());
+        if (!rates.isEmpty()) {
+            writeString(rates.get(0).getCurrency().getCurrencyCode());
+            for (Money rate : rates) {
+                writeString(rate.getAmount().toPlainString());
+            }
+        }
+        return this;
+    }
+
+    RecordWriter writeIdentity(Identity identity) {
+        writeString(identity.getType());
+        return writeString(identity.getIdNumber());
+    }
+
+    /**
+     * Writes a payer's identity and masked card number.
+     */
+    RecordWriter writePayer(ReserverPayer payer) {
+        writeIdentity(payer.getId());
+        return writeString(payer.getCreditCardDetails().getMaskedNumber());
+    }
+
+    RecordWriter writeGuest(Guest guest) {
+        writeString(guest.getName());
+        Address address = guest.getAddressDetails();
+        writeString(address.getStreet());
+        writeString(address.getCity());
+        writeString(address.getZipCode());
+        if (guest.getId() == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        return writeIdentity(guest.getId());
+    }
+
+    int size() {
+        return bytes.size();
+    }
+
+    byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+}
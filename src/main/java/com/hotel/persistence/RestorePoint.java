@@ -0,0 +1,58 @@
+package com.hotel.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hotel.core.Hotel;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomType;
+
+/**
+ * What a restored snapshot already contains, so the journal written after
+ * it can be replayed on top without applying a change twice.
+ *
+ * A snapshot is taken while writers keep going. Each room type is copied
+ * under its lock together with the journal position at that moment (its
+ * cut), so a record about a room of that type is in the snapshot exactly
+ * when it ends at or before the cut. Records are read from the position
+ * the snapshot started at, which is no later than any cut.
+ */
+final class RestorePoint {
+    static final RestorePoint NONE = new RestorePoint(0, List.of());
+
+    private final long journalPosition;
+    private final Collection<ReserverPayer> payers;
+    private final Map<Hotel, Map<RoomType, Long>> cuts = new ConcurrentHashMap<>();
+
+    RestorePoint(long journalPosition, Collection<ReserverPayer> payers) {
+        this.journalPosition = journalPosition;
+        this.payers = payers;
+    }
+
+    long getJournalPosition() {
+        return journalPosition;
+    }
+
+    /**
+     * Returns the payers restored from the snapshot.
+     */
+    Collection<ReserverPayer> getPayers() {
+        return payers;
+    }
+
+    void addCut(Hotel hotel, RoomType roomType, long position) {
+        cuts.computeIfAbsent(hotel, h -> new ConcurrentHashMap<>()).put(roomType, position);
+    }
+
+    /**
+     * Checks if the record ending at endPosition about a room of the given
+     * type is already part of the snapshot.
+     */
+    boolean covers(Hotel hotel, RoomType roomType, long endPosition) {
+        Map<RoomType, Long> hotelCuts = cuts.get(hotel);
+        Long cut = hotelCuts == null ? null : hotelCuts.get(roomType);
+        return cut != null && endPosition <= cut;
+    }
+}
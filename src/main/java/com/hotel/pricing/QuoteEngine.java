@@ -0,0 +1,307 @@
+package com.hotel.pricing;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelEventListener;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Prices stays for shoppers, who ask far more often than they book.
+ *
+ * Each hotel's cheapest room type per room kind is worked out once into a
+ * rate table, and recent quotes are kept in a size-bounded LRU cache. The
+ * cache's lock only guards reading and storing entries; stays are priced
+ * outside it, so a slow hotel never holds up quotes for the others. A
+ * hotel's table is dropped when a room is added to it, which also retires
+ * every quote priced from it. Under dynamic pricing a booking or
+ * cancellation only retires the quotes for its room kind that cover one of
+ * its nights; the nights themselves are read from the hotel's precomputed
+ * rates, never worked out per quote. Call {@link #invalidate} after changing rates any
+ * other way. Register the engine as a listener of the hotels or chain it
+ * quotes for, so it hears about these changes.
+ *
+ * Quotes say what a stay costs, not whether a room is free for it.
+ */
+public class QuoteEngine implements HotelEventListener {
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final Map<Hotel, RateTable> rateTables = new ConcurrentHashMap<>();
+    private final LinkedHashMap<QuoteKey, CachedQuote> cache;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+
+    public QuoteEngine() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public QuoteEngine(int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Quote cache size must be positive");
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QuoteKey, CachedQuote> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Prices a stay in the hotel's cheapest room of the given kind.
+     */
+    public StayQuote quote(Hotel hotel, LocalDate startDate, LocalDate endDate, RoomKind roomKind) {
+        validateStay(startDate, endDate, roomKind);
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        QuoteKey key = new QuoteKey(hotel, roomKind, Reservation.toEpochDay(startDate), Reservation.toEpochDay(endDate));
+        RateTable rates = rateTableOf(hotel);
+        long tick = rates.currentTick();
+        StayQuote quote;
+        cacheLock.lock();
+        try {
+            quote = currentQuote(key, rates);
+        } finally {
+            cacheLock.unlock();
+        }
+        if (quote == null) {
+            quote = price(key, rates, startDate, endDate);
+            if (quote == null) {
+                throw new HotelException("No " + roomKind + " rooms in " + hotel.getName());
+            }
+            publish(List.of(key), List.of(new CachedQuote(rates, tick, quote)));
+        }
+        return quote;
+    }
+
+    /**
+     * Prices the same stay in each of the given hotels, e.g. for a search
+     * results page. Quotes come back in hotel order; hotels without rooms
+     * of the kind are left out. The cache is locked once to look up the
+     * batch and once to store what had to be priced; pricing itself runs
+     * without it.
+     */
+    public List<StayQuote> quote(List<Hotel> hotels, LocalDate startDate, LocalDate endDate, RoomKind roomKind) {
+        validateStay(startDate, endDate, roomKind);
+        if (hotels == null) {
+            throw new IllegalArgumentException("Hotels cannot be null");
+        }
+        int startDay = Reservation.toEpochDay(startDate);
+        int endDay = Reservation.toEpochDay(endDate);
+        QuoteKey[] keys = new QuoteKey[hotels.size()];
+        RateTable[] tables = new RateTable[hotels.size()];
+        long[] ticks = new long[hotels.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Hotel hotel = hotels.get(i);
+            if (hotel == null) {
+                throw new IllegalArgumentException("Hotels cannot contain null");
+            }
+            keys[i] = new QuoteKey(hotel, roomKind, startDay, endDay);
+            tables[i] = rateTableOf(hotel);
+            ticks[i] = tables[i].currentTick();
+        }
+
+        StayQuote[] found = new StayQuote[keys.length];
+        cacheLock.lock();
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                found[i] = currentQuote(keys[i], tables[i]);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        List<QuoteKey> pricedKeys = new ArrayList<>();
+        List<CachedQuote> priced = new ArrayList<>();
+        List<StayQuote> quotes = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            StayQuote quote = found[i];
+            if (quote == null) {
+                quote = price(keys[i], tables[i], startDate, endDate);
+                if (quote == null) {
+                    continue;
+                }
+                pricedKeys.add(keys[i]);
+                priced.add(new CachedQuote(tables[i], ticks[i], quote));
+            }
+            quotes.add(quote);
+        }
+        publish(pricedKeys, priced);
+        return quotes;
+    }
+
+    private RateTable rateTableOf(Hotel hotel) {
+        return rateTables.computeIfAbsent(hotel, h -> new RateTable(h.getRooms()));
+    }
+
+    /**
+     * Returns the cached quote if it was priced from the hotel's current
+     * rate table and none of its nights was repriced since, or null.
+     * Callers must hold the cache lock.
+     */
+    private StayQuote currentQuote(QuoteKey key, RateTable rates) {
+        CachedQuote cached = cache.get(key);
+        if (cached == null || cached.rates != rates
+                || !rates.unchangedSince(cached.tick, key.roomKind, key.startDay, key.endDay)) {
+            return null;
+        }
+        return cached.quote;
+    }
+
+    /**
+     * Prices a stay from the hotel's current rates, or returns null if the
+     * hotel has no rooms of the kind. Reads the hotel's rates under its
+     * own lock, so callers must not hold the cache lock.
+     */
+    private static StayQuote price(QuoteKey key, RateTable rates, LocalDate startDate, LocalDate endDate) {
+        RoomType roomType = rates.cheapest(key.roomKind);
+        if (roomType == null) {
+            return null;
+        }
+        List<Money> nightlyRates = key.hotel.getNightlyRates(startDate, endDate, roomType);
+        return new StayQuote(key.hotel, key.roomKind, startDate, endDate,
+                nightlyRates, Money.sum(roomType.getCost().getCurrency(), nightlyRates));
+    }
+
+    /**
+     * Caches freshly priced quotes. A quote priced from a table that was
+     * dropped meanwhile is stored but never served.
+     */
+    private void publish(List<QuoteKey> keys, List<CachedQuote> quotes) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        cacheLock.lock();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                cache.put(keys.get(i), quotes.get(i));
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static void validateStay(LocalDate startDate, LocalDate endDate, RoomKind roomKind) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Stay dates cannot be null");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must be after or equal to start date");
+        }
+        if (roomKind == null) {
+            throw new IllegalArgumentException("Room kind cannot be null");
+        }
+    }
+
+    /**
+     * Drops the hotel's rate table, e.g. after its rates changed. Quotes
+     * priced from it are no longer served.
+     */
+    public void invalidate(Hotel hotel) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        rateTables.remove(hotel);
+    }
+
+    @Override
+    public void roomAdded(Hotel hotel, Room room) {
+        rateTables.remove(hotel);
+    }
+
+    @Override
+    public void reservationCreated(Hotel hotel, Reservation reservation) {
+        occupancyChanged(hotel, reservation);
+    }
+
+    @Override
+    public void reservationCancelled(Hotel hotel, Reservation reservation) {
+        occupancyChanged(hotel, reservation);
+    }
+
+    /**
+     * Retires the quotes a booking or cancellation repriced: those for its
+     * room kind covering one of its nights, if its room type is the one
+     * quoted for the kind.
+     */
+    private void occupancyChanged(Hotel hotel, Reservation reservation) {
+        if (hotel.getOccupancyCurve() == null) {
+            return;
+        }
+        RateTable rates = rateTables.get(hotel);
+        RoomType roomType = reservation.getRoom().getRoomType();
+        if (rates != null && roomType.equals(rates.cheapest(roomType.getKind()))) {
+            rates.repriced(roomType.getKind(), reservation.getStartDay(), reservation.getEndDay());
+        }
+    }
+
+    /**
+     * Returns how many quotes are cached, including ones no longer served.
+     */
+    public int getCachedQuoteCount() {
+        cacheLock.lock();
+        try {
+            return cache.size();
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static final class QuoteKey {
+        private final Hotel hotel;
+        private final RoomKind roomKind;
+        private final int startDay;
+        private final int endDay;
+
+        QuoteKey(Hotel hotel, RoomKind roomKind, int startDay, int endDay) {
+            this.hotel = hotel;
+            this.roomKind = roomKind;
+            this.startDay = startDay;
+            this.endDay = endDay;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof QuoteKey)) {
+                return false;
+            }
+            QuoteKey key = (QuoteKey) other;
+            return hotel == key.hotel && roomKind == key.roomKind
+                    && startDay == key.startDay && endDay == key.endDay;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(hotel);
+            hash = 31 * hash + roomKind.ordinal();
+            hash = 31 * hash + startDay;
+            return 31 * hash + endDay;
+        }
+    }
+
+    private static final class CachedQuote {
+        private final RateTable rates;
+        private final long tick;
+        private final StayQuote quote;
+
+        CachedQuote(RateTable rates, long tick, StayQuote quote) {
+            this.rates = rates;
+            this.tick = tick;
+            this.quote = quote;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.hotel.pricing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.hotel.domain.Money;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+/**
+ * The room type with the cheapest base rate of each room kind in one hotel,
+ * indexed by kind. The cheapest types are fixed; a hotel gets a new table
+ * when its rooms or base rates may have changed, so a cached quote is only
+ * current if it was priced from the hotel's current table.
+ *
+ * Under dynamic pricing, single nights are repriced as they sell. The table
+ * stamps each repriced night of a kind with a tick of its clock, and a
+ * quote taken at a given tick stays current while none of its nights has
+ * a later stamp. Nights share a fixed number of slots per kind, so nights
+ * that collide may retire each other's quotes, but a repriced quote is
+ * never served.
+ */
+final class RateTable {
+    // Per kind; a power of two, so a day's slot is its low bits
+    private static final int NIGHT_SLOTS = 1024;
+
+    private final RoomType[] cheapest = new RoomType[RoomKind.values().length];
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLongArray repricedAt = new AtomicLongArray(RoomKind.values().length * NIGHT_SLOTS);
+
+    RateTable(List<Room> rooms) {
+        for (Room room : rooms) {
+            RoomType roomType = room.getRoomType();
+            int kind = roomType.getKind().ordinal();
+            if (cheapest[kind] == null || isCheaper(roomType.getCost(), cheapest[kind].getCost())) {
+                cheapest[kind] = roomType;
+            }
+        }
+    }
+
+    /**
+     * Rates in different currencies cannot be compared; the first one seen wins.
+     */
+    private static boolean isCheaper(Money cost, Money current) {
+        return cost.getCurrency().equals(current.getCurrency())
+                && cost.getAmount().compareTo(current.getAmount()) < 0;
+    }
+
+    /**
+     * Returns the room type of the kind with the cheapest base rate, or null
+     * if the hotel has no rooms of that kind.
+     */
+    RoomType cheapest(RoomKind kind) {
+        return cheapest[kind.ordinal()];
+    }
+
+    /**
+     * Returns the current tick, to be read before a quote is priced.
+     */
+    long currentTick() {
+        return clock.get();
+    }
+
+    /**
+     * Records that the nights from startDay up to endDay of the kind were
+     * repriced.
+     */
+    void repriced(RoomKind kind, int startDay, int endDay) {
+        long tick = clock.incrementAndGet();
+        int nights = (int) Math.min((long) endDay - startDay, NIGHT_SLOTS);
+        for (int i = 0; i < nights; i++) {
+            repricedAt.accumulateAndGet(slot(kind, startDay + i), tick, Math::max);
+        }
+    }
+
+    /**
+     * Tells whether none of the nights from startDay up to endDay of the
+     * kind was repriced after the given tick.
+     */
+    boolean unchangedSince(long tick, RoomKind kind, int startDay, int endDay) {
+        int nights = (int) Math.min((long) endDay - startDay, NIGHT_SLOTS);
+        for (int i = 0; i < nights; i++) {
+            if (repricedAt.get(slot(kind, startDay + i)) > tick) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slot(RoomKind kind, int day) {
+        return kind.ordinal() * NIGHT_SLOTS + (day & (NIGHT_SLOTS - 1));
+    }
+}
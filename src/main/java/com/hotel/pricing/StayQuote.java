@@ -0,0 +1,67 @@
+package com.hotel.pricing;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import com.hotel.core.Hotel;
+import com.hotel.domain.Money;
+import com.hotel.domain.RoomKind;
+
+/**
+ * The price of a stay in a hotel's cheapest room of a kind, night by night.
+ */
+public class StayQuote {
+    private final Hotel hotel;
+    private final RoomKind roomKind;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<Money> nightlyRates;
+    private final Money total;
+
+    public StayQuote(Hotel hotel, RoomKind roomKind, LocalDate startDate, LocalDate endDate,
+            List<Money> nightlyRates, Money total) {
+        if (hotel == null || roomKind == null || startDate == null || endDate == null
+                || nightlyRates == null || total == null) {
+            throw new IllegalArgumentException("Quote details cannot be null");
+        }
+        this.hotel = hotel;
+        this.roomKind = roomKind;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nightlyRates = Collections.unmodifiableList(nightlyRates);
+        this.total = total;
+    }
+
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    public RoomKind getRoomKind() {
+        return roomKind;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Returns the rate of each night of the stay, first night first.
+     */
+    public List<Money> getNightlyRates() {
+        return nightlyRates;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return hotel.getName() + " " + roomKind + " " + startDate + " to " + endDate + ": " + total;
+    }
+}
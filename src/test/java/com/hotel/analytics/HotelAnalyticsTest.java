@@ -0,0 +1,213 @@
+package com.hotel.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.OccupancyCurve;
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class HotelAnalyticsTest {
+
+        private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+        private static final Currency USD = Currency.getInstance("USD");
+
+        private HotelAnalytics analytics;
+        private Hotel hotel;
+        private RoomType doubleType;
+        private RoomType suiteType;
+        private ReserverPayer payer;
+
+        @BeforeEach
+        void setUp() {
+                analytics = new HotelAnalytics(USD, BASE, 30);
+                hotel = new Hotel("The Grand Budapest");
+                doubleType = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+                suiteType = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("250.50"), USD));
+                hotel.addRoom(new Room(101, doubleType));
+                hotel.addRoom(new Room(102, doubleType));
+                hotel.addRoom(new Room(201, suiteType));
+                payer = new ReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+        }
+
+        private Reservation book(RoomType type, int startOffset, int endOffset) {
+                return hotel.createReservation(BASE.plusDays(startOffset), BASE.plusDays(endOffset), type, payer);
+        }
+
+        @Test
+        void testTrack_CountsExistingAndNewReservations() {
+                // Arrange
+                book(doubleType, 2, 5);
+
+                // Act
+                analytics.track(hotel);
+                book(doubleType, 4, 6);
+                book(suiteType, 4, 5);
+
+                // Assert
+                assertEquals(1, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(2)),
+                                "Scanned reservation should be counted");
+                assertEquals(2, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(4)),
+                                "Both reservations should be counted on the shared night");
+                assertEquals(0, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(6)),
+                                "Check-out day should not be counted");
+                assertEquals(1.0, analytics.getOccupancy(hotel, RoomKind.DOUBLE, BASE.plusDays(4)),
+                                "Every double room should be booked on the shared night");
+                assertEquals(0.5, analytics.getOccupancy(hotel, RoomKind.DOUBLE, BASE.plusDays(5)),
+                                "Half the double rooms should be booked after the first stay");
+                assertEquals(new Money(350.50, "USD"), analytics.getRevenue(hotel, RoomKind.SUITE, BASE.plusDays(4))
+                                .plus(analytics.getRevenue(hotel, RoomKind.DOUBLE, BASE.plusDays(5))),
+                                "Nightly revenue should be the rates of the rooms sold");
+                assertEquals(new Money(500.0, "USD"), analytics.getTotalRevenue(hotel, RoomKind.DOUBLE),
+                                "Total revenue should be rate times nights");
+                assertEquals(new Money(750.50, "USD"), analytics.getTotalRevenue(hotel),
+                                "Hotel revenue should add up every kind");
+                assertEquals(2, analytics.getReservationCount(hotel, RoomKind.DOUBLE),
+                                "Double reservations should be counted");
+        }
+
+        @Test
+        void testCancelAndStays_UpdateCounters() {
+                // Arrange
+                analytics.track(hotel);
+                Reservation cancelled = book(doubleType, 1, 3);
+                Reservation stayed = book(suiteType, 0, 2);
+                Guest guest = new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1"));
+
+                // Act
+                hotel.cancelReservation(cancelled.getReservationNumber());
+                hotel.checkInGuest(stayed.getRoom().getNumber(), guest);
+
+                // Assert
+                assertEquals(0, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(1)),
+                                "Cancelled nights should be released");
+                assertTrue(analytics.getTotalRevenue(hotel, RoomKind.DOUBLE).isZero(),
+                                "Cancelled revenue should be removed");
+                assertEquals(1, analytics.getGuestsInHouse(hotel, RoomKind.SUITE), "Checked-in guest should be counted");
+
+                // Act
+                hotel.checkOutGuest(stayed.getRoom().getNumber());
+
+                // Assert
+                assertEquals(0, analytics.getGuestsInHouse(hotel, RoomKind.SUITE), "Checked-out guest should leave");
+                assertEquals(1, analytics.getReservationCount(hotel, RoomKind.SUITE),
+                                "Checked-out reservations should stay in the history");
+        }
+
+        @Test
+        void testAdvanceTo_CountsNightsEnteringWindow() {
+                // Arrange: the stay runs past the 30-night window
+                analytics.track(hotel);
+                book(doubleType, 25, 40);
+
+                // Act
+                analytics.advanceTo(BASE.plusDays(20));
+
+                // Assert
+                assertEquals(1, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(26)),
+                                "Nights still in the window should be kept");
+                assertEquals(1, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(35)),
+                                "Nights that entered the window should be counted");
+                assertEquals(0, analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(45)),
+                                "Nights after the stay should be free");
+                assertThrows(IllegalArgumentException.class,
+                                () -> analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(19)),
+                                "Nights before the window should be rejected");
+        }
+
+        @Test
+        void testRebuild_MatchesIncrementalCounters() {
+                // Arrange
+                analytics.track(hotel);
+                book(doubleType, 1, 4);
+                Reservation cancelled = book(doubleType, 2, 6);
+                book(suiteType, 3, 8);
+                hotel.cancelReservation(cancelled.getReservationNumber());
+                int[] sold = new int[10];
+                for (int night = 0; night < sold.length; night++) {
+                        sold[night] = analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(night))
+                                        + analytics.getRoomsSold(hotel, RoomKind.SUITE, BASE.plusDays(night));
+                }
+                Money revenue = analytics.getTotalRevenue(hotel);
+
+                // Act
+                analytics.rebuild(hotel);
+
+                // Assert
+                for (int night = 0; night < sold.length; night++) {
+                        assertEquals(sold[night], analytics.getRoomsSold(hotel, RoomKind.DOUBLE, BASE.plusDays(night))
+                                        + analytics.getRoomsSold(hotel, RoomKind.SUITE, BASE.plusDays(night)),
+                                        "Rebuilt count should match for night " + night);
+                }
+                assertEquals(revenue, analytics.getTotalRevenue(hotel), "Rebuilt revenue should match");
+        }
+
+        @Test
+        void testTrackChain_IncludesHotelsAddedLater() {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                chain.addHotel(hotel);
+                analytics.track(chain);
+
+                // Act
+                Hotel later = chain.createHotel("The Overlook");
+                later.addRoom(new Room(1, doubleType));
+                later.createReservation(BASE, BASE.plusDays(2), doubleType, payer);
+
+                // Assert
+                assertEquals(1, analytics.getRoomsSold(later, RoomKind.DOUBLE, BASE), "Later hotel should be tracked");
+                assertEquals(new Money(200.0, "USD"), analytics.getTotalRevenue(later), "Later revenue should count");
+                assertThrows(HotelException.class, () -> analytics.track(hotel),
+                                "Tracking a hotel twice should throw HotelException");
+        }
+
+        @Test
+        void testOtherCurrency_CountsOccupancyOnly() {
+                // Arrange
+                RoomType euroType = new RoomType(RoomKind.FAMILY, new Money(90.0, "EUR"));
+                hotel.addRoom(new Room(301, euroType));
+                analytics.track(hotel);
+
+                // Act
+                book(euroType, 0, 2);
+
+                // Assert
+                assertEquals(1, analytics.getRoomsSold(hotel, RoomKind.FAMILY, BASE), "Stay should be counted");
+                assertTrue(analytics.getTotalRevenue(hotel).isZero(), "Euro revenue should be left out");
+                assertEquals(1, analytics.getUnpricedReservationCount(hotel), "Left-out reservation should be reported");
+        }
+
+        @Test
+        void testQuery_UntrackedHotel_ThrowsException() {
+                // Act & Assert
+                assertThrows(HotelException.class, () -> analytics.getTotalRevenue(hotel),
+                                "Querying an untracked hotel should throw HotelException");
+        }
+
+        @Test
+        void testDynamicPricing_RevenueUsesLockedNightlyRates() {
+                // Arrange
+                LocalDate today = LocalDate.now();
+                HotelAnalytics live = new HotelAnalytics(USD, today, 30);
+                hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+                live.track(hotel);
+
+                // Act
+                hotel.createReservation(today, today.plusDays(2), doubleType, payer);
+                hotel.createReservation(today.plusDays(1), today.plusDays(2), doubleType, payer);
+
+                // Assert
+                assertEquals(new Money(250.0, "USD"), live.getRevenue(hotel, RoomKind.DOUBLE, today.plusDays(1)),
+                                "The second room should be counted at the surge rate it was booked at");
+                assertEquals(new Money(350.0, "USD"), live.getTotalRevenue(hotel, RoomKind.DOUBLE),
+                                "Total revenue should add up each night's locked rate");
+        }
+}
@@ -0,0 +1,122 @@
+package com.hotel.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.hotel.domain.*;
+
+/**
+ * Rough throughput comparison of the binary codec against a naive
+ * DataOutputStream encoder that writes every field as text. Not a unit
+ * test; run the main method with a warmed-up JVM, e.g.
+ * java -cp ... com.hotel.codec.CodecBenchmark [reservations] [rounds]
+ */
+public class CodecBenchmark {
+
+        public static void main(String[] args) throws IOException {
+                int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+                int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+                List<Reservation> reservations = sampleReservations(count);
+
+                ByteBuffer buffer = ByteBuffer.allocate(count * 128);
+                DomainEncoder encoder = new DomainEncoder();
+                DomainDecoder decoder = new DomainDecoder();
+                long checksum = 0;
+                for (int round = 0; round < rounds; round++) {
+                        long started = System.nanoTime();
+                        buffer.clear();
+                        encoder.writeHeader(buffer);
+                        for (Reservation reservation : reservations) {
+                                encoder.writeReservation(buffer, reservation);
+                        }
+                        long encoded = System.nanoTime();
+                        int size = buffer.position();
+                        buffer.flip();
+                        decoder.readHeader(buffer);
+                        for (int i = 0; i < count; i++) {
+                                checksum += decoder.readReservation(buffer).getReservationNumber();
+                        }
+                        long decoded = System.nanoTime();
+                        report("binary", round, count, size, encoded - started, decoded - encoded);
+                }
+
+                for (int round = 0; round < rounds; round++) {
+                        long started = System.nanoTime();
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream(count * 256);
+                        DataOutputStream out = new DataOutputStream(bytes);
+                        for (Reservation reservation : reservations) {
+                                writeNaive(out, reservation);
+                        }
+                        byte[] data = bytes.toByteArray();
+                        long encoded = System.nanoTime();
+                        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+                        for (int i = 0; i < count; i++) {
+                                checksum += readNaive(in).getReservationNumber();
+                        }
+                        long decoded = System.nanoTime();
+                        report("naive ", round, count, data.length, encoded - started, decoded - encoded);
+                }
+                System.out.println("checksum " + checksum);
+        }
+
+        private static void report(String name, int round, int count, int size, long encodeNanos, long decodeNanos) {
+                System.out.printf("%s round %2d: %6.1f bytes/reservation, encode %,12.0f/s, decode %,12.0f/s%n",
+                                name, round, (double) size / count,
+                                count * 1e9 / encodeNanos, count * 1e9 / decodeNanos);
+        }
+
+        private static List<Reservation> sampleReservations(int count) {
+                List<RoomType> types = List.of(
+                                new RoomType(RoomKind.SINGLE, new Money(80.0, "USD")),
+                                new RoomType(RoomKind.DOUBLE, new Money(120.5, "USD")),
+                                new RoomType(RoomKind.SUITE, new Money(410.0, "EUR")));
+                List<Reservation> reservations = new ArrayList<>(count);
+                LocalDate base = LocalDate.of(2026, 1, 1);
+                for (int i = 0; i < count; i++) {
+                        ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P" + (i % 5000)),
+                                        new CreditCard("4000000000" + String.format("%06d", i % 5000), "12/27", "123"));
+                        Room room = new Room(100 + i % 400, types.get(i % types.size()));
+                        LocalDate start = base.plusDays(i % 365);
+                        reservations.add(new Reservation(i + 1, start, start.plusDays(1 + i % 6), payer, room));
+                }
+                return reservations;
+        }
+
+        private static void writeNaive(DataOutputStream out, Reservation reservation) throws IOException {
+                out.writeInt(reservation.getReservationNumber());
+                out.writeUTF(reservation.getStartDate().toString());
+                out.writeUTF(reservation.getEndDate().toString());
+                out.writeUTF(reservation.getPayer().getId().getType());
+                out.writeUTF(reservation.getPayer().getId().getIdNumber());
+                out.writeUTF(reservation.getPayer().getCreditCardDetails().getMaskedNumber());
+                Room room = reservation.getRoom();
+                out.writeInt(room.getNumber());
+                out.writeUTF(room.getRoomType().getKind().name());
+                out.writeUTF(room.getRoomType().getCost().getAmount().toString());
+                out.writeUTF(room.getRoomType().getCost().getCurrency().getCurrencyCode());
+                out.writeUTF(room.getState().name());
+        }
+
+        private static Reservation readNaive(DataInputStream in) throws IOException {
+                int number = in.readInt();
+                LocalDate start = LocalDate.parse(in.readUTF());
+                LocalDate end = LocalDate.parse(in.readUTF());
+                Identity identity = new Identity(in.readUTF(), in.readUTF());
+                CreditCard card = CreditCard.fromMaskedNumber(in.readUTF());
+                int roomNumber = in.readInt();
+                RoomKind kind = RoomKind.valueOf(in.readUTF());
+                Money cost = new Money(new BigDecimal(in.readUTF()), Currency.getInstance(in.readUTF()));
+                in.readUTF();
+                Room room = new Room(roomNumber, new RoomType(kind, cost));
+                return new Reservation(number, start, end, new ReserverPayer(identity, card), room);
+        }
+}
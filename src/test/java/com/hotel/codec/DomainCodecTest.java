@@ -0,0 +1,199 @@
+package com.hotel.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import com.hotel.domain.*;
+
+class DomainCodecTest {
+
+        private DomainEncoder encoder;
+        private DomainDecoder decoder;
+        private ByteBuffer buffer;
+        private RoomType doubleType;
+
+        @BeforeEach
+        void setUp() {
+                encoder = new DomainEncoder();
+                decoder = new DomainDecoder();
+                buffer = ByteBuffer.allocate(4096);
+                doubleType = new RoomType(RoomKind.DOUBLE, new Money(100.5, "USD"));
+                encoder.writeHeader(buffer);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { "0", "100.50", "0.001", "1E+3", "92233720368547758.07" })
+        void testMoney_RoundTrip(String amount) {
+                // Arrange
+                Money money = new Money(new BigDecimal(amount), Currency.getInstance("EUR"));
+
+                // Act
+                encoder.writeMoney(buffer, money);
+                Money decoded = decoder.readMoney(flipped());
+
+                // Assert
+                assertEquals(money, decoded, "Money should survive encoding with its scale");
+        }
+
+        @Test
+        void testMoney_CurrencyWithoutId_IsWrittenInline() {
+                // Arrange
+                Money money = new Money(new BigDecimal("12.34"), Currency.getInstance("ISK"));
+
+                // Act
+                encoder.writeMoney(buffer, money);
+                Money decoded = decoder.readMoney(flipped());
+
+                // Assert
+                assertEquals(money, decoded, "Currencies outside the id table should round-trip");
+        }
+
+        @Test
+        void testRoomType_RepeatedTypeIsWrittenAsId() {
+                // Act
+                int start = buffer.position();
+                encoder.writeRoomType(buffer, doubleType);
+                int firstLength = buffer.position() - start;
+                encoder.writeRoomType(buffer, doubleType);
+                int secondLength = buffer.position() - start - firstLength;
+                ByteBuffer in = flipped();
+                RoomType first = decoder.readRoomType(in);
+                RoomType second = decoder.readRoomType(in);
+
+                // Assert
+                assertEquals(1, secondLength, "A repeated room type should take a single byte");
+                assertEquals(doubleType, first, "Room type should round-trip");
+                assertSame(first, second, "Repeated room types should decode to the same instance");
+        }
+
+        @Test
+        void testGuest_RoundTripWithAndWithoutIdentity() {
+                // Arrange
+                Guest withId = new Guest("Zoë Ångström", new Address("Straße 1", "Zürich", "8001"), new Identity("Passport", "X1"));
+                Guest withoutId = new Guest("John", new Address("Street", "City", "12345"), null);
+
+                // Act
+                encoder.writeGuest(buffer, withId);
+                encoder.writeGuest(buffer, withoutId);
+                ByteBuffer in = flipped();
+                Guest first = decoder.readGuest(in);
+                Guest second = decoder.readGuest(in);
+
+                // Assert
+                assertEquals("Zoë Ångström", first.getName(), "Non-ASCII names should round-trip");
+                assertEquals(withId.getAddressDetails(), first.getAddressDetails(), "Address should round-trip");
+                assertEquals(withId.getId(), first.getId(), "Identity should round-trip");
+                assertNull(second.getId(), "Missing identity should stay missing");
+        }
+
+        @Test
+        void testReservation_RoundTripWithOccupiedRoom() {
+                // Arrange
+                Room room = new Room(101, doubleType);
+                room.bookRoom();
+                room.checkInGuest(new Guest("John", new Address("Street", "City", "12345"), null));
+                ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Reservation reservation = new Reservation(42, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 4), payer, room);
+
+                // Act
+                encoder.writeReservation(buffer, reservation);
+                Reservation decoded = decoder.readReservation(flipped());
+
+                // Assert
+                assertEquals(42, decoded.getReservationNumber(), "Number should round-trip");
+                assertEquals(reservation.getStartDate(), decoded.getStartDate(), "Start date should round-trip");
+                assertEquals(reservation.getEndDate(), decoded.getEndDate(), "End date should round-trip");
+                assertEquals(payer.getId(), decoded.getPayer().getId(), "Payer identity should round-trip");
+                assertEquals("XXXX-XXXX-XXXX-0123", decoded.getPayer().getCreditCardDetails().getMaskedNumber(),
+                                "Masked card number should round-trip");
+                assertTrue(decoded.getPayer().getCreditCardDetails().isMasked(), "Decoded card should only be masked");
+                assertEquals(101, decoded.getRoom().getNumber(), "Room number should round-trip");
+                assertEquals(RoomState.OCCUPIED, decoded.getRoom().getState(), "Room state should round-trip");
+                assertEquals("John", decoded.getRoom().getOccupant().getName(), "Occupant should round-trip");
+        }
+
+        @Test
+        void testReservation_RoundTripWithLockedRates() {
+                // Arrange
+                ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                List<Money> rates = List.of(new Money(150.0, "USD"), new Money(100.5, "USD"));
+                Reservation priced = new Reservation(42, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3), payer,
+                                new Room(101, doubleType), rates);
+                Reservation basePrice = new Reservation(43, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3), payer,
+                                new Room(102, doubleType));
+
+                // Act
+                encoder.writeReservation(buffer, priced);
+                encoder.writeReservation(buffer, basePrice);
+                ByteBuffer in = flipped();
+                Reservation first = decoder.readReservation(in);
+                Reservation second = decoder.readReservation(in);
+
+                // Assert
+                assertEquals(rates, first.getNightlyRates(), "Locked nightly rates should round-trip");
+                assertEquals(new Money(250.5, "USD"), first.getTotalCost(), "Total should come from the locked rates");
+                assertFalse(second.hasLockedRates(), "A reservation at the base rate should stay at the base rate");
+                assertEquals(basePrice.getTotalCost(), second.getTotalCost(), "Base-rate total should round-trip");
+        }
+
+        @Test
+        void testBuffer_CanBeReusedForManyObjects() {
+                // Arrange
+                Room room = new Room(7, doubleType);
+
+                for (int i = 0; i < 3; i++) {
+                        // Act
+                        buffer.clear();
+                        encoder.writeHeader(buffer);
+                        encoder.writeRoom(buffer, room);
+                        ByteBuffer in = buffer.duplicate().flip();
+                        decoder.readHeader(in);
+                        Room decoded = decoder.readRoom(in);
+
+                        // Assert
+                        assertEquals(room, decoded, "Every pass over the reused buffer should decode the room");
+                        assertEquals(doubleType, decoded.getRoomType(), "Room type should be defined again after a new header");
+                        assertFalse(in.hasRemaining(), "Decoder should consume exactly what was written");
+                }
+        }
+
+        @Test
+        void testReadHeader_UnknownVersion_ThrowsException() {
+                // Arrange
+                ByteBuffer in = ByteBuffer.wrap(new byte[] { 99 });
+
+                // Act & Assert
+                assertThrows(IllegalArgumentException.class, () -> decoder.readHeader(in),
+                                "Unknown schema versions should be rejected");
+        }
+
+        @Test
+        void testReadRoomType_UnknownId_ThrowsException() {
+                // Arrange
+                ByteBuffer in = ByteBuffer.wrap(new byte[] { 5 });
+
+                // Act & Assert
+                assertThrows(IllegalArgumentException.class, () -> decoder.readRoomType(in),
+                                "References to room types never introduced should be rejected");
+        }
+
+        /**
+         * Returns a read view of what was written after the header.
+         */
+        private ByteBuffer flipped() {
+                ByteBuffer in = buffer.duplicate().flip();
+                decoder.readHeader(in);
+                return in;
+        }
+}
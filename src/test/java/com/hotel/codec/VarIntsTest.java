@@ -0,0 +1,53 @@
+package com.hotel.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+class VarIntsTest {
+
+        @ParameterizedTest
+        @ValueSource(longs = { 0, 1, -1, 63, -64, 64, 300, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE })
+        void testSigned_RoundTrip(long value) {
+                // Arrange
+                ByteBuffer buffer = ByteBuffer.allocate(16);
+
+                // Act
+                VarInts.writeSigned(buffer, value);
+                buffer.flip();
+
+                // Assert
+                assertEquals(value, VarInts.readSigned(buffer), "Signed varint should round-trip");
+                assertFalse(buffer.hasRemaining(), "Reader should consume every byte written");
+        }
+
+        @Test
+        void testSmallValues_TakeOneByte() {
+                // Arrange
+                ByteBuffer buffer = ByteBuffer.allocate(16);
+
+                // Act
+                VarInts.writeUnsigned(buffer, 127);
+                int unsignedLength = buffer.position();
+                VarInts.writeSigned(buffer, -64);
+
+                // Assert
+                assertEquals(1, unsignedLength, "Values below 128 should take one byte");
+                assertEquals(2, buffer.position(), "Small negative values should take one byte too");
+        }
+
+        @Test
+        void testReadUnsigned_TooLong_ThrowsException() {
+                // Arrange
+                byte[] endless = new byte[11];
+                Arrays.fill(endless, (byte) 0x80);
+
+                // Act & Assert
+                assertThrows(IllegalArgumentException.class, () -> VarInts.readUnsigned(ByteBuffer.wrap(endless)),
+                                "Varints longer than ten bytes should be rejected");
+        }
+}
@@ -0,0 +1,80 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import com.hotel.domain.Money;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+class AvailabilityCacheTest {
+
+    private final RoomType doubleType = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+
+    @Test
+    void testGet_SameVersion_Hits() {
+        // Arrange
+        AvailabilityCache cache = new AvailabilityCache(4);
+        cache.put(doubleType, 10, 12, 3, true);
+
+        // Act
+        Boolean answer = cache.get(doubleType, 10, 12, 3);
+
+        // Assert
+        assertEquals(Boolean.TRUE, answer, "Answer at the current version should be served");
+        assertEquals(1, cache.stats().getHitCount(), "Lookup should count as a hit");
+    }
+
+    @Test
+    void testGet_NewerVersion_Misses() {
+        // Arrange
+        AvailabilityCache cache = new AvailabilityCache(4);
+        cache.put(doubleType, 10, 12, 3, true);
+
+        // Act
+        Boolean answer = cache.get(doubleType, 10, 12, 4);
+
+        // Assert
+        assertNull(answer, "Answer from an older version should not be served");
+        assertEquals(1, cache.stats().getMissCount(), "Stale lookup should count as a miss");
+    }
+
+    @Test
+    void testPut_OlderVersion_KeepsNewerAnswer() {
+        // Arrange
+        AvailabilityCache cache = new AvailabilityCache(4);
+        cache.put(doubleType, 10, 12, 5, false);
+
+        // Act
+        cache.put(doubleType, 10, 12, 4, true);
+
+        // Assert
+        assertEquals(Boolean.FALSE, cache.get(doubleType, 10, 12, 5), "A late older answer should not replace a newer one");
+    }
+
+    @Test
+    void testPut_OverSize_EvictsLeastRecentlyUsed() {
+        // Arrange
+        AvailabilityCache cache = new AvailabilityCache(2);
+        cache.put(doubleType, 1, 2, 0, true);
+        cache.put(doubleType, 2, 3, 0, true);
+        cache.get(doubleType, 1, 2, 0);
+
+        // Act
+        cache.put(doubleType, 3, 4, 0, true);
+
+        // Assert
+        AvailabilityCacheStats stats = cache.stats();
+        assertEquals(1, stats.getEvictionCount(), "One answer should be evicted");
+        assertEquals(2, stats.getSize(), "Cache should stay within its size");
+        assertNotNull(cache.get(doubleType, 1, 2, 0), "Recently used answer should be kept");
+        assertNull(cache.get(doubleType, 2, 3, 0), "Least recently used answer should be evicted");
+    }
+
+    @Test
+    void testConstructor_NonPositiveSize_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AvailabilityCache(0),
+                "Cache size must be positive");
+    }
+}
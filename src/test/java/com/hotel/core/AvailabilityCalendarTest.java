@@ -0,0 +1,86 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+class AvailabilityCalendarTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private AvailabilityCalendar calendar;
+    private long baseDay;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new AvailabilityCalendar(BASE, 200);
+        baseDay = BASE.toEpochDay();
+    }
+
+    @Test
+    void testNewCalendar_IsFreeAcrossWindow() {
+        // Act & Assert
+        assertTrue(calendar.isFree(baseDay, calendar.getWindowEnd()), "A new calendar should have no booked nights");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 1", // single night in the first word
+            "60, 70", // crosses a word boundary
+            "10, 190", // spans several words
+            "63, 64" // last bit of a word
+    })
+    void testMarkBooked_RangeIsNoLongerFree(int startOffset, int endOffset) {
+        // Act
+        calendar.markBooked(baseDay + startOffset, baseDay + endOffset);
+
+        // Assert
+        assertFalse(calendar.isFree(baseDay + startOffset, baseDay + endOffset), "Booked range should not be free");
+        assertFalse(calendar.isFree(baseDay + endOffset - 1, baseDay + endOffset),
+                "Last booked night should not be free");
+        assertTrue(calendar.isFree(baseDay + endOffset, baseDay + endOffset + 1),
+                "Check-out night should stay free");
+    }
+
+    @Test
+    void testMarkFree_ReleasesOnlyGivenNights() {
+        // Arrange
+        calendar.markBooked(baseDay + 10, baseDay + 20);
+
+        // Act
+        calendar.markFree(baseDay + 10, baseDay + 15);
+
+        // Assert
+        assertTrue(calendar.isFree(baseDay + 10, baseDay + 15), "Released nights should be free");
+        assertFalse(calendar.isFree(baseDay + 15, baseDay + 20), "Other nights should stay booked");
+    }
+
+    @Test
+    void testCovers_OnlyRangesInsideWindow() {
+        // Act & Assert
+        assertTrue(calendar.covers(baseDay, calendar.getWindowEnd()), "Whole window should be covered");
+        assertFalse(calendar.covers(baseDay - 1, baseDay + 3), "Nights before the window are not covered");
+        assertFalse(calendar.covers(baseDay + 3, calendar.getWindowEnd() + 1), "Nights after the window are not covered");
+    }
+
+    @Test
+    void testAdvanceTo_WrapsAroundRing() {
+        // Arrange
+        long windowEnd = calendar.getWindowEnd();
+        calendar.markBooked(baseDay, baseDay + 30);
+
+        // Act
+        calendar.advanceTo(baseDay + 50);
+        calendar.markBooked(windowEnd + 5, windowEnd + 10);
+
+        // Assert
+        assertTrue(calendar.covers(windowEnd, windowEnd + 50), "Window should extend past the old end");
+        assertTrue(calendar.isFree(windowEnd, windowEnd + 5), "Nights that left the window should be cleared");
+        assertFalse(calendar.isFree(windowEnd + 5, windowEnd + 10), "Wrapped nights should be booked");
+        assertFalse(calendar.isFree(windowEnd - 2, windowEnd + 7), "Ranges across the wrap point should be checked");
+    }
+}
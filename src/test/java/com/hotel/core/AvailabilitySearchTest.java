@@ -0,0 +1,114 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotel.domain.*;
+
+class AvailabilitySearchTest {
+
+        private static final LocalDate START = LocalDate.now().plusDays(1);
+        private static final LocalDate END = START.plusDays(3);
+
+        private HotelChain chain;
+        private RoomType standardDouble;
+        private RoomType deluxeDouble;
+        private RoomType single;
+        private ReserverPayer payer;
+
+        @BeforeEach
+        void setUp() {
+                chain = new HotelChain("Prestige Group");
+                standardDouble = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+                deluxeDouble = new RoomType(RoomKind.DOUBLE, new Money(180.0, "USD"));
+                single = new RoomType(RoomKind.SINGLE, new Money(70.0, "USD"));
+                payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+        }
+
+        @Test
+        void testSearch_ReturnsHotelsWithFreeRoomCounts() {
+                // Arrange
+                Hotel first = chain.createHotel("Hotel A");
+                first.addRoom(new Room(1, standardDouble));
+                first.addRoom(new Room(2, deluxeDouble));
+                Hotel second = chain.createHotel("Hotel B");
+                second.addRoom(new Room(1, single));
+                Hotel third = chain.createHotel("Hotel C");
+                third.addRoom(new Room(1, standardDouble));
+
+                // Act
+                List<HotelAvailability> matches = chain.searchAvailability(RoomKind.DOUBLE, START, END, 10);
+
+                // Assert
+                assertEquals(2, matches.size(), "Only hotels with a free double should match");
+                assertSame(first, matches.get(0).getHotel(), "Matches should follow the chain's hotel order");
+                assertEquals(2, matches.get(0).getFreeRooms(), "Doubles of every rate should be counted");
+                assertSame(third, matches.get(1).getHotel(), "Third hotel has a free double");
+                assertEquals(1, matches.get(1).getFreeRooms(), "Third hotel has one free double");
+        }
+
+        @Test
+        void testSearch_SkipsHotelsBookedForTheStay() {
+                // Arrange
+                Hotel first = chain.createHotel("Hotel A");
+                first.addRoom(new Room(1, standardDouble));
+                first.createReservation(START, END, standardDouble, payer);
+
+                // Act
+                List<HotelAvailability> matches = chain.searchAvailability(RoomKind.DOUBLE, START, END, 10);
+
+                // Assert
+                assertTrue(matches.isEmpty(), "A hotel whose only double is booked should not match");
+        }
+
+        @Test
+        void testSearch_ByRoomType_CountsOnlyThatType() {
+                // Arrange
+                Hotel first = chain.createHotel("Hotel A");
+                first.addRoom(new Room(1, standardDouble));
+                first.addRoom(new Room(2, deluxeDouble));
+
+                try (AvailabilitySearch search = new AvailabilitySearch(chain, 2)) {
+                        // Act
+                        List<HotelAvailability> matches = search.search(deluxeDouble, START, END, 10);
+
+                        // Assert
+                        assertEquals(1, matches.size(), "Hotel with a free deluxe double should match");
+                        assertEquals(1, matches.get(0).getFreeRooms(), "Only deluxe doubles should be counted");
+                }
+        }
+
+        @Test
+        void testSearch_StopsAfterFirstMatches() {
+                // Arrange
+                for (int i = 0; i < 100; i++) {
+                        chain.createHotel("Hotel " + i).addRoom(new Room(1, standardDouble));
+                }
+
+                try (AvailabilitySearch search = new AvailabilitySearch(chain, 4)) {
+                        // Act
+                        List<HotelAvailability> matches = search.search(RoomKind.DOUBLE, START, END, 5);
+
+                        // Assert
+                        assertEquals(5, matches.size(), "Search should return exactly the requested number of matches");
+                }
+        }
+
+        @Test
+        void testSearch_InvalidArguments_ThrowException() {
+                // Act & Assert
+                assertThrows(IllegalArgumentException.class, () -> new AvailabilitySearch(chain, 0),
+                                "Parallelism must be positive");
+                assertThrows(IllegalArgumentException.class,
+                                () -> chain.searchAvailability(RoomKind.DOUBLE, START, END, 0),
+                                "Maximum number of results must be positive");
+                assertThrows(IllegalArgumentException.class,
+                                () -> chain.searchAvailability(null, START, END, 1),
+                                "Room kind is required");
+        }
+}
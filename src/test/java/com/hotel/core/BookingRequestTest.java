@@ -0,0 +1,69 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import com.hotel.domain.*;
+
+class BookingRequestTest {
+
+    private final RoomType type = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+    private final ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P123"),
+            new CreditCard("1234567890123", "12/25", "111"));
+
+    @Test
+    void testBookingRequestCreation_ValidInputs_Success() {
+        // Arrange
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        // Act
+        BookingRequest request = new BookingRequest("The Grand Budapest", start, end, type, payer);
+
+        // Assert
+        assertEquals("The Grand Budapest", request.getHotelName(), "Hotel name should match");
+        assertEquals(start, request.getStartDate(), "Start date should match");
+        assertEquals(end, request.getEndDate(), "End date should match");
+        assertEquals(type, request.getRoomType(), "Room type should match");
+        assertEquals(payer, request.getPayer(), "Payer should match");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { "   " })
+    void testBookingRequestCreation_BlankHotelName_ThrowsException(String hotelName) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BookingRequest(hotelName, LocalDate.now(), LocalDate.now().plusDays(1), type, payer),
+                "Blank hotel name should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testBookingRequestCreation_EndBeforeStart_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BookingRequest("Hotel", LocalDate.now(), LocalDate.now().minusDays(1), type, payer),
+                "End date before start date should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testBookingRequestCreation_NullRoomType_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BookingRequest("Hotel", LocalDate.now(), LocalDate.now().plusDays(1), null, payer),
+                "Null room type should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testBookingRequestCreation_NullPayer_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BookingRequest("Hotel", LocalDate.now(), LocalDate.now().plusDays(1), type, null),
+                "Null payer should throw IllegalArgumentException");
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class ChainRequestExecutorTest {
+
+        private static final LocalDate START = LocalDate.now().plusDays(1);
+        private static final LocalDate END = START.plusDays(2);
+
+        private HotelChain chain;
+        private Hotel hotel;
+        private RoomType type;
+        private ReserverPayer payer;
+        private ChainRequestExecutor executor;
+
+        @BeforeEach
+        void setUp() {
+                chain = new HotelChain("Prestige Group");
+                hotel = chain.createHotel("The Grand Budapest");
+                type = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+                payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                executor = new ChainRequestExecutor(chain, 4);
+        }
+
+        @AfterEach
+        void tearDown() {
+                executor.close();
+        }
+
+        @Test
+        void testMakeReservation_ManyConcurrentRequests_EachRoomBookedOnce() throws Exception {
+                // Arrange
+                for (int number = 1; number <= 20; number++) {
+                        hotel.addRoom(new Room(number, type));
+                }
+
+                // Act
+                List<CompletableFuture<Reservation>> futures = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                        futures.add(executor.makeReservation("The Grand Budapest", START, END, type, payer));
+                }
+                Set<Integer> bookedRooms = new HashSet<>();
+                int failures = 0;
+                for (CompletableFuture<Reservation> future : futures) {
+                        try {
+                                bookedRooms.add(future.get().getRoom().getNumber());
+                        } catch (ExecutionException e) {
+                                assertInstanceOf(HotelException.class, e.getCause(), "Sold out requests should fail with HotelException");
+                                failures++;
+                        }
+                }
+
+                // Assert
+                assertEquals(20, bookedRooms.size(), "Every room should be booked exactly once");
+                assertEquals(30, failures, "Requests beyond the hotel's rooms should fail");
+        }
+
+        @Test
+        void testCancelAndCheckIn_CompleteThroughFutures() throws Exception {
+                // Arrange
+                hotel.addRoom(new Room(101, type));
+                hotel.addRoom(new Room(102, type));
+                Reservation first = executor.makeReservation("The Grand Budapest", START, END, type, payer).get();
+                Reservation second = executor.makeReservation("The Grand Budapest", START, END, type, payer).get();
+
+                // Act
+                executor.cancelReservation("The Grand Budapest", first.getReservationNumber()).get();
+                executor.checkInGuest("The Grand Budapest", second.getRoom().getNumber(),
+                                new Guest("John", new Address("Street", "City", "12345"), new Identity("ID", "2"))).get();
+
+                // Assert
+                assertEquals(RoomState.FREE, first.getRoom().getState(), "Cancelled room should be free");
+                assertEquals(RoomState.OCCUPIED, second.getRoom().getState(), "Checked-in room should be occupied");
+        }
+
+        @Test
+        void testUnknownHotel_CompletesExceptionally() {
+                // Act
+                CompletableFuture<Void> future = executor.checkOutGuest("Unknown Hotel", 101);
+
+                // Assert
+                ExecutionException thrown = assertThrows(ExecutionException.class, future::get,
+                                "Request against an unknown hotel should fail");
+                assertInstanceOf(HotelException.class, thrown.getCause(), "Failure should carry the HotelException");
+        }
+
+        @Test
+        void testConstructor_InvalidLimit_ThrowsException() {
+                // Act & Assert
+                assertThrows(IllegalArgumentException.class, () -> new ChainRequestExecutor(chain, 0),
+                                "Concurrency limit must be positive");
+        }
+}
@@ -0,0 +1,115 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class HeapReservationStoreTest {
+
+    private HeapReservationStore store;
+    private Room room;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        store = new HeapReservationStore();
+        room = new Room(101, new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD")));
+        payer = new ReserverPayer(new Identity("Passport", "P123"),
+                new CreditCard("1234567890123", "12/25", "111"));
+    }
+
+    private Reservation reservation(int number) {
+        LocalDate start = LocalDate.now().plusDays(number * 10L);
+        return new Reservation(number, start, start.plusDays(2), payer, room);
+    }
+
+    @Test
+    void testFind_ByNumber_ReturnsReservation() {
+        // Arrange
+        Reservation res = reservation(7);
+        store.add(res);
+
+        // Act & Assert
+        assertSame(res, store.find(7), "Reservation should be found by its number");
+        assertNull(store.find(8), "Unknown numbers should not be found");
+    }
+
+    @Test
+    void testAdd_DuplicateNumber_ThrowsException() {
+        // Arrange
+        store.add(reservation(1));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> store.add(reservation(1)),
+                "Adding a second reservation with the same number should throw HotelException");
+    }
+
+    @Test
+    void testRemove_KeepsBookingOrderOfOthers() {
+        // Arrange
+        store.add(reservation(1));
+        store.add(reservation(2));
+        store.add(reservation(3));
+
+        // Act
+        Reservation removed = store.remove(2);
+
+        // Assert
+        assertEquals(2, removed.getReservationNumber(), "Removed reservation should be returned");
+        assertNull(store.remove(2), "Removing twice should return null");
+        assertEquals(List.of(reservation(1), reservation(3)), store.all(),
+                "Remaining reservations should keep their booking order");
+    }
+
+    @Test
+    void testAll_ReusesViewUntilChanged() {
+        // Arrange
+        store.add(reservation(1));
+        List<Reservation> first = store.all();
+
+        // Act & Assert
+        assertSame(first, store.all(), "View should be shared while nothing changes");
+        store.add(reservation(2));
+        assertNotSame(first, store.all(), "A change should publish a new view");
+        assertEquals(1, first.size(), "Previously returned views should not change");
+    }
+
+    @Test
+    void testAll_OutOfOrderChanges_StayOrderedByNumber() {
+        // Arrange
+        TreeMap<Integer, Reservation> expected = new TreeMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 2_000; i++) {
+            int number = random.nextInt(500);
+            if (expected.containsKey(number)) {
+                store.remove(number);
+                expected.remove(number);
+            } else {
+                Reservation res = reservation(number);
+                store.add(res);
+                expected.put(number, res);
+            }
+        }
+
+        // Assert
+        List<Reservation> all = store.all();
+        assertEquals(List.copyOf(expected.values()), all, "Reservations should be listed in number order");
+        List<Integer> numbers = List.copyOf(expected.keySet());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(numbers.get(i), all.get(i).getReservationNumber(),
+                    "Positional reads should match the number order");
+        }
+        assertThrows(UnsupportedOperationException.class, () -> all.add(reservation(999)),
+                "The view should be read-only");
+    }
+}
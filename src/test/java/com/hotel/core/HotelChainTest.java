@@ -7,6 +7,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.hotel.domain.*;
 import com.hotel.exception.HotelException;
@@ -55,6 +56,95 @@ class HotelChainTest {
                                 "Chain should contain hotel: " + hotelName);
         }
 
+        @Test
+        void testCreateHotel_SharesChainReservationNumbers() {
+                // Arrange
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+                Hotel first = chain.createHotel("Hotel A");
+                Hotel second = chain.createHotel("Hotel B");
+                first.addRoom(new Room(1, type));
+                second.addRoom(new Room(1, type));
+                ReserverPayer payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+
+                // Act
+                Reservation inFirst = first.createReservation(LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+                Reservation inSecond = second.createReservation(LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+
+                // Assert
+                assertTrue(chain.getHotels().contains(first), "Created hotel should belong to the chain");
+                assertNotEquals(inFirst.getReservationNumber(), inSecond.getReservationNumber(),
+                                "Hotels of one chain should never issue the same reservation number");
+        }
+
+        @Test
+        void testAddHotel_DuplicateNameIgnoringCase_ThrowsException() {
+                // Act & Assert
+                assertThrows(HotelException.class, () -> chain.addHotel(new Hotel("THE GRAND budapest")),
+                                "Registering a second hotel with the same name should throw HotelException");
+                assertEquals(1, chain.getHotels().size(), "Rejected hotel should not be added");
+        }
+
+        @Test
+        void testAddHotel_SameHotelTwice_KeepsMembership() {
+                // Arrange
+                ReserverPayer payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+
+                // Act
+                assertThrows(HotelException.class, () -> chain.addHotel(hotel),
+                                "Adding a hotel that already belongs to the chain should throw HotelException");
+                Reservation res = chain.makeReservation(hotel, LocalDate.now(), LocalDate.now().plusDays(1), type,
+                                payer);
+
+                // Assert
+                assertEquals(1, chain.getHotels().size(), "Hotel should still be listed once");
+                assertEquals(1, hotel.getReservations().size(),
+                                "The rejected re-add should not drop the hotel from the chain");
+                chain.cancelReservation(hotel, res.getReservationNumber());
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { "The Grand Budapest", "the grand budapest", "THE GRAND BUDAPEST" })
+        void testGetHotel_CaseInsensitiveName_ReturnsHotel(String hotelName) {
+                // Act & Assert
+                assertSame(hotel, chain.getHotel(hotelName), "Hotel should be found ignoring case: " + hotelName);
+        }
+
+        @Test
+        void testMakeReservation_WithHotelHandle_Success() {
+                // Arrange
+                ReserverPayer payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+                Hotel handle = chain.getHotel("The Grand Budapest");
+
+                // Act
+                Reservation res = chain.makeReservation(handle, LocalDate.now(), LocalDate.now().plusDays(1), type,
+                                payer);
+                chain.cancelReservation(handle, res.getReservationNumber());
+
+                // Assert
+                assertEquals(0, hotel.getReservations().size(), "Booking and cancelling by handle should work");
+        }
+
+        @Test
+        void testMakeReservation_ForeignHotelHandle_ThrowsException() {
+                // Arrange
+                ReserverPayer payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+                Hotel outsider = new Hotel("The Grand Budapest");
+                outsider.addRoom(new Room(101, type));
+
+                // Act & Assert
+                assertThrows(HotelException.class,
+                                () -> chain.makeReservation(outsider, LocalDate.now(), LocalDate.now().plusDays(1),
+                                                type, payer),
+                                "A hotel that was never added to the chain should be rejected");
+        }
+
         @Test
         void testMakeReservation_DelegatesToHotel_Success() {
                 // Arrange
@@ -136,6 +226,72 @@ class HotelChainTest {
                                 "Room should be back to FREE state after checkout");
         }
 
+        @Test
+        void testGetRemainingCapacity_SumsAcrossHotels() {
+                // Arrange
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+                Hotel secondHotel = new Hotel("Hotel Lutece");
+                secondHotel.addRoom(new Room(1, type));
+                secondHotel.addRoom(new Room(2, type));
+                chain.addHotel(secondHotel);
+                ReserverPayer payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                chain.makeReservation("Hotel Lutece", LocalDate.now(), LocalDate.now().plusDays(2), type, payer);
+
+                // Act
+                int remaining = chain.getRemainingCapacity(LocalDate.now(), LocalDate.now().plusDays(2), type);
+
+                // Assert
+                assertEquals(2, remaining, "One room in each hotel should still be sellable");
+        }
+
+        @Test
+        void testGetRemainingCapacity_HotelsWithDifferentWindows_CountsHotelsCoveringStay() {
+                // Arrange
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+                Hotel secondHotel = chain.createHotel("Hotel Lutece");
+                secondHotel.addRoom(new Room(1, type));
+                secondHotel.addRoom(new Room(2, type));
+                secondHotel.advanceCalendar(LocalDate.now().plusDays(10));
+                LocalDate lateStart = LocalDate.now().plusYears(2).plusDays(5);
+
+                // Act
+                int early = chain.getRemainingCapacity(LocalDate.now(), LocalDate.now().plusDays(2), type);
+                int late = chain.getRemainingCapacity(lateStart, lateStart.plusDays(2), type);
+
+                // Assert
+                assertEquals(1, early, "Only the hotel whose window covers the stay should count");
+                assertEquals(2, late, "The advanced hotel should count past the other hotel's window");
+        }
+
+        @Test
+        void testCreateReservations_BatchAcrossHotels_Success() {
+                // Arrange
+                RoomType type = hotel.getRooms().get(0).getRoomType();
+                Hotel secondHotel = chain.createHotel("Hotel Lutece");
+                secondHotel.addRoom(new Room(1, type));
+                ReserverPayer payer = chain.createReserverPayer(new Identity("ID", "1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                LocalDate start = LocalDate.now();
+                LocalDate end = start.plusDays(1);
+                List<BookingRequest> requests = List.of(
+                                new BookingRequest("Hotel Lutece", start, end, type, payer),
+                                new BookingRequest("Ghost Hotel", start, end, type, payer),
+                                new BookingRequest("The Grand Budapest", start, end, type, payer),
+                                new BookingRequest("Hotel Lutece", start, end, type, payer));
+
+                // Act
+                List<BookingResult> results = chain.createReservations(requests);
+
+                // Assert
+                assertTrue(results.get(0).isSuccessful(), "First Lutece booking should succeed");
+                assertFalse(results.get(1).isSuccessful(), "Unknown hotel should fail without throwing");
+                assertTrue(results.get(2).isSuccessful(), "Budapest booking should succeed");
+                assertFalse(results.get(3).isSuccessful(), "Lutece has only one room");
+                assertSame(secondHotel.getRooms().get(0), results.get(0).getReservation().getRoom(),
+                                "Results should stay aligned with their requests");
+        }
+
         @Test
         void testCreateReserverPayer_ValidInputs_Success() {
                 // Arrange
@@ -0,0 +1,137 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class HotelConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    private Hotel hotel;
+    private List<RoomType> roomTypes;
+    private Map<RoomType, Integer> roomsPerType;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel("The Grand Budapest");
+        roomTypes = List.of(
+                new RoomType(RoomKind.SINGLE, new Money(75.0, "USD")),
+                new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD")),
+                new RoomType(RoomKind.SUITE, new Money(400.0, "USD")));
+        roomsPerType = new HashMap<>();
+        int roomNumber = 100;
+        for (RoomType type : roomTypes) {
+            int count = type.getKind() == RoomKind.SUITE ? 5 : 20;
+            for (int i = 0; i < count; i++) {
+                hotel.addRoom(new Room(roomNumber++, type));
+            }
+            roomsPerType.put(type, count);
+        }
+        payer = new ReserverPayer(new Identity("Passport", "P123"),
+                new CreditCard("1234567890123", "12/25", "111"));
+    }
+
+    /**
+     * Starts all tasks at once and waits for them to finish.
+     */
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                startGate.await();
+                task.run();
+                return null;
+            }));
+        }
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    void testCreateReservation_ManyThreadsSameDates_NoOverbooking() throws Exception {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(5);
+        LocalDate end = start.plusDays(3);
+        Map<RoomType, AtomicInteger> booked = new HashMap<>();
+        roomTypes.forEach(type -> booked.put(type, new AtomicInteger()));
+
+        // Act
+        runConcurrently(() -> {
+            for (int attempt = 0; attempt < 20; attempt++) {
+                RoomType type = roomTypes.get(ThreadLocalRandom.current().nextInt(roomTypes.size()));
+                try {
+                    hotel.createReservation(start, end, type, payer);
+                    booked.get(type).incrementAndGet();
+                } catch (HotelException e) {
+                    // Sold out for this type
+                }
+            }
+        });
+
+        // Assert
+        for (RoomType type : roomTypes) {
+            assertEquals(roomsPerType.get(type), booked.get(type).get(),
+                    "Exactly one booking per " + type.getKind() + " room should succeed");
+            assertEquals(0, hotel.getRemainingCapacity(start, end, type),
+                    type.getKind() + " capacity should be fully sold");
+        }
+        assertEquals(hotel.getRooms().size(), hotel.getReservations().stream()
+                .map(Reservation::getRoom).distinct().count(), "No room should be assigned twice");
+        assertTrue(hotel.getRooms().stream().allMatch(Room::isBooked), "Every room should end up RESERVED");
+    }
+
+    @Test
+    void testBookAndCancel_ManyThreads_IndexesStayConsistent() throws Exception {
+        // Act
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < 200; attempt++) {
+                RoomType type = roomTypes.get(random.nextInt(roomTypes.size()));
+                LocalDate start = LocalDate.now().plusDays(random.nextInt(30));
+                try {
+                    Reservation res = hotel.createReservation(start, start.plusDays(1 + random.nextInt(5)), type,
+                            payer);
+                    if (random.nextBoolean()) {
+                        hotel.cancelReservation(res.getReservationNumber());
+                    }
+                } catch (HotelException e) {
+                    // Sold out for these dates
+                }
+            }
+        });
+
+        // Assert
+        List<Reservation> active = hotel.getReservations();
+        assertEquals(active.size(), hotel.getRooms().stream().filter(Room::isBooked).count(),
+                "Every active reservation should hold exactly one RESERVED room");
+        for (RoomType type : roomTypes) {
+            long activeOfType = active.stream().filter(r -> r.getRoom().getRoomType().equals(type)).count();
+            int free = hotel.countAvailableRooms(LocalDate.now(), LocalDate.now().plusDays(40), type);
+            assertEquals(roomsPerType.get(type) - activeOfType, free,
+                    type.getKind() + " rooms without a reservation should be available");
+        }
+    }
+}
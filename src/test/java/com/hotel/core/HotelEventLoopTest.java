@@ -0,0 +1,249 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class HotelEventLoopTest {
+
+        private static final LocalDate START = LocalDate.now().plusDays(1);
+        private static final LocalDate END = START.plusDays(2);
+
+        private Hotel hotel;
+        private RoomType type;
+        private ReserverPayer payer;
+        private HotelEventLoop loop;
+
+        @BeforeEach
+        void setUp() {
+                hotel = new Hotel("The Grand Budapest");
+                type = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+                hotel.addRoom(new Room(101, type));
+                payer = new ReserverPayer(new Identity("ID", "1"), new CreditCard("1234567890123", "12/25", "123"));
+                loop = new HotelEventLoop(hotel);
+        }
+
+        @AfterEach
+        void tearDown() {
+                loop.close();
+        }
+
+        @Test
+        void testCreateReservation_VisibleInSnapshotOnceComplete() throws Exception {
+                // Act
+                Reservation reservation = loop.createReservation(START, END, type, payer).get();
+
+                // Assert
+                HotelSnapshot snapshot = loop.getSnapshot();
+                assertEquals(1, snapshot.getSequence(), "One command should have been applied");
+                assertEquals(reservation, snapshot.findReservation(reservation.getReservationNumber()).orElseThrow(),
+                                "Snapshot should contain the new reservation");
+                assertEquals(RoomState.RESERVED, snapshot.getRoomStates().get(101), "Snapshot should show the room reserved");
+        }
+
+        @Test
+        void testCommands_AppliedInSubmissionOrder() throws Exception {
+                // Arrange
+                loop.addRoom(new Room(102, type));
+                CompletableFuture<Reservation> first = loop.createReservation(START, END, type, payer);
+                CompletableFuture<Reservation> second = loop.createReservation(START, END, type, payer);
+
+                // Act
+                CompletableFuture<Reservation> third = loop.createReservation(START, END, type, payer);
+
+                // Assert
+                assertNotEquals(first.get().getRoom(), second.get().getRoom(), "Queued bookings should take different rooms");
+                ExecutionException thrown = assertThrows(ExecutionException.class, third::get,
+                                "Third booking should find the hotel full");
+                assertInstanceOf(HotelException.class, thrown.getCause(), "Failure should carry the HotelException");
+        }
+
+        @Test
+        void testConcurrentCallers_EachRoomBookedOnce() throws Exception {
+                // Arrange
+                for (int number = 1; number <= 30; number++) {
+                        loop.addRoom(new Room(number, type));
+                }
+                List<CompletableFuture<Reservation>> futures = new ArrayList<>();
+                List<Thread> callers = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                        callers.add(Thread.ofPlatform().start(() -> {
+                                for (int i = 0; i < 5; i++) {
+                                        CompletableFuture<Reservation> future = loop.createReservation(START, END, type, payer);
+                                        synchronized (futures) {
+                                                futures.add(future);
+                                        }
+                                }
+                        }));
+                }
+                for (Thread caller : callers) {
+                        caller.join();
+                }
+
+                // Act
+                int booked = 0;
+                for (CompletableFuture<Reservation> future : futures) {
+                        try {
+                                future.get();
+                                booked++;
+                        } catch (ExecutionException e) {
+                                assertInstanceOf(HotelException.class, e.getCause(), "Sold out bookings should fail");
+                        }
+                }
+
+                // Assert
+                assertEquals(31, booked, "Every room should be booked exactly once");
+                assertEquals(31, loop.getSnapshot().getReservations().size(), "Snapshot should list every booking");
+        }
+
+        @Test
+        void testCheckInAndOut_ThroughLoop() throws Exception {
+                // Arrange
+                loop.createReservation(START, END, type, payer).get();
+                Guest guest = new Guest("John", new Address("Street", "City", "12345"), new Identity("ID", "2"));
+
+                // Act
+                loop.checkInGuest(101, guest).get();
+                RoomState afterCheckIn = loop.getSnapshot().getRoomStates().get(101);
+                loop.checkOutGuest(101).get();
+
+                // Assert
+                assertEquals(RoomState.OCCUPIED, afterCheckIn, "Snapshot should show the room occupied after check-in");
+                assertEquals(RoomState.FREE, loop.getSnapshot().getRoomStates().get(101), "Room should be free after check-out");
+        }
+
+        @Test
+        void testCancelReservation_NewSnapshotDropsItAndOldOneKeepsIt() throws Exception {
+                // Arrange
+                loop.close();
+                Reservation existing = hotel.createReservation(START, END, type, payer);
+                hotel.addRoom(new Room(102, type));
+                loop = new HotelEventLoop(hotel);
+                Reservation booked = loop.createReservation(START, END, type, payer).get();
+                HotelSnapshot before = loop.getSnapshot();
+
+                // Act
+                loop.cancelReservation(existing.getReservationNumber()).get();
+                HotelSnapshot after = loop.getSnapshot();
+
+                // Assert
+                assertEquals(List.of(existing, booked), before.getReservations(),
+                                "Reservations made before the loop started should be listed");
+                assertEquals(List.of(booked), after.getReservations(), "Cancelled reservation should be gone");
+                assertTrue(after.findReservation(existing.getReservationNumber()).isEmpty(),
+                                "Cancelled reservation should not be found");
+                assertEquals(2, before.getReservations().size(), "Earlier snapshots should not change");
+        }
+
+        @Test
+        void testSubmitAfterClose_Fails() {
+                // Arrange
+                loop.close();
+
+                // Act
+                CompletableFuture<Void> future = loop.cancelReservation(1);
+
+                // Assert
+                ExecutionException thrown = assertThrows(ExecutionException.class, future::get,
+                                "Commands after close should be rejected");
+                assertInstanceOf(HotelException.class, thrown.getCause(), "Rejection should be a HotelException");
+        }
+
+        @Test
+        void testBatch_ListenersCompleteItsChangesOnce() throws Exception {
+                // Arrange
+                CountDownLatch entered = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                AtomicInteger completions = new AtomicInteger();
+                hotel.addListener(new HotelEventListener() {
+                        @Override
+                        public void roomAdded(Hotel changed, Room room) {
+                                if (room.getNumber() == 102) {
+                                        entered.countDown();
+                                        awaitQuietly(release);
+                                }
+                        }
+
+                        @Override
+                        public void afterChange(Hotel changed) {
+                                completions.incrementAndGet();
+                        }
+                });
+                CompletableFuture<Void> blocking = loop.addRoom(new Room(102, type));
+                entered.await();
+                List<CompletableFuture<Void>> queued = new ArrayList<>();
+                for (int number = 201; number <= 210; number++) {
+                        queued.add(loop.addRoom(new Room(number, type)));
+                }
+
+                // Act
+                release.countDown();
+                CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get();
+
+                // Assert
+                assertNull(blocking.get(), "First command should succeed");
+                assertEquals(2, completions.get(), "Each batch should complete its changes once, not once per command");
+        }
+
+        @Test
+        void testCommandThrowingError_FailsItsFutureAndWriterKeepsGoing() throws Exception {
+                // Arrange
+                hotel.addListener(new HotelEventListener() {
+                        @Override
+                        public void roomAdded(Hotel changed, Room room) {
+                                if (room.getNumber() == 102) {
+                                        throw new AssertionError("Listener broke");
+                                }
+                        }
+                });
+
+                // Act
+                CompletableFuture<Void> broken = loop.addRoom(new Room(102, type));
+                CompletableFuture<Void> next = loop.addRoom(new Room(103, type));
+
+                // Assert
+                ExecutionException thrown = assertThrows(ExecutionException.class, broken::get,
+                                "Error should reach the command's caller");
+                assertInstanceOf(AssertionError.class, thrown.getCause(), "Failure should carry the Error");
+                assertNull(next.get(), "Writer should keep applying commands");
+        }
+
+        @Test
+        void testCloseFromWriterThread_FailsThatCommand() throws Exception {
+                // Arrange
+                hotel.addListener(new HotelEventListener() {
+                        @Override
+                        public void afterChange(Hotel changed) {
+                                loop.close();
+                        }
+                });
+
+                // Act
+                CompletableFuture<Void> future = loop.addRoom(new Room(102, type));
+
+                // Assert
+                ExecutionException thrown = assertThrows(ExecutionException.class, future::get,
+                                "Closing from the writer should fail instead of waiting for itself");
+                assertInstanceOf(IllegalStateException.class, thrown.getCause(), "Failure should be an IllegalStateException");
+        }
+
+        private static void awaitQuietly(CountDownLatch latch) {
+                try {
+                        latch.await();
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+}
@@ -6,7 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
 
 import com.hotel.domain.*;
 import com.hotel.exception.HotelException;
@@ -106,6 +109,108 @@ class HotelTest {
         assertFalse(available, "Room should be unavailable if state is RESERVED (strictly following UML state chart)");
     }
 
+    @Test
+    void testAvailability_AfterCheckOut_PastStayStillBlocksItsDates() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = LocalDate.now().plusDays(15);
+        Reservation res = hotel.createReservation(start, end, doubleRoomType, payer);
+        res.getRoom().checkInGuest(new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1")));
+        res.getRoom().checkOutGuest();
+
+        // Act & Assert
+        assertFalse(hotel.available(start.plusDays(2), end.plusDays(2), doubleRoomType),
+                "Dates overlapping a recorded stay should not be available");
+        assertTrue(hotel.available(end, end.plusDays(3), doubleRoomType),
+                "Dates starting on the previous check-out day should be available");
+    }
+
+    @Test
+    void testCreateReservations_Batch_ReturnsResultPerRequestInOrder() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        RoomType suiteType = new RoomType(RoomKind.SUITE, new Money(400.0, "USD"));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("The Grand Budapest", start, end, doubleRoomType, payer),
+                new BookingRequest("The Grand Budapest", start, end, suiteType, payer),
+                new BookingRequest("the grand budapest", start, end, doubleRoomType, payer),
+                new BookingRequest("The Grand Budapest", start, end, doubleRoomType, payer),
+                new BookingRequest("Hotel Lutece", start, end, doubleRoomType, payer));
+
+        // Act
+        List<BookingResult> results = hotel.createReservations(requests);
+
+        // Assert
+        assertEquals(5, results.size(), "Every request should get a result");
+        assertTrue(results.get(0).isSuccessful(), "First DOUBLE request should be booked");
+        assertFalse(results.get(1).isSuccessful(), "SUITE is not stocked by this hotel");
+        assertTrue(results.get(2).isSuccessful(), "Second DOUBLE request should be booked");
+        assertFalse(results.get(3).isSuccessful(), "Third DOUBLE request should find the type sold out");
+        assertNotNull(results.get(3).getFailureReason(), "Failures should carry a reason");
+        assertFalse(results.get(4).isSuccessful(), "Requests for another hotel should be rejected");
+        assertNotEquals(results.get(0).getReservation().getRoom(), results.get(2).getReservation().getRoom(),
+                "Batch bookings should never share a room");
+        assertEquals(2, hotel.getReservations().size(), "Only successful requests should be recorded");
+    }
+
+    @Test
+    void testCreateGroupReservation_EnoughRooms_BooksAll() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(3);
+
+        // Act
+        List<Reservation> group = hotel.createGroupReservation(start, end, doubleRoomType, 3, payer);
+
+        // Assert
+        assertEquals(3, group.size(), "Every requested room should be booked");
+        assertEquals(3, group.stream().map(Reservation::getRoom).distinct().count(), "Rooms should be distinct");
+        assertEquals(0, hotel.getRemainingCapacity(start, end, doubleRoomType), "Type should be sold out");
+    }
+
+    @Test
+    void testCreateGroupReservation_NotEnoughRooms_BooksNothing() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(3);
+
+        // Act & Assert
+        assertThrows(HotelException.class,
+                () -> hotel.createGroupReservation(start, end, doubleRoomType, 3, payer),
+                "A group that cannot be completed should throw HotelException");
+        assertEquals(0, hotel.getReservations().size(), "No reservation should be left behind");
+        assertTrue(hotel.getRooms().stream().allMatch(Room::isFree), "Every room should still be FREE");
+    }
+
+    @Test
+    void testCreateGroupReservation_InvalidPayer_LeavesRoomsFree() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(3);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.createGroupReservation(start, end, doubleRoomType, 2, null),
+                "A group without payer should be rejected");
+        assertTrue(hotel.getRooms().stream().allMatch(Room::isFree), "Claimed rooms should be released");
+        assertEquals(2, hotel.getRemainingCapacity(start, end, doubleRoomType), "No nights should stay sold");
+    }
+
+    @Test
+    void testCreateGroupReservation_InvalidCount_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.createGroupReservation(LocalDate.now(), LocalDate.now().plusDays(1), doubleRoomType, 0,
+                        payer),
+                "Group size of zero should throw IllegalArgumentException");
+    }
+
     @Test
     void testCancelReservation_ValidReservation_Success() {
         // Arrange
@@ -122,6 +227,25 @@ class HotelTest {
         assertEquals(0, hotel.getReservations().size(), "Reservation record should be removed from the system");
     }
 
+    @Test
+    void testCancelReservation_ThenBookAgain_IssuesNewNumber() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now();
+        LocalDate end = LocalDate.now().plusDays(3);
+        Reservation first = hotel.createReservation(start, end, doubleRoomType, payer);
+        Reservation second = hotel.createReservation(start, end, doubleRoomType, payer);
+        hotel.cancelReservation(first.getReservationNumber());
+
+        // Act
+        Reservation third = hotel.createReservation(start, end, doubleRoomType, payer);
+
+        // Assert
+        assertNotEquals(second.getReservationNumber(), third.getReservationNumber(),
+                "Reservation numbers should not be reused after a cancellation");
+        assertEquals(2, hotel.getReservations().size(), "Both active reservations should be kept");
+    }
+
     @Test
     void testCancelReservation_InvalidNumber_ThrowsException() {
         // Act & Assert
@@ -129,6 +253,29 @@ class HotelTest {
                 "Cancelling non-existent reservation should throw HotelException");
     }
 
+    @Test
+    void testCheckInAndCheckOut_ThroughHotel_Success() {
+        // Arrange
+        hotel.createReservation(LocalDate.now(), LocalDate.now().plusDays(1), doubleRoomType, payer);
+        Guest guest = new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1"));
+
+        // Act & Assert
+        hotel.checkInGuest(101, guest);
+        assertEquals(RoomState.OCCUPIED, hotel.getRooms().get(0).getState(), "Room should be OCCUPIED after check-in");
+        hotel.checkOutGuest(101);
+        assertEquals(RoomState.FREE, hotel.getRooms().get(0).getState(), "Room should be FREE after check-out");
+    }
+
+    @Test
+    void testCheckInGuest_UnknownRoom_ThrowsException() {
+        // Arrange
+        Guest guest = new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1"));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.checkInGuest(999, guest),
+                "Checking in to a room the hotel does not have should throw HotelException");
+    }
+
     @Test
     void testAddRoom_ValidRoom_Success() {
         // Arrange
@@ -143,6 +290,98 @@ class HotelTest {
         assertTrue(hotel.getRooms().contains(newRoom), "New room should be present in the inventory");
     }
 
+    @Test
+    void testCountAvailableRooms_CountsOnlyFreeRoomsOfType() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, doubleRoomType));
+        hotel.addRoom(new Room(104, new RoomType(RoomKind.SINGLE, new Money(75.0, "USD"))));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(4);
+        hotel.createReservation(start, end, doubleRoomType, payer);
+
+        // Act
+        int count = hotel.countAvailableRooms(start, end, doubleRoomType);
+
+        // Assert
+        assertEquals(2, count, "Two DOUBLE rooms should remain free for the stay");
+    }
+
+    @Test
+    void testGetRemainingCapacity_TracksCreateAndCancel() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation first = hotel.createReservation(start, start.plusDays(5), doubleRoomType, payer);
+        hotel.createReservation(start.plusDays(3), start.plusDays(8), doubleRoomType, payer);
+
+        // Act & Assert
+        assertEquals(1, hotel.getRemainingCapacity(start, start.plusDays(8), doubleRoomType),
+                "Only one room should remain on the night both stays overlap");
+        assertEquals(2, hotel.getRemainingCapacity(start.plusDays(5), start.plusDays(8), doubleRoomType),
+                "Two rooms should remain once the first stay has ended");
+
+        hotel.cancelReservation(first.getReservationNumber());
+        assertEquals(2, hotel.getRemainingCapacity(start, start.plusDays(8), doubleRoomType),
+                "Cancelled nights should return to the inventory");
+    }
+
+    @Test
+    void testGetRemainingCapacity_OutsideCalendarWindow_ThrowsException() {
+        // Arrange
+        LocalDate farFuture = LocalDate.now().plusYears(5);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.getRemainingCapacity(farFuture, farFuture.plusDays(1), doubleRoomType),
+                "Capacity outside the tracked window should be rejected");
+    }
+
+    @Test
+    void testCreateReservation_MixedInventory_AssignsRoomOfRequestedType() {
+        // Arrange
+        RoomType suiteType = new RoomType(RoomKind.SUITE, new Money(400.0, "USD"));
+        hotel.addRoom(new Room(102, new RoomType(RoomKind.SINGLE, new Money(75.0, "USD"))));
+        hotel.addRoom(new Room(501, suiteType));
+        LocalDate start = LocalDate.now();
+        LocalDate end = LocalDate.now().plusDays(2);
+
+        // Act
+        Reservation res = hotel.createReservation(start, end, suiteType, payer);
+
+        // Assert
+        assertEquals(501, res.getRoom().getNumber(), "Only a room of the requested type should be assigned");
+    }
+
+    @Test
+    void testAvailability_UnknownRoomType_ReturnsFalse() {
+        // Arrange
+        RoomType familyType = new RoomType(RoomKind.FAMILY, new Money(250.0, "USD"));
+
+        // Act & Assert
+        assertFalse(hotel.available(LocalDate.now(), LocalDate.now().plusDays(1), familyType),
+                "A room type the hotel does not stock should never be available");
+    }
+
+    @Test
+    void testAddRoom_DuplicateNumber_ThrowsException() {
+        // Arrange
+        Room duplicate = new Room(101, new RoomType(RoomKind.SUITE, new Money(400.0, "USD")));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.addRoom(duplicate),
+                "Adding a second room with the same number should throw HotelException");
+        assertEquals(1, hotel.getRooms().size(), "Rejected room should not be added");
+    }
+
+    @Test
+    void testFindRoom_ByNumber() {
+        // Act & Assert
+        assertEquals(101, hotel.findRoom(101).orElseThrow().getNumber(), "Existing room should be found");
+        assertTrue(hotel.findRoom(999).isEmpty(), "Unknown room numbers should not be found");
+    }
+
     @Test
     void testAddRoom_NullRoom_ThrowsException() {
         // Act & Assert
@@ -167,4 +406,226 @@ class HotelTest {
                 () -> hotel.getReservations().clear(),
                 "Reservations list should be unmodifiable to protect data integrity");
     }
+
+    @Test
+    void testRestoreReservation_KeepsNumberAndRoom() {
+        // Arrange
+        LocalDate start = LocalDate.now();
+        LocalDate end = LocalDate.now().plusDays(3);
+        hotel.addRoom(new Room(102, doubleRoomType));
+
+        // Act
+        Reservation restored = hotel.restoreReservation(500, 101, start, end, payer, null);
+        Reservation next = hotel.createReservation(end, end.plusDays(1), doubleRoomType, payer);
+
+        // Assert
+        assertEquals(500, restored.getReservationNumber(), "Restored reservation should keep its number");
+        assertEquals(RoomState.RESERVED, restored.getRoom().getState(), "Restored room should be reserved");
+        assertTrue(next.getReservationNumber() > 500, "New numbers should continue after restored ones");
+    }
+
+    @Test
+    void testListener_ReceivesChangesInOrder() {
+        // Arrange
+        List<String> events = new java.util.ArrayList<>();
+        hotel.addListener(new HotelEventListener() {
+            @Override
+            public void reservationCreated(Hotel changed, Reservation reservation) {
+                events.add("created");
+            }
+
+            @Override
+            public void reservationCancelled(Hotel changed, Reservation reservation) {
+                events.add("cancelled");
+            }
+
+            @Override
+            public void afterChange(Hotel changed) {
+                events.add("done");
+            }
+        });
+
+        // Act
+        Reservation reservation = hotel.createReservation(LocalDate.now(), LocalDate.now().plusDays(1),
+                doubleRoomType, payer);
+        hotel.cancelReservation(reservation.getReservationNumber());
+
+        // Assert
+        assertEquals(List.of("created", "done", "cancelled", "done"), events,
+                "Listener should see each change followed by its completion");
+    }
+
+    @Test
+    void testOffHeapStorage_BookCancelAndList() {
+        // Arrange
+        Hotel offHeap = new Hotel("Off Heap Inn", new ReservationNumberGenerator(), ReservationStorage.OFF_HEAP);
+        offHeap.addRoom(new Room(1, doubleRoomType));
+        offHeap.addRoom(new Room(2, doubleRoomType));
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        // Act
+        Reservation first = offHeap.createReservation(start, end, doubleRoomType, payer);
+        Reservation second = offHeap.createReservation(start, end, doubleRoomType, payer);
+        offHeap.cancelReservation(first.getReservationNumber());
+        offHeap.advanceCalendar(start.plusDays(1));
+
+        // Assert
+        assertEquals(List.of(second), offHeap.getReservations(), "Only the remaining reservation should be listed");
+        assertEquals(RoomState.FREE, first.getRoom().getState(), "Cancelled room should be free");
+        assertEquals(1, offHeap.getRemainingCapacity(start.plusDays(1), end, doubleRoomType),
+                "Capacity should be recounted from the off-heap records");
+        int[] visited = new int[1];
+        offHeap.forEachReservation(view -> visited[0]++);
+        assertEquals(1, visited[0], "Views should cover every stored reservation");
+    }
+
+    @Test
+    void testOccupancyCurve_RatesRiseAsNightsFillUp() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+        LocalDate start = LocalDate.now();
+
+        // Act
+        hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Assert
+        assertEquals(List.of(new Money(150.0, "USD"), new Money(150.0, "USD"), new Money(100.0, "USD")),
+                hotel.getNightlyRates(start, start.plusDays(3), doubleRoomType),
+                "Half-sold nights should cost the higher multiplier");
+    }
+
+    @Test
+    void testOccupancyCurve_ReservationLocksInItsRates() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+        LocalDate start = LocalDate.now();
+        Reservation first = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Act
+        Reservation second = hotel.createReservation(start.plusDays(1), start.plusDays(3), doubleRoomType, payer);
+
+        // Assert
+        assertTrue(first.hasLockedRates(), "Dynamic bookings should lock in their rates");
+        assertEquals(new Money(200.0, "USD"), first.getTotalCost(), "Later bookings should not reprice the first");
+        assertEquals(List.of(new Money(150.0, "USD"), new Money(100.0, "USD")), second.getNightlyRates(),
+                "The second booking should pay the rates quoted when it was made");
+    }
+
+    @Test
+    void testOccupancyCurve_CancellationLowersRates() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+        LocalDate start = LocalDate.now();
+        Reservation reservation = hotel.createReservation(start, start.plusDays(1), doubleRoomType, payer);
+
+        // Act
+        hotel.cancelReservation(reservation.getReservationNumber());
+
+        // Assert
+        assertEquals(List.of(new Money(100.0, "USD")), hotel.getNightlyRates(start, start.plusDays(1), doubleRoomType),
+                "A freed night should go back to the base rate");
+    }
+
+    @Test
+    void testOccupancyCurve_OffHeapStorageKeepsLockedRates() {
+        // Arrange
+        Hotel offHeap = new Hotel("Off Heap Inn", new ReservationNumberGenerator(), ReservationStorage.OFF_HEAP);
+        offHeap.addRoom(new Room(1, doubleRoomType));
+        offHeap.addRoom(new Room(2, doubleRoomType));
+        offHeap.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+        LocalDate start = LocalDate.now();
+        offHeap.createReservation(start, start.plusDays(1), doubleRoomType, payer);
+
+        // Act
+        Reservation second = offHeap.createReservation(start, start.plusDays(1), doubleRoomType, payer);
+
+        // Assert
+        Reservation stored = offHeap.getReservations().stream()
+                .filter(r -> r.getReservationNumber() == second.getReservationNumber())
+                .findFirst().orElseThrow();
+        assertEquals(new Money(150.0, "USD"), stored.getTotalCost(), "Off-heap records should keep the locked rates");
+    }
+
+    @Test
+    void testSetOccupancyCurve_FractionalBaseRate_Throws() {
+        // Arrange
+        hotel.addRoom(new Room(201, new RoomType(RoomKind.SINGLE, new Money(new BigDecimal("10.005"),
+                Currency.getInstance("USD")))));
+        OccupancyCurve curve = new OccupancyCurve(new double[] {0}, new double[] {1.0});
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hotel.setOccupancyCurve(curve),
+                "Base rates below a minor unit cannot be priced dynamically");
+    }
+
+    @Test
+    void testAvailable_RepeatedQuestion_ServedFromCache() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        hotel.available(start, end, doubleRoomType);
+
+        // Act
+        boolean available = hotel.available(start, end, doubleRoomType);
+
+        // Assert
+        AvailabilityCacheStats stats = hotel.getAvailabilityCacheStats();
+        assertTrue(available, "Cached answer should match the first one");
+        assertEquals(1, stats.getMissCount(), "First question should be worked out");
+        assertEquals(1, stats.getHitCount(), "Repeated question should come from the cache");
+    }
+
+    @Test
+    void testAvailable_ChangesRetireOnlyTheAffectedType() {
+        // Arrange
+        RoomType singleType = new RoomType(RoomKind.SINGLE, new Money(60.0, "USD"));
+        hotel.addRoom(new Room(201, singleType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        hotel.available(start, end, doubleRoomType);
+        hotel.available(start, end, singleType);
+
+        // Act
+        Reservation reservation = hotel.createReservation(start, end, doubleRoomType, payer);
+        boolean doubleAvailable = hotel.available(start, end, doubleRoomType);
+        boolean singleAvailable = hotel.available(start, end, singleType);
+
+        // Assert
+        AvailabilityCacheStats stats = hotel.getAvailabilityCacheStats();
+        assertFalse(doubleAvailable, "Booked type should be worked out again");
+        assertTrue(singleAvailable, "Untouched type should still be available");
+        assertEquals(1, stats.getHitCount(), "Only the untouched type should be a hit");
+        assertEquals(3, stats.getMissCount(), "The booked type should miss after its change");
+
+        // Act
+        hotel.cancelReservation(reservation.getReservationNumber());
+
+        // Assert
+        assertTrue(hotel.available(start, end, doubleRoomType), "Cancellation should retire the cached answer");
+    }
+
+    @Test
+    void testAvailable_CheckOutAndNewRoomRetireCachedAnswers() {
+        // Arrange
+        LocalDate start = LocalDate.now();
+        Reservation reservation = hotel.createReservation(start, start.plusDays(1), doubleRoomType, payer);
+        hotel.checkInGuest(reservation.getRoom().getNumber(),
+                new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1")));
+        LocalDate later = start.plusDays(5);
+        assertFalse(hotel.available(later, later.plusDays(1), doubleRoomType), "Occupied room should not be available");
+
+        // Act
+        hotel.checkOutGuest(reservation.getRoom().getNumber());
+
+        // Assert
+        assertTrue(hotel.available(later, later.plusDays(1), doubleRoomType), "Check-out should retire the cached answer");
+        hotel.createReservation(later, later.plusDays(1), doubleRoomType, payer);
+        assertFalse(hotel.available(later, later.plusDays(1), doubleRoomType), "The only room is now booked");
+        hotel.addRoom(new Room(102, doubleRoomType));
+        assertTrue(hotel.available(later, later.plusDays(1), doubleRoomType), "A new room should retire the cached answer");
+    }
 }
@@ -0,0 +1,45 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class OccupancyCurveTest {
+
+    private final OccupancyCurve curve = new OccupancyCurve(new double[] {0, 0.5, 0.9}, new double[] {1.0, 1.2, 1.5});
+
+    @Test
+    void testMultiplierAt_StepsAtEachThreshold() {
+        // Act & Assert
+        assertEquals(1.0, curve.multiplierAt(0.0), "An empty night should cost the base rate");
+        assertEquals(1.0, curve.multiplierAt(0.49), "Below the first threshold should cost the base rate");
+        assertEquals(1.2, curve.multiplierAt(0.5), "A threshold should start its own band");
+        assertEquals(1.5, curve.multiplierAt(1.0), "A full night should cost the top multiplier");
+    }
+
+    @Test
+    void testBasisPointsBySold_OneEntryPerRoomCount() {
+        // Act
+        int[] bySold = curve.basisPointsBySold(4);
+
+        // Assert
+        assertArrayEquals(new int[] {10_000, 10_000, 12_000, 12_000, 15_000}, bySold,
+                "Each count of rooms sold should map to its band's multiplier");
+    }
+
+    @Test
+    void testConstructor_InvalidCurves_Throw() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new OccupancyCurve(new double[] {0.1}, new double[] {1.0}),
+                "The curve should start at zero occupancy");
+        assertThrows(IllegalArgumentException.class,
+                () -> new OccupancyCurve(new double[] {0, 0.8, 0.6}, new double[] {1.0, 1.2, 1.4}),
+                "Thresholds should increase");
+        assertThrows(IllegalArgumentException.class,
+                () -> new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0}),
+                "Each threshold should need a multiplier");
+        assertThrows(IllegalArgumentException.class,
+                () -> new OccupancyCurve(new double[] {0}, new double[] {0}),
+                "Multipliers should be positive");
+    }
+}
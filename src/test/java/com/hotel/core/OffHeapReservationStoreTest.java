@@ -0,0 +1,155 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class OffHeapReservationStoreTest {
+
+    private OffHeapReservationStore store;
+    private Room room;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapReservationStore(2);
+        room = new Room(101, new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD")));
+        payer = new ReserverPayer(new Identity("Passport", "P123"),
+                new CreditCard("1234567890123", "12/25", "111"));
+    }
+
+    private Reservation reservation(int number) {
+        LocalDate start = LocalDate.of(2026, 1, 1).plusDays(number * 10L);
+        return new Reservation(number, start, start.plusDays(2), payer, room);
+    }
+
+    @Test
+    void testFind_ReturnsEquivalentReservation() {
+        // Arrange
+        Reservation res = reservation(7);
+        store.add(res);
+
+        // Act
+        Reservation found = store.find(7);
+
+        // Assert
+        assertEquals(res, found, "Reservation should be found by its number");
+        assertEquals(res.getStartDate(), found.getStartDate(), "Start date should be stored");
+        assertEquals(res.getEndDate(), found.getEndDate(), "End date should be stored");
+        assertSame(room, found.getRoom(), "Room should be the stored instance");
+        assertSame(payer, found.getPayer(), "Payer should be the stored instance");
+        assertNull(store.find(8), "Unknown numbers should not be found");
+    }
+
+    @Test
+    void testAdd_DuplicateNumber_ThrowsException() {
+        // Arrange
+        store.add(reservation(1));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> store.add(reservation(1)),
+                "Duplicate reservation numbers should be rejected");
+    }
+
+    @Test
+    void testRemove_FreesSlotForReuse() {
+        // Arrange
+        store.add(reservation(1));
+        store.add(reservation(2));
+
+        // Act
+        Reservation removed = store.remove(1);
+        Reservation missing = store.remove(1);
+        store.add(reservation(3));
+
+        // Assert
+        assertEquals(1, removed.getReservationNumber(), "Removed reservation should be returned");
+        assertNull(missing, "Removing twice should return null");
+        assertEquals(2, store.size(), "Store should hold the remaining reservations");
+        assertEquals(List.of(2, 3), store.all().stream().map(Reservation::getReservationNumber).toList(),
+                "All reservations should be listed by number");
+    }
+
+    @Test
+    void testRemove_DropsPayerWithItsLastReservation() {
+        // Arrange
+        ReserverPayer other = new ReserverPayer(new Identity("Passport", "P456"),
+                new CreditCard("9876543210987", "12/25", "222"));
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        store.add(reservation(1));
+        store.add(reservation(2));
+        store.add(new Reservation(3, start, start.plusDays(1), other, room));
+
+        // Act
+        store.remove(1);
+        int afterFirst = store.payerCount();
+        store.remove(3);
+        int afterOther = store.payerCount();
+        ReserverPayer newcomer = new ReserverPayer(new Identity("Passport", "P789"),
+                new CreditCard("1111222233334", "12/25", "333"));
+        store.add(new Reservation(4, start, start.plusDays(1), newcomer, room));
+
+        // Assert
+        assertEquals(2, afterFirst, "A payer should stay while it has reservations");
+        assertEquals(1, afterOther, "A payer should be dropped with its last reservation");
+        assertSame(payer, store.find(2).getPayer(), "Remaining reservations should keep their payer");
+        assertSame(newcomer, store.find(4).getPayer(), "A reused payer entry should hold the new payer");
+        assertEquals(2, store.payerCount(), "Only payers with reservations should be held");
+    }
+
+    @Test
+    void testManyChanges_MatchHashMap() {
+        // Arrange
+        Random random = new Random(42);
+        Map<Integer, Reservation> expected = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            int number = random.nextInt(3_000);
+            if (random.nextBoolean() && !expected.containsKey(number)) {
+                Reservation res = reservation(number);
+                store.add(res);
+                expected.put(number, res);
+            } else {
+                assertEquals(expected.remove(number), store.remove(number), "Removal should match for #" + number);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), store.size(), "Sizes should match");
+        for (int number = 0; number < 3_000; number++) {
+            assertEquals(expected.get(number), store.find(number), "Lookup should match for #" + number);
+        }
+    }
+
+    @Test
+    void testForEach_ReusesOneView() {
+        // Arrange
+        for (int number = 1; number <= 5; number++) {
+            store.add(reservation(number));
+        }
+        List<ReservationView> views = new ArrayList<>();
+        List<Integer> numbers = new ArrayList<>();
+
+        // Act
+        store.forEach(view -> {
+            views.add(view);
+            numbers.add(view.getReservationNumber());
+            assertEquals(view.getStartDay() + 2, view.getEndDay(), "View should read the stored days");
+        });
+
+        // Assert
+        assertEquals(5, numbers.size(), "Every reservation should be visited");
+        assertTrue(views.stream().allMatch(view -> view == views.get(0)), "The same view should be reused");
+    }
+}
@@ -0,0 +1,94 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ReservationNumberGeneratorTest {
+
+    @Test
+    void testNext_SingleThread_CountsUpFromOne() {
+        // Arrange
+        ReservationNumberGenerator generator = new ReservationNumberGenerator();
+
+        // Act & Assert
+        for (int expected = 1; expected <= 200; expected++) {
+            assertEquals(expected, generator.next(), "Numbers from one thread should be sequential");
+        }
+    }
+
+    @Test
+    void testNext_SeededGenerator_StartsAfterLastIssued() {
+        // Arrange
+        ReservationNumberGenerator generator = new ReservationNumberGenerator(500, 16);
+
+        // Act & Assert
+        assertEquals(501, generator.next(), "First number should follow the last issued one");
+    }
+
+    @Test
+    void testAdvancePast_SkipsNumbersAlreadyInUse() {
+        // Arrange
+        ReservationNumberGenerator generator = new ReservationNumberGenerator();
+        generator.next();
+
+        // Act
+        generator.advancePast(1000);
+
+        // Assert
+        assertTrue(generator.next() > 1000, "Numbers after advancing should be above the given number");
+    }
+
+    @Test
+    void testConstructor_InvalidBlockSize_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ReservationNumberGenerator(0, 0),
+                "Block size of zero should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testNext_ConcurrentThreads_NumbersAreUnique() throws InterruptedException {
+        // Arrange
+        ReservationNumberGenerator generator = new ReservationNumberGenerator(0, 8);
+        Set<Integer> issued = ConcurrentHashMap.newKeySet();
+        int threads = 16;
+        int perThread = 5_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    issued.add(generator.next());
+                }
+            }));
+        }
+
+        // Act
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertEquals(threads * perThread, issued.size(), "Every issued number should be unique");
+    }
+
+    @Test
+    void testLastIssued_AdvancingPastIt_NeverRepeatsANumber() {
+        // Arrange
+        ReservationNumberGenerator generator = new ReservationNumberGenerator(0, 16);
+        int first = generator.next();
+        int second = generator.next();
+
+        // Act
+        ReservationNumberGenerator restored = new ReservationNumberGenerator();
+        restored.advancePast(generator.lastIssued());
+
+        // Assert
+        assertTrue(generator.lastIssued() >= Math.max(first, second), "Last issued should cover every number handed out");
+        assertTrue(restored.next() > generator.lastIssued(), "Restored generator should continue above the saved number");
+    }
+}
@@ -0,0 +1,99 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hotel.domain.*;
+
+class RoomNumberIndexTest {
+
+    private final RoomType type = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+
+    private List<Room> rooms(int... numbers) {
+        List<Room> rooms = new ArrayList<>();
+        for (int number : numbers) {
+            rooms.add(new Room(number, type));
+        }
+        return rooms;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 101, 102, 105 })
+    void testFind_CompactNumbers_ReturnsRoom(int number) {
+        // Arrange
+        RoomNumberIndex index = RoomNumberIndex.of(rooms(101, 102, 103, 104, 105));
+
+        // Act & Assert
+        assertEquals(number, index.find(number).getNumber(), "Room " + number + " should be found");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5000, -7, 1_000_000 })
+    void testFind_SparseNumbers_ReturnsRoom(int number) {
+        // Arrange
+        RoomNumberIndex index = RoomNumberIndex.of(rooms(1, 5000, -7, 1_000_000, 42));
+
+        // Act & Assert
+        assertEquals(number, index.find(number).getNumber(), "Room " + number + " should be found");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 100, 106, 3, Integer.MAX_VALUE, Integer.MIN_VALUE })
+    void testFind_UnknownNumber_ReturnsNull(int number) {
+        // Arrange
+        RoomNumberIndex dense = RoomNumberIndex.of(rooms(101, 102, 103, 104, 105));
+        RoomNumberIndex sparse = RoomNumberIndex.of(rooms(1, 5000, -7, 1_000_000, 42));
+
+        // Act & Assert
+        assertNull(dense.find(number), "Dense index should not find room " + number);
+        assertNull(sparse.find(number), "Sparse index should not find room " + number);
+    }
+
+    @Test
+    void testFind_EmptyIndex_ReturnsNull() {
+        // Act & Assert
+        assertNull(RoomNumberIndex.of(List.of()).find(101), "Empty index should find nothing");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3, 7, 40 })
+    void testWith_AddedOneByOne_FindsEveryRoom(int step) {
+        // Arrange
+        List<Room> added = new ArrayList<>();
+        RoomNumberIndex index = RoomNumberIndex.of(List.of());
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            // Alternate ends so the table grows both ways
+            Room room = new Room(i % 2 == 0 ? 1000 + i * step : 1000 - i * step, type);
+            added.add(room);
+            index = index.with(room);
+        }
+
+        // Assert
+        for (Room room : added) {
+            assertSame(room, index.find(room.getNumber()), "Room " + room.getNumber() + " should be found");
+        }
+        assertNull(index.find(999 + step * 1000), "Numbers never added should not be found");
+    }
+
+    @Test
+    void testWith_CompactThenSparse_KeepsEarlierRooms() {
+        // Arrange
+        RoomNumberIndex index = RoomNumberIndex.of(rooms(101, 102, 103));
+
+        // Act
+        index = index.with(new Room(1_000_000, type)).with(new Room(-5, type)).with(new Room(104, type));
+
+        // Assert
+        for (int number : new int[] { 101, 102, 103, 104, 1_000_000, -5 }) {
+            assertEquals(number, index.find(number).getNumber(), "Room " + number + " should be found");
+        }
+        assertNull(index.find(105), "Numbers never added should not be found");
+    }
+}
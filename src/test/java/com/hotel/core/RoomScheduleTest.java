@@ -0,0 +1,138 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+import com.hotel.domain.*;
+
+class RoomScheduleTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private RoomSchedule schedule;
+    private Room room;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new RoomSchedule(BASE, 64);
+        room = new Room(101, new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD")));
+        payer = new ReserverPayer(new Identity("Passport", "P123"),
+                new CreditCard("1234567890123", "12/25", "111"));
+
+        // Existing stays: nights 10-15 and 20-25, inside the 64-night calendar window
+        schedule.add(reservation(1, 10, 15));
+        schedule.add(reservation(2, 20, 25));
+    }
+
+    private Reservation reservation(int number, int startOffset, int endOffset) {
+        return new Reservation(number, BASE.plusDays(startOffset), BASE.plusDays(endOffset), payer, room);
+    }
+
+    private static int day(int offset) {
+        return Reservation.toEpochDay(BASE.plusDays(offset));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "12, 13", // inside first stay
+            "8, 11", // overlaps first stay start
+            "14, 21", // spans the gap between stays
+            "0, 40", // covers both stays
+            "24, 30" // overlaps second stay end
+    })
+    void testHasConflict_OverlappingDates_ReturnsTrue(int startOffset, int endOffset) {
+        // Act & Assert
+        assertTrue(schedule.hasConflict(day(startOffset), day(endOffset)),
+                "Dates " + startOffset + " to " + endOffset + " should conflict");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 10", // ends when first stay starts
+            "15, 20", // fills the gap exactly
+            "25, 30", // starts when second stay ends
+            "40, 45" // far in the future
+    })
+    void testHasConflict_FreeDates_ReturnsFalse(int startOffset, int endOffset) {
+        // Act & Assert
+        assertFalse(schedule.hasConflict(day(startOffset), day(endOffset)),
+                "Dates " + startOffset + " to " + endOffset + " should not conflict");
+    }
+
+    @Test
+    void testRemove_FreesTheDates() {
+        // Act
+        schedule.remove(reservation(1, 10, 15));
+
+        // Assert
+        assertFalse(schedule.hasConflict(day(10), day(15)),
+                "Removed reservation should no longer block its dates");
+        assertTrue(schedule.hasConflict(day(20), day(22)),
+                "Other reservations should still be indexed");
+    }
+
+    @Test
+    void testHasConflict_StayBeyondCalendarWindow_UsesIntervalIndex() {
+        // Arrange
+        schedule.add(reservation(3, 100, 105));
+
+        // Act & Assert
+        assertTrue(schedule.hasConflict(day(102), day(110)),
+                "Stays outside the calendar window should still conflict");
+        assertTrue(schedule.hasConflict(day(60), day(101)),
+                "Ranges crossing the window end should still see later stays");
+        assertFalse(schedule.hasConflict(day(105), day(110)),
+                "Dates after the last stay should be free");
+    }
+
+    @Test
+    void testHasConflict_ZeroNightStay_StillDetected() {
+        // Arrange
+        schedule.add(reservation(3, 5, 5));
+
+        // Act & Assert
+        assertTrue(schedule.hasConflict(day(3), day(7)),
+                "A range strictly containing a zero-night stay should conflict as before");
+    }
+
+    @Test
+    void testAdvanceCalendar_BooksNightsEnteringWindow() {
+        // Arrange
+        schedule.add(reservation(3, 60, 70));
+
+        // Act
+        schedule.advanceCalendar(day(20));
+
+        // Assert
+        assertTrue(schedule.hasConflict(day(68), day(69)),
+                "Stays that entered the window should be booked in the calendar");
+        assertTrue(schedule.hasConflict(day(24), day(26)),
+                "Stays still inside the window should remain booked");
+        assertFalse(schedule.hasConflict(day(70), day(84)),
+                "Nights that entered the window without a stay should be free");
+    }
+
+    @Test
+    void testReservationNumbers_StartDayOrderAfterGrowth() {
+        // Arrange: added out of order and past the initial array capacity
+        schedule.add(reservation(5, 40, 41));
+        schedule.add(reservation(3, 30, 32));
+        schedule.add(reservation(4, 0, 2));
+        schedule.add(reservation(6, 35, 35));
+        schedule.add(reservation(7, 35, 38));
+
+        // Act
+        schedule.remove(reservation(6, 35, 35));
+        int[] numbers = schedule.reservationNumbers();
+
+        // Assert
+        assertArrayEquals(new int[] {4, 1, 2, 3, 7, 5}, numbers, "Numbers should be listed by start day");
+        assertTrue(schedule.hasConflict(day(36), day(37)), "Stay sharing a start day should stay indexed");
+    }
+}
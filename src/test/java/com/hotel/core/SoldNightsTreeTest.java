@@ -0,0 +1,65 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+class SoldNightsTreeTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private SoldNightsTree tree;
+    private long baseDay;
+
+    @BeforeEach
+    void setUp() {
+        tree = new SoldNightsTree(BASE, 100);
+        baseDay = BASE.toEpochDay();
+
+        // Two stays overlapping on nights 5-7, a third one later on
+        tree.addStay(baseDay, baseDay + 8, 1);
+        tree.addStay(baseDay + 5, baseDay + 12, 1);
+        tree.addStay(baseDay + 20, baseDay + 30, 1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 5, 1", // only the first stay
+            "0, 12, 2", // includes the overlap
+            "6, 7, 2", // single overlapping night
+            "12, 20, 0", // gap between stays
+            "8, 25, 1" // second and third stays never overlap
+    })
+    void testMaxSold_ReturnsBusiestNight(int startOffset, int endOffset, int expected) {
+        // Act & Assert
+        assertEquals(expected, tree.maxSold(baseDay + startOffset, baseDay + endOffset),
+                "Busiest night between " + startOffset + " and " + endOffset);
+    }
+
+    @Test
+    void testAddStay_NegativeDelta_ReleasesNights() {
+        // Act
+        tree.addStay(baseDay + 5, baseDay + 12, -1);
+
+        // Assert
+        assertEquals(1, tree.maxSold(baseDay, baseDay + 12), "Released stay should no longer count");
+    }
+
+    @Test
+    void testReset_MovesWindowAndWrapsAround() {
+        // Act
+        tree.reset(baseDay + 50);
+        tree.addStay(baseDay + 140, baseDay + 160, 1);
+        tree.addStay(baseDay + 145, baseDay + 150, 1);
+
+        // Assert
+        assertTrue(tree.covers(baseDay + 140, baseDay + 150), "Window should cover the new nights");
+        assertFalse(tree.covers(baseDay + 40, baseDay + 60), "Window should no longer cover old nights");
+        assertEquals(0, tree.maxSold(baseDay + 50, baseDay + 140), "Old stays should be cleared");
+        assertEquals(2, tree.maxSold(baseDay + 130, baseDay + 150), "Stays across the wrap point should count");
+    }
+}
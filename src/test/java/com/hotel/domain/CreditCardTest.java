@@ -153,4 +153,30 @@ class CreditCardTest {
         assertFalse(result.contains("1234567890123456"),
                 "toString should not contain full card number");
     }
+
+    @Test
+    void testFromMaskedNumber_KeepsOnlyTheMaskedNumber() {
+        // Arrange
+        CreditCard card = new CreditCard("1234567890123456", "12/25", "123");
+
+        // Act
+        CreditCard restored = CreditCard.fromMaskedNumber(card.getMaskedNumber());
+
+        // Assert
+        assertEquals("XXXX-XXXX-XXXX-3456", restored.getMaskedNumber(), "Masked number should be kept");
+        assertTrue(restored.isMasked(), "Restored card should only know its masked number");
+        assertFalse(card.isMasked(), "A card built from its number should not be masked");
+        assertNotEquals(card, restored, "A masked card should not equal the full card");
+        assertEquals(restored, CreditCard.fromMaskedNumber("XXXX-XXXX-XXXX-3456"),
+                "Masked cards with the same number should be equal");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { "1234567890123456", "XXXX-XXXX-XXXX-12", "XXXX-XXXX-1234-5678" })
+    void testFromMaskedNumber_NotMasked_ThrowsException(String maskedNumber) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CreditCard.fromMaskedNumber(maskedNumber),
+                "Only masked numbers should be accepted");
+    }
 }
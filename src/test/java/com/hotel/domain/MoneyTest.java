@@ -8,6 +8,7 @@ import org.junit.jupiter.params.provider.NullSource;
 
 import java.math.BigDecimal;
 import java.util.Currency;
+import java.util.List;
 
 class MoneyTest {
 
@@ -117,4 +118,122 @@ class MoneyTest {
         assertNotNull(money, "Money with zero amount should be created successfully");
         assertEquals(0, money.getAmount().compareTo(BigDecimal.ZERO), "Amount should be zero");
     }
+
+    @Test
+    void testPlus_SameCurrency_AddsMinorUnits() {
+        // Arrange
+        Money first = new Money(new BigDecimal("100.50"), Currency.getInstance("USD"));
+        Money second = new Money(new BigDecimal("0.75"), Currency.getInstance("USD"));
+
+        // Act
+        Money sum = first.plus(second);
+
+        // Assert
+        assertEquals(10125, sum.getMinorUnits(), "Sum should be counted in cents");
+        assertEquals(new BigDecimal("101.25"), sum.getAmount(), "Sum should convert back to a BigDecimal");
+    }
+
+    @Test
+    void testPlus_DifferentCurrencies_ThrowsException() {
+        // Arrange
+        Money dollars = new Money(BigDecimal.TEN, Currency.getInstance("USD"));
+        Money euros = new Money(BigDecimal.TEN, Currency.getInstance("EUR"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> dollars.plus(euros),
+                "Adding different currencies should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testTimes_MultipliesByNights() {
+        // Arrange
+        Money rate = new Money(149.99, "USD");
+
+        // Act
+        Money total = rate.times(3);
+
+        // Assert
+        assertEquals(new Money(new BigDecimal("449.97"), Currency.getInstance("USD")), total,
+                "Rate times nights should be exact");
+        assertTrue(rate.times(0).isZero(), "Zero nights should cost nothing");
+        assertThrows(IllegalArgumentException.class, () -> rate.times(-1),
+                "Negative counts should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testArithmetic_Overflow_FallsBackToBigDecimal() {
+        // Arrange
+        Currency usd = Currency.getInstance("USD");
+        Money large = Money.ofMinorUnits(Long.MAX_VALUE, usd);
+        BigDecimal largeAmount = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+        // Act
+        Money doubled = large.plus(large);
+        Money tripled = large.times(3);
+        Money summed = Money.sum(usd, List.of(large, large, Money.ofMinorUnits(1, usd)));
+
+        // Assert
+        assertFalse(doubled.hasMinorUnits(), "An overflowing sum should leave the long fast path");
+        assertEquals(largeAmount.multiply(BigDecimal.valueOf(2)), doubled.getAmount(), "Sum should not wrap");
+        assertEquals(0, largeAmount.multiply(BigDecimal.valueOf(3)).compareTo(tripled.getAmount()),
+                "Product should not wrap");
+        assertEquals(0, largeAmount.multiply(BigDecimal.valueOf(2)).add(new BigDecimal("0.01"))
+                .compareTo(summed.getAmount()), "Overflowing sums should still be exact");
+        assertThrows(ArithmeticException.class, doubled::getMinorUnits,
+                "Amounts beyond a long should not report minor units");
+    }
+
+    @Test
+    void testSum_AddsAllAmounts() {
+        // Arrange
+        Currency usd = Currency.getInstance("USD");
+        java.util.List<Money> amounts = List.of(new Money(10.25, "USD"), new Money(0.75, "USD"),
+                new Money(new BigDecimal("5"), usd));
+
+        // Act
+        Money total = Money.sum(usd, amounts);
+
+        // Assert
+        assertEquals(1600, total.getMinorUnits(), "Sum should add every amount");
+        assertTrue(Money.sum(usd, List.of()).isZero(), "Empty sum should be zero");
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.sum(Currency.getInstance("EUR"), amounts),
+                "Amounts in another currency should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testFractionOfMinorUnit_UsesBigDecimalPath() {
+        // Arrange
+        Money rate = new Money(new BigDecimal("0.005"), Currency.getInstance("USD"));
+
+        // Act
+        Money total = rate.times(3);
+
+        // Assert
+        assertFalse(rate.hasMinorUnits(), "Half a cent is not a whole number of minor units");
+        assertEquals(0, new BigDecimal("0.015").compareTo(total.getAmount()), "Product should keep the fraction");
+    }
+
+    @Test
+    void testMoneyEquality_DifferentScales() {
+        // Arrange
+        Money money1 = new Money(new BigDecimal("10"), Currency.getInstance("USD"));
+        Money money2 = new Money(new BigDecimal("10.00"), Currency.getInstance("USD"));
+
+        // Act & Assert
+        assertEquals(money1, money2, "Money objects with the same value should be equal whatever the scale");
+        assertEquals(money1.hashCode(), money2.hashCode(), "Equal Money objects should have same hashCode");
+    }
+
+    @Test
+    void testCurrencyLookup_ReturnsInternedInstance() {
+        // Act
+        Currency first = Money.currency("JPY");
+        Currency second = Money.currency("JPY");
+
+        // Assert
+        assertSame(first, second, "Repeated lookups should return the same currency");
+        assertEquals(Money.ofMinorUnits(500, first), new Money(500.0, "JPY"),
+                "Currencies without minor units should count whole units");
+    }
 }
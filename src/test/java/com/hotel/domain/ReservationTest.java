@@ -159,4 +159,56 @@ class ReservationTest {
         // Act & Assert
         assertNotEquals(res1, res2, "Reservations with different numbers should not be equal");
     }
+
+    @Test
+    void testEpochDays_MatchDates() {
+        // Arrange
+        ReserverPayer payer = new ReserverPayer(new Identity("P", "1"),
+                new CreditCard("1234567890123", "12/12", "123"));
+        RoomType type = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        Room room = new Room(101, type);
+        LocalDate start = LocalDate.of(2030, 3, 1);
+        LocalDate end = LocalDate.of(2030, 3, 4);
+
+        // Act
+        Reservation res = new Reservation(1, start, end, payer, room);
+
+        // Assert
+        assertEquals(start.toEpochDay(), res.getStartDay(), "Start day should be the start date's epoch day");
+        assertEquals(end.toEpochDay(), res.getEndDay(), "End day should be the end date's epoch day");
+        assertEquals(3, res.getDurationInNights(), "Duration should be computed from the epoch days");
+        assertTrue(res.isActiveOn(end), "Reservation should be active on its end date");
+        assertFalse(res.isActiveOn(end.plusDays(1)), "Reservation should not be active after its end date");
+    }
+
+    @Test
+    void testReservationCreation_DateOutOfRange_ThrowsException() {
+        // Arrange
+        ReserverPayer payer = new ReserverPayer(new Identity("P", "1"),
+                new CreditCard("1234567890123", "12/12", "123"));
+        RoomType type = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        Room room = new Room(101, type);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new Reservation(1, LocalDate.now(), LocalDate.MAX, payer, room),
+                "Dates beyond the int epoch day range should be rejected");
+    }
+
+    @Test
+    void testTotalCost_RateTimesNights() {
+        // Arrange
+        ReserverPayer payer = new ReserverPayer(new Identity("P", "1"),
+                new CreditCard("1234567890123", "12/12", "123"));
+        RoomType type = new RoomType(RoomKind.DOUBLE, new Money(new BigDecimal("99.90"), Currency.getInstance("USD")));
+        Room room = new Room(101, type);
+        LocalDate start = LocalDate.now();
+
+        // Act
+        Reservation res = new Reservation(1, start, start.plusDays(3), payer, room);
+
+        // Assert
+        assertEquals(new Money(new BigDecimal("299.70"), Currency.getInstance("USD")), res.getTotalCost(),
+                "Total cost should be the nightly rate times the nights");
+    }
 }
@@ -8,7 +8,11 @@ import org.junit.jupiter.params.provider.EnumSource;
 
 import com.hotel.exception.HotelException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class RoomTest {
 
@@ -151,4 +155,57 @@ class RoomTest {
         room.checkOutGuest();
         assertTrue(room.isFree(), "After checkout should be FREE");
     }
+
+    @Test
+    void testTryBookRoom_WhenAlreadyBooked_ReturnsFalse() {
+        // Arrange
+        room.bookRoom();
+
+        // Act & Assert
+        assertFalse(room.tryBookRoom(), "Losing a booking race should return false instead of throwing");
+        assertEquals(RoomState.RESERVED, room.getState(), "State should be left untouched");
+    }
+
+    @Test
+    void testTryTransitions_FollowStateChart() {
+        // Act & Assert
+        assertFalse(room.tryCheckInGuest(guest), "Cannot check in to a FREE room");
+        assertTrue(room.tryBookRoom(), "FREE room should be bookable");
+        assertFalse(room.tryCheckOutGuest(), "Cannot check out of a RESERVED room");
+        assertTrue(room.tryCheckInGuest(guest), "RESERVED room should accept a guest");
+        assertEquals(guest, room.getOccupant(), "Occupant should be published with the OCCUPIED state");
+        assertFalse(room.tryCancelBooking(), "Cannot cancel an OCCUPIED room");
+        assertTrue(room.tryCheckOutGuest(), "OCCUPIED room should check out");
+        assertNull(room.getOccupant(), "Occupant should be cleared with the FREE state");
+    }
+
+    @Test
+    void testTryBookRoom_ConcurrentCallers_ExactlyOneWins() throws InterruptedException {
+        // Arrange
+        AtomicInteger winners = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (room.tryBookRoom()) {
+                    winners.incrementAndGet();
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        startGate.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(1, winners.get(), "Only one caller should book the room");
+    }
 }
@@ -0,0 +1,305 @@
+package com.hotel.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.OccupancyCurve;
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class ChainSnapshotTest {
+
+        private static final LocalDate START = LocalDate.now().plusDays(1);
+        private static final LocalDate END = START.plusDays(2);
+
+        @TempDir
+        Path directory;
+
+        private Path snapshotPath;
+        private Path journalPath;
+        private RoomType doubleType;
+        private RoomType singleType;
+        private Guest guest;
+
+        @BeforeEach
+        void setUp() {
+                snapshotPath = directory.resolve("chain.snapshot");
+                journalPath = directory.resolve("chain.journal");
+                doubleType = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+                singleType = new RoomType(RoomKind.SINGLE, new Money(60.0, "EUR"));
+                guest = new Guest("John", new Address("Street", "City", "12345"), new Identity("Passport", "G1"));
+        }
+
+        @Test
+        void testWriteAndRestore_RoundTripsChainState() throws IOException {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Hotel first = chain.createHotel("The Grand Budapest");
+                first.addRoom(new Room(101, doubleType));
+                first.addRoom(new Room(102, doubleType));
+                first.addRoom(new Room(201, singleType));
+                Hotel second = chain.createHotel("Hotel Chevalier");
+                second.addRoom(new Room(1, singleType));
+                Reservation reserved = first.createReservation(START, END, doubleType, payer);
+                Reservation occupied = first.createReservation(START, END, doubleType, payer);
+                first.checkInGuest(occupied.getRoom().getNumber(), guest);
+                Reservation history = first.createReservation(START, END, singleType, payer);
+                first.checkInGuest(201, guest);
+                first.checkOutGuest(201);
+
+                // Act
+                ChainSnapshot.write(chain, null, snapshotPath);
+                HotelChain restored = ChainSnapshot.restore(snapshotPath);
+
+                // Assert
+                Hotel hotel = restored.getHotel("The Grand Budapest");
+                assertEquals("Prestige Group", restored.getName(), "Chain name should be restored");
+                assertEquals(2, restored.getHotels().size(), "Every hotel should be restored");
+                assertEquals(1, restored.getHotel("Hotel Chevalier").getRooms().size(), "Second hotel's room should be restored");
+                assertEquals(1, restored.getCustomers().size(), "Registered customers should be restored");
+                assertEquals(numbers(first), numbers(hotel), "Reservations should be restored with their numbers");
+                assertEquals(RoomState.RESERVED, stateOf(hotel, reserved.getRoom().getNumber()), "Reserved room should stay reserved");
+                assertEquals(RoomState.OCCUPIED, stateOf(hotel, occupied.getRoom().getNumber()), "Occupied room should stay occupied");
+                assertEquals("John", hotel.findRoom(occupied.getRoom().getNumber()).orElseThrow().getOccupant().getName(),
+                                "Occupant should be restored");
+                assertEquals(RoomState.FREE, stateOf(hotel, 201), "Checked-out room should be free");
+                assertTrue(hotel.getReservations().stream()
+                                .anyMatch(r -> r.getReservationNumber() == history.getReservationNumber()),
+                                "Past stays should be kept as history");
+                assertSame(restored.getCustomers().iterator().next(), hotel.getReservations().get(0).getPayer(),
+                                "Reservations should refer to the restored customer");
+        }
+
+        @Test
+        void testWriteAndRestore_KeepsLockedNightlyRates() throws IOException {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Hotel hotel = chain.createHotel("The Grand Budapest");
+                hotel.addRoom(new Room(101, doubleType));
+                hotel.addRoom(new Room(102, doubleType));
+                hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.25}));
+                hotel.createReservation(START, END, doubleType, payer);
+                Reservation surged = hotel.createReservation(START, END, doubleType, payer);
+
+                // Act
+                ChainSnapshot.write(chain, null, snapshotPath);
+                HotelChain restored = ChainSnapshot.restore(snapshotPath);
+
+                // Assert
+                Reservation reservation = restored.getHotel("The Grand Budapest").getReservations().stream()
+                                .filter(r -> r.getReservationNumber() == surged.getReservationNumber())
+                                .findFirst().orElseThrow();
+                assertTrue(reservation.hasLockedRates(), "Locked rates should survive a restore");
+                assertEquals(surged.getNightlyRates(), reservation.getNightlyRates(), "Each night's rate should be restored");
+                assertEquals(new Money(250.0, "USD"), reservation.getTotalCost(), "Restored total should use the locked rates");
+        }
+
+        @Test
+        void testRestore_RebuildsIndexesForNewBookings() throws IOException {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Hotel hotel = chain.createHotel("The Grand Budapest");
+                hotel.addRoom(new Room(101, doubleType));
+                hotel.addRoom(new Room(102, doubleType));
+                Reservation booked = hotel.createReservation(START, END, doubleType, payer);
+                ChainSnapshot.write(chain, null, snapshotPath);
+
+                // Act
+                HotelChain restored = ChainSnapshot.restore(snapshotPath);
+                Hotel restoredHotel = restored.getHotel("The Grand Budapest");
+                Reservation next = restoredHotel.createReservation(START, END, doubleType, payer);
+
+                // Assert
+                assertNotEquals(booked.getRoom().getNumber(), next.getRoom().getNumber(), "Booked room should not be sold twice");
+                assertTrue(next.getReservationNumber() > booked.getReservationNumber(), "Numbering should continue");
+                assertEquals(0, restoredHotel.getRemainingCapacity(START, END, doubleType), "Sold nights should be restored");
+                assertThrows(HotelException.class, () -> restoredHotel.addRoom(new Room(101, doubleType)),
+                                "Room number index should be restored");
+        }
+
+        @Test
+        void testRestore_ReplaysJournalWrittenAfterSnapshot() throws IOException {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                try (Journal journal = Journal.open(journalPath)) {
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        hotel.addRoom(new Room(101, doubleType));
+                        hotel.addRoom(new Room(102, doubleType));
+                        Reservation early = hotel.createReservation(START, END, doubleType, payer);
+
+                        ChainSnapshot.write(chain, journal, snapshotPath);
+
+                        hotel.cancelReservation(early.getReservationNumber());
+                        Reservation late = hotel.createReservation(START, END, doubleType, payer);
+                        hotel.checkInGuest(late.getRoom().getNumber(), guest);
+                        hotel.addRoom(new Room(301, singleType));
+                        chain.createHotel("Hotel Chevalier").addRoom(new Room(1, singleType));
+                }
+
+                // Act
+                HotelChain restored = ChainSnapshot.restore(snapshotPath, journalPath);
+
+                // Assert
+                Hotel hotel = restored.getHotel("The Grand Budapest");
+                assertEquals(1, hotel.getReservations().size(), "Cancelled reservation should be gone");
+                assertEquals(3, hotel.getRooms().size(), "Room added after the snapshot should be replayed");
+                assertEquals(1, hotel.getRooms().stream().filter(Room::isOccupied).count(), "Check-in should be replayed");
+                assertEquals(1, restored.getHotel("Hotel Chevalier").getRooms().size(), "Hotel added later should be replayed");
+                assertEquals(1, restored.getCustomers().size(), "Journaled payers should reuse restored customers");
+        }
+
+        @Test
+        void testWrite_DeletesJournalSegmentsTheSnapshotCovers() throws IOException {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Reservation late;
+                try (Journal journal = Journal.open(journalPath, 128)) {
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        for (int number = 1; number <= 10; number++) {
+                                hotel.addRoom(new Room(number, doubleType));
+                        }
+                        hotel.createReservation(START, END, doubleType, payer);
+                        long segmentsBefore = segmentCount();
+
+                        // Act
+                        ChainSnapshot.write(chain, journal, snapshotPath);
+                        late = hotel.createReservation(START, END, doubleType, payer);
+
+                        // Assert
+                        assertTrue(segmentCount() < segmentsBefore, "Segments covered by the snapshot should be deleted");
+                }
+                HotelChain restored = ChainSnapshot.restore(snapshotPath, journalPath);
+                assertEquals(2, restored.getHotel("The Grand Budapest").getReservations().size(),
+                                "Snapshot plus the remaining segments should restore every booking");
+                assertTrue(numbers(restored.getHotel("The Grand Budapest")).contains(late.getReservationNumber()),
+                                "Booking made after the snapshot should be replayed");
+        }
+
+        @Test
+        void testRestore_DoesNotReuseNumbersCancelledBeforeSnapshot() throws IOException {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Reservation cancelled;
+                try (Journal journal = Journal.open(journalPath)) {
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        hotel.addRoom(new Room(101, doubleType));
+                        hotel.addRoom(new Room(102, doubleType));
+                        Reservation kept = hotel.createReservation(START, END, doubleType, payer);
+                        cancelled = hotel.createReservation(START, END, doubleType, payer);
+                        assertTrue(cancelled.getReservationNumber() > kept.getReservationNumber(),
+                                        "Cancelled booking should hold the highest number");
+                        hotel.cancelReservation(cancelled.getReservationNumber());
+                        ChainSnapshot.write(chain, journal, snapshotPath);
+                }
+
+                // Act
+                HotelChain restored = ChainSnapshot.restore(snapshotPath, journalPath);
+                Reservation next = restored.getHotel("The Grand Budapest").createReservation(START, END, doubleType, payer);
+
+                // Assert
+                assertTrue(next.getReservationNumber() > cancelled.getReservationNumber(),
+                                "Number of a booking cancelled before the snapshot should not be reused");
+        }
+
+        private long segmentCount() throws IOException {
+                try (Stream<Path> files = Files.list(journalPath)) {
+                        return files.count();
+                }
+        }
+
+        @Test
+        void testWrite_WhileBookingsContinue_RestoresEveryBooking() throws Exception {
+                // Arrange
+                HotelChain chain = new HotelChain("Prestige Group");
+                ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P1"),
+                                new CreditCard("1234567890123", "12/25", "123"));
+                Set<Integer> live;
+                try (Journal journal = Journal.open(journalPath)) {
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        for (int number = 1; number <= 400; number++) {
+                                hotel.addRoom(new Room(number, number % 2 == 0 ? doubleType : singleType));
+                        }
+                        AtomicBoolean running = new AtomicBoolean(true);
+                        List<Thread> bookers = new ArrayList<>();
+                        for (RoomType type : List.of(doubleType, singleType)) {
+                                bookers.add(Thread.ofPlatform().start(() -> {
+                                        List<Reservation> mine = new ArrayList<>();
+                                        while (running.get()) {
+                                                try {
+                                                        mine.add(hotel.createReservation(START, END, type, payer));
+                                                } catch (HotelException soldOut) {
+                                                        break;
+                                                }
+                                                if (mine.size() % 3 == 0) {
+                                                        hotel.cancelReservation(mine.remove(0).getReservationNumber());
+                                                }
+                                        }
+                                }));
+                        }
+
+                        // Act
+                        ChainSnapshot.write(chain, journal, snapshotPath);
+                        running.set(false);
+                        for (Thread booker : bookers) {
+                                booker.join();
+                        }
+                        live = numbers(hotel);
+                }
+                HotelChain restored = ChainSnapshot.restore(snapshotPath, journalPath);
+
+                // Assert
+                assertEquals(live, numbers(restored.getHotel("The Grand Budapest")),
+                                "Snapshot plus journal should match the live hotel");
+        }
+
+        @Test
+        void testRestore_NotASnapshot_ThrowsException() throws IOException {
+                // Arrange
+                Files.write(snapshotPath, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+                // Act & Assert
+                assertThrows(IOException.class, () -> ChainSnapshot.restore(snapshotPath),
+                                "A file without the snapshot header should be rejected");
+        }
+
+        private static Set<Integer> numbers(Hotel hotel) {
+                return hotel.getReservations().stream()
+                                .map(Reservation::getReservationNumber)
+                                .collect(Collectors.toSet());
+        }
+
+        private static RoomState stateOf(Hotel hotel, int roomNumber) {
+                return hotel.findRoom(roomNumber).orElseThrow().getState();
+        }
+}
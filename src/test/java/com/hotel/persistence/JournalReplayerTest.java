@@ -0,0 +1,220 @@
+package com.hotel.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.OccupancyCurve;
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class JournalReplayerTest {
+
+        private static final LocalDate START = LocalDate.now().plusDays(1);
+        private static final LocalDate END = START.plusDays(2);
+
+        @TempDir
+        Path directory;
+
+        private Path path;
+        private RoomType type;
+        private ReserverPayer payer;
+
+        @BeforeEach
+        void setUp() {
+                path = directory.resolve("chain.journal");
+                type = new RoomType(RoomKind.DOUBLE, new Money(100.0, "USD"));
+                payer = new ReserverPayer(new Identity("Passport", "P1"), new CreditCard("1234567890123", "12/25", "123"));
+        }
+
+        @Test
+        void testReplay_RestoresChainState() throws IOException {
+                // Arrange
+                Reservation kept;
+                Reservation cancelled;
+                try (Journal journal = Journal.open(path)) {
+                        HotelChain chain = new HotelChain("Prestige Group");
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        hotel.addRoom(new Room(101, type));
+                        hotel.addRoom(new Room(102, type));
+                        hotel.addRoom(new Room(103, type));
+                        kept = hotel.createReservation(START, END, type, payer);
+                        cancelled = hotel.createReservation(START, END, type, payer);
+                        Reservation stayed = hotel.createReservation(START, END, type, payer);
+                        hotel.cancelReservation(cancelled.getReservationNumber());
+                        hotel.checkInGuest(stayed.getRoom().getNumber(),
+                                        new Guest("John", new Address("Street", "City", "12345"), null));
+                }
+
+                // Act
+                HotelChain restored = new HotelChain("Prestige Group");
+                int records = JournalReplayer.replay(path, restored);
+
+                // Assert
+                Hotel hotel = restored.getHotel("The Grand Budapest");
+                assertEquals(9, records, "Every journaled change should be replayed");
+                assertEquals(3, hotel.getRooms().size(), "Rooms should be restored");
+                assertEquals(2, hotel.getReservations().size(), "Cancelled reservation should stay cancelled");
+                assertEquals(kept.getReservationNumber(), hotel.getReservations().get(0).getReservationNumber(),
+                                "Reservation numbers should be kept");
+                assertEquals(RoomState.RESERVED, hotel.findRoom(kept.getRoom().getNumber()).orElseThrow().getState(),
+                                "Booked room should be reserved again");
+                assertEquals(RoomState.FREE, hotel.findRoom(cancelled.getRoom().getNumber()).orElseThrow().getState(),
+                                "Cancelled room should be free");
+                assertEquals(1, hotel.getRooms().stream().filter(Room::isOccupied).count(),
+                                "Checked-in guest should be back in their room");
+        }
+
+        @Test
+        void testReplay_NewReservationsContinueNumbering() throws IOException {
+                // Arrange
+                Reservation last;
+                try (Journal journal = Journal.open(path)) {
+                        Hotel hotel = new Hotel("The Grand Budapest");
+                        hotel.addListener(new JournalWriter(journal));
+                        hotel.addRoom(new Room(101, type));
+                        hotel.addRoom(new Room(102, type));
+                        last = hotel.createReservation(START, END, type, payer);
+                }
+                Hotel restored = new Hotel("The Grand Budapest");
+
+                // Act
+                JournalReplayer.replay(path, restored);
+                Reservation next = restored.createReservation(START, END, type, payer);
+
+                // Assert
+                assertTrue(next.getReservationNumber() > last.getReservationNumber(),
+                                "Numbers issued after replay should not collide with journaled ones");
+        }
+
+        @Test
+        void testReplay_ReopenedJournalKeepsAppending() throws IOException {
+                // Arrange
+                try (Journal journal = Journal.open(path)) {
+                        Hotel hotel = new Hotel("The Grand Budapest");
+                        hotel.addListener(new JournalWriter(journal));
+                        hotel.addRoom(new Room(101, type));
+                }
+                Hotel restarted = new Hotel("The Grand Budapest");
+                JournalReplayer.replay(path, restarted);
+
+                // Act
+                try (Journal journal = Journal.open(path)) {
+                        restarted.addListener(new JournalWriter(journal));
+                        restarted.createReservation(START, END, type, payer);
+                }
+                Hotel restored = new Hotel("The Grand Budapest");
+                JournalReplayer.replay(path, restored);
+
+                // Assert
+                assertEquals(1, restored.getReservations().size(), "Changes after a restart should be journaled too");
+                assertEquals("XXXX-XXXX-XXXX-0123",
+                                restored.getReservations().get(0).getPayer().getCreditCardDetails().getMaskedNumber(),
+                                "Payer card should be restored");
+        }
+
+        @Test
+        void testCancelReservation_OccupiedRoom_LeavesHotelAndJournalAlone() throws IOException {
+                // Arrange
+                Reservation stayed;
+                try (Journal journal = Journal.open(path)) {
+                        HotelChain chain = new HotelChain("Prestige Group");
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        hotel.addRoom(new Room(101, type));
+                        hotel.addRoom(new Room(102, type));
+                        stayed = hotel.createReservation(START, END, type, payer);
+                        hotel.checkInGuest(stayed.getRoom().getNumber(),
+                                        new Guest("John", new Address("Street", "City", "12345"), null));
+
+                        // Act
+                        assertThrows(HotelException.class, () -> hotel.cancelReservation(stayed.getReservationNumber()),
+                                        "An occupied room cannot be cancelled");
+
+                        // Assert
+                        assertEquals(1, hotel.getReservations().size(), "Failed cancellation should keep the reservation");
+                        assertEquals(1, hotel.getRemainingCapacity(START, END, type),
+                                        "Failed cancellation should not free capacity");
+                }
+                HotelChain restored = new HotelChain("Prestige Group");
+                JournalReplayer.replay(path, restored);
+                Hotel hotel = restored.getHotel("The Grand Budapest");
+                assertEquals(1, hotel.getReservations().size(), "Journal should not record the failed cancellation");
+                assertEquals(stayed.getReservationNumber(), hotel.getReservations().get(0).getReservationNumber());
+                assertEquals(RoomState.OCCUPIED, hotel.getReservations().get(0).getRoom().getState(),
+                                "Replayed room should still be occupied");
+        }
+
+        @Test
+        void testReplay_KeepsLockedNightlyRates() throws IOException {
+                // Arrange
+                Reservation cheap;
+                Reservation dear;
+                try (Journal journal = Journal.open(path)) {
+                        HotelChain chain = new HotelChain("Prestige Group");
+                        chain.addListener(new JournalWriter(journal));
+                        Hotel hotel = chain.createHotel("The Grand Budapest");
+                        hotel.addRoom(new Room(101, type));
+                        hotel.addRoom(new Room(102, type));
+                        hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 2.0}));
+                        cheap = hotel.createReservation(START, END, type, payer);
+                        dear = hotel.createReservation(START, END, type, payer);
+                }
+
+                // Act
+                HotelChain restored = new HotelChain("Prestige Group");
+                JournalReplayer.replay(path, restored);
+
+                // Assert
+                Hotel hotel = restored.getHotel("The Grand Budapest");
+                assertEquals(new Money(200.0, "USD"), cheap.getTotalCost(), "First booking should pay the base rate");
+                assertEquals(new Money(400.0, "USD"), dear.getTotalCost(), "Second booking should pay the higher rate");
+                assertEquals(cheap.getTotalCost(), hotel.getReservations().get(0).getTotalCost(),
+                                "Replayed booking should keep the rates it was sold at");
+                assertEquals(dear.getTotalCost(), hotel.getReservations().get(1).getTotalCost(),
+                                "Replay should not price a booking again");
+                assertTrue(hotel.getReservations().get(1).hasLockedRates(), "Locked rates should be replayed");
+        }
+
+        @Test
+        void testJournalFailure_BookingFailsAndLaterChangesAreRejected() throws IOException {
+                // Arrange
+                Journal journal = Journal.open(path);
+                JournalWriter writer = new JournalWriter(journal);
+                Hotel hotel = new Hotel("The Grand Budapest");
+                hotel.addListener(writer);
+                hotel.addRoom(new Room(101, type));
+                hotel.addRoom(new Room(102, type));
+
+                // Act
+                Thread.currentThread().interrupt();
+                try {
+                        assertThrows(HotelException.class, () -> hotel.createReservation(START, END, type, payer),
+                                        "A booking that could not be journaled should fail");
+                } finally {
+                        Thread.interrupted();
+                }
+
+                // Assert
+                assertNotNull(writer.getFailure(), "Writer should report the journal failure");
+                assertThrows(HotelException.class, () -> hotel.createReservation(START, END, type, payer),
+                                "A hotel whose journal failed should reject further bookings");
+                assertThrows(HotelException.class, () -> hotel.addRoom(new Room(103, type)),
+                                "A hotel whose journal failed should reject further changes");
+                assertEquals(1, hotel.getReservations().size(), "Rejected changes should not be made");
+                assertEquals(2, hotel.getRooms().size(), "Rejected rooms should not be added");
+                assertThrows(IOException.class, journal::close, "Queued records cannot be made durable any more");
+                Hotel restored = new Hotel("The Grand Budapest");
+                JournalReplayer.replay(path, restored);
+                assertEquals(2, restored.getRooms().size(), "Changes before the failure should be replayed");
+                assertEquals(0, restored.getReservations().size(), "The failed booking should not be journaled");
+        }
+}
@@ -0,0 +1,276 @@
+package com.hotel.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class JournalTest {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void testAppendAndRead_RecordsComeBackInOrder() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                try (Journal journal = Journal.open(path)) {
+                        journal.append(bytes("first"));
+                        journal.append(bytes("second"));
+                }
+
+                // Act
+                List<String> records = readAll(path);
+
+                // Assert
+                assertEquals(List.of("first", "second"), records, "Records should be read back in append order");
+        }
+
+        @Test
+        void testSync_AdvancesDurablePosition() throws IOException {
+                // Arrange
+                try (Journal journal = Journal.open(directory.resolve("hotel.journal"))) {
+                        long position = journal.append(bytes("record"));
+
+                        // Act
+                        long before = journal.getDurablePosition();
+                        journal.sync(position);
+
+                        // Assert
+                        assertEquals(0, before, "Appended record should not be durable before a sync");
+                        assertEquals(position, journal.getDurablePosition(), "Sync should make the record durable");
+                        assertEquals(position, Files.size(Journal.segmentPath(journal.getPath(), 0)),
+                                        "Record should be written to the first segment");
+                }
+        }
+
+        @Test
+        void testOpen_TornTailIsCutOff() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                Path segment = Journal.segmentPath(path, 0);
+                try (Journal journal = Journal.open(path)) {
+                        journal.append(bytes("complete"));
+                }
+                long validLength = Files.size(segment);
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+                        channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 50, 1, 2, 3 }));
+                }
+
+                // Act
+                try (Journal journal = Journal.open(path)) {
+                        journal.append(bytes("after restart"));
+                }
+
+                // Assert
+                assertEquals(List.of("complete", "after restart"), readAll(path),
+                                "Torn record should be dropped and new records appended after the last good one");
+                assertTrue(Files.size(segment) > validLength, "New record should follow the valid prefix");
+        }
+
+        @Test
+        void testRead_StopsAtCorruptRecord() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                try (Journal journal = Journal.open(path)) {
+                        journal.append(bytes("good"));
+                        journal.append(bytes("flipped"));
+                }
+                Path segment = Journal.segmentPath(path, 0);
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                        channel.write(ByteBuffer.wrap(new byte[] { 'X' }), Files.size(segment) - 1);
+                }
+
+                // Act
+                List<String> records = readAll(path);
+
+                // Assert
+                assertEquals(List.of("good"), records, "Record failing its checksum should not be replayed");
+        }
+
+        @Test
+        void testConcurrentWriters_ShareSyncs() throws Exception {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                int threads = 16;
+                int recordsPerThread = 50;
+                try (Journal journal = Journal.open(path)) {
+                        List<Thread> writers = new ArrayList<>();
+                        for (int t = 0; t < threads; t++) {
+                                writers.add(Thread.ofPlatform().start(() -> {
+                                        for (int i = 0; i < recordsPerThread; i++) {
+                                                try {
+                                                        journal.sync(journal.append(bytes("booking")));
+                                                } catch (IOException e) {
+                                                        throw new RuntimeException(e);
+                                                }
+                                        }
+                                }));
+                        }
+
+                        // Act
+                        for (Thread writer : writers) {
+                                writer.join();
+                        }
+
+                        // Assert
+                        assertEquals(journal.getAppendedPosition(), journal.getDurablePosition(),
+                                        "Every appended record should be durable");
+                }
+                assertEquals(threads * recordsPerThread, readAll(path).size(), "No record should be lost");
+        }
+
+        @Test
+        void testSync_FullSegment_StartsNewSegment() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                List<String> written = new ArrayList<>();
+
+                // Act
+                try (Journal journal = Journal.open(path, 64)) {
+                        for (int i = 0; i < 20; i++) {
+                                written.add("booking " + i);
+                                journal.sync(journal.append(bytes("booking " + i)));
+                        }
+                }
+                try (Journal journal = Journal.open(path, 64)) {
+                        written.add("after restart");
+                        journal.append(bytes("after restart"));
+                }
+
+                // Assert
+                assertTrue(segmentCount(path) > 1, "Records past the segment size should go to new segments");
+                assertEquals(written, readAll(path), "Records should be read across segments in order");
+        }
+
+        @Test
+        void testSync_NewSegmentCannotBeCreated_KeepsRecordsDurableAndRollsLater() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                try (Journal journal = Journal.open(path, 16)) {
+                        long first = journal.append(bytes("first booking"));
+                        Path blocked = Files.createDirectory(Journal.segmentPath(path, first));
+
+                        // Act
+                        journal.sync(first);
+
+                        // Assert
+                        assertEquals(first, journal.getDurablePosition(), "Records should be durable despite the failed roll");
+                        assertFalse(journal.isFailed(), "A failed roll should not fail the journal");
+                        Files.delete(blocked);
+                        journal.sync(journal.append(bytes("second booking")));
+                }
+                assertEquals(2, segmentCount(path), "The next sync should roll to a new segment");
+                assertEquals(List.of("first booking", "second booking"), readAll(path),
+                                "Records written while the roll failed should stay in order");
+        }
+
+        @Test
+        void testRead_LargeSegmentIsMappedInWindows() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                List<String> written = new ArrayList<>();
+                try (Journal journal = Journal.open(path)) {
+                        for (int i = 0; i < 50; i++) {
+                                written.add("record " + i);
+                                journal.append(bytes("record " + i));
+                        }
+                }
+
+                // Act
+                List<String> records = new ArrayList<>();
+                Journal.read(path, 0, (end, payload) -> records.add(text(payload)), 40);
+
+                // Assert
+                assertEquals(written, records, "Records straddling a mapping window should still be read");
+        }
+
+        @Test
+        void testDeleteSegmentsBefore_KeepsSegmentsStillNeeded() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                long covered;
+                try (Journal journal = Journal.open(path, 64)) {
+                        for (int i = 0; i < 10; i++) {
+                                journal.sync(journal.append(bytes("before snapshot " + i)));
+                        }
+                        covered = journal.getAppendedPosition();
+                        journal.sync(journal.append(bytes("after snapshot")));
+                        int before = segmentCount(path);
+
+                        // Act
+                        int deleted = journal.deleteSegmentsBefore(covered);
+
+                        // Assert
+                        assertTrue(deleted > 0, "Covered segments should be deleted");
+                        assertEquals(before - deleted, segmentCount(path), "Deleted segments should leave the directory");
+                }
+                List<String> records = new ArrayList<>();
+                Journal.read(path, covered, (end, payload) -> records.add(text(payload)));
+                assertEquals(List.of("after snapshot"), records, "Records after the covered position should be kept");
+                assertThrows(IOException.class, () -> readAll(path),
+                                "Reading from a deleted position should fail rather than skip records");
+        }
+
+        @Test
+        void testSync_WriteFails_MarksJournalFailedAndKeepsFileConsistent() throws IOException {
+                // Arrange
+                Path path = directory.resolve("hotel.journal");
+                Journal journal = Journal.open(path);
+                journal.sync(journal.append(bytes("durable")));
+                long position = journal.append(bytes("lost"));
+
+                // Act
+                Thread.currentThread().interrupt();
+                IOException thrown;
+                try {
+                        thrown = assertThrows(IOException.class, () -> journal.sync(position),
+                                        "A failed write should be reported to the syncing caller");
+                } finally {
+                        Thread.interrupted();
+                }
+
+                // Assert
+                assertTrue(journal.isFailed(), "Journal should be marked failed");
+                assertSame(thrown, journal.getFailure(), "The failure should be kept");
+                assertEquals(position - bytes("lost").length - 8, journal.getDurablePosition(),
+                                "Durable position should not cover the failed batch");
+                assertThrows(IllegalStateException.class, () -> journal.append(bytes("later")),
+                                "A failed journal should take no more records");
+                assertThrows(IOException.class, journal::sync, "Later syncs should fail too");
+                assertThrows(IOException.class, journal::close, "Closing cannot make the queued records durable");
+                assertEquals(List.of("durable"), readAll(path), "The file should hold only acknowledged records");
+        }
+
+        private static int segmentCount(Path path) throws IOException {
+                try (Stream<Path> files = Files.list(path)) {
+                        return (int) files.count();
+                }
+        }
+
+        private static String text(ByteBuffer payload) {
+                byte[] data = new byte[payload.remaining()];
+                payload.get(data);
+                return new String(data, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] bytes(String text) {
+                return text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static List<String> readAll(Path path) throws IOException {
+                List<String> records = new ArrayList<>();
+                Journal.read(path, payload -> records.add(text(payload)));
+                return records;
+        }
+}
@@ -0,0 +1,209 @@
+package com.hotel.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.OccupancyCurve;
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class QuoteEngineTest {
+
+        private static final LocalDate START = LocalDate.of(2030, 5, 1);
+        private static final LocalDate END = START.plusDays(3);
+
+        private QuoteEngine engine;
+        private HotelChain chain;
+        private Hotel hotel;
+
+        @BeforeEach
+        void setUp() {
+                engine = new QuoteEngine(4);
+                chain = new HotelChain("Prestige Group");
+                chain.addListener(engine);
+                hotel = chain.createHotel("The Grand Budapest");
+                hotel.addRoom(new Room(101, new RoomType(RoomKind.DOUBLE, new Money(120.0, "USD"))));
+                hotel.addRoom(new Room(102, new RoomType(RoomKind.DOUBLE, new Money(99.95, "USD"))));
+        }
+
+        @Test
+        void testQuote_CheapestRateTimesNights() {
+                // Act
+                StayQuote quote = engine.quote(hotel, START, END, RoomKind.DOUBLE);
+
+                // Assert
+                assertEquals(List.of(new Money(99.95, "USD"), new Money(99.95, "USD"), new Money(99.95, "USD")),
+                                quote.getNightlyRates(), "Cheapest double rate should be quoted for each night");
+                assertEquals(new Money(new BigDecimal("299.85"), Currency.getInstance("USD")), quote.getTotal(),
+                                "Total should be the rate times three nights");
+                assertSame(hotel, quote.getHotel(), "Quote should name the hotel");
+        }
+
+        @Test
+        void testQuote_RepeatedQuoteServedFromCache() {
+                // Arrange
+                StayQuote first = engine.quote(hotel, START, END, RoomKind.DOUBLE);
+
+                // Act
+                StayQuote second = engine.quote(hotel, START, END, RoomKind.DOUBLE);
+
+                // Assert
+                assertSame(first, second, "Repeated quote should come from the cache");
+        }
+
+        @Test
+        void testQuote_RoomAddedInvalidatesRates() {
+                // Arrange
+                StayQuote before = engine.quote(hotel, START, END, RoomKind.DOUBLE);
+
+                // Act
+                hotel.addRoom(new Room(103, new RoomType(RoomKind.DOUBLE, new Money(80.0, "USD"))));
+                StayQuote after = engine.quote(hotel, START, END, RoomKind.DOUBLE);
+
+                // Assert
+                assertNotSame(before, after, "Stale quote should not be served");
+                assertEquals(new Money(240.0, "USD"), after.getTotal(), "New cheaper room should be quoted");
+        }
+
+        @Test
+        void testQuote_LeastRecentlyUsedEvicted() {
+                // Arrange: the cache holds four quotes
+                StayQuote kept = engine.quote(hotel, START, END, RoomKind.DOUBLE);
+                for (int i = 1; i <= 3; i++) {
+                        engine.quote(hotel, START, END.plusDays(i), RoomKind.DOUBLE);
+                }
+                engine.quote(hotel, START, END, RoomKind.DOUBLE);
+
+                // Act
+                engine.quote(hotel, START, END.plusDays(10), RoomKind.DOUBLE);
+
+                // Assert
+                assertEquals(4, engine.getCachedQuoteCount(), "Cache should stay within its size");
+                assertSame(kept, engine.quote(hotel, START, END, RoomKind.DOUBLE),
+                                "Recently used quote should survive eviction");
+        }
+
+        @Test
+        void testQuote_KindNotOffered_ThrowsException() {
+                // Act & Assert
+                assertThrows(HotelException.class, () -> engine.quote(hotel, START, END, RoomKind.SUITE),
+                                "Quoting a kind the hotel does not have should throw HotelException");
+                assertThrows(IllegalArgumentException.class, () -> engine.quote(hotel, END, START, RoomKind.DOUBLE),
+                                "Reversed dates should throw IllegalArgumentException");
+        }
+
+        @Test
+        void testBatchQuote_SkipsHotelsWithoutKind() {
+                // Arrange
+                Hotel suites = chain.createHotel("Suites Only");
+                suites.addRoom(new Room(1, new RoomType(RoomKind.SUITE, new Money(300.0, "USD"))));
+                Hotel doubles = chain.createHotel("Budget Inn");
+                doubles.addRoom(new Room(1, new RoomType(RoomKind.DOUBLE, new Money(50.0, "USD"))));
+
+                // Act
+                List<StayQuote> quotes = engine.quote(chain.getHotels(), START, END, RoomKind.DOUBLE);
+
+                // Assert
+                assertEquals(2, quotes.size(), "Only hotels with double rooms should be quoted");
+                assertSame(hotel, quotes.get(0).getHotel(), "Quotes should keep hotel order");
+                assertEquals(new Money(150.0, "USD"), quotes.get(1).getTotal(), "Budget total should be quoted");
+        }
+
+        @Test
+        void testQuote_SlowHotelDoesNotBlockOtherHotels() throws Exception {
+                // Arrange
+                CountDownLatch pricing = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                Hotel slow = new Hotel("Slow Lodge") {
+                        @Override
+                        public List<Money> getNightlyRates(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+                                pricing.countDown();
+                                try {
+                                        release.await();
+                                } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                }
+                                return super.getNightlyRates(startDate, endDate, roomType);
+                        }
+                };
+                slow.addRoom(new Room(1, new RoomType(RoomKind.DOUBLE, new Money(80.0, "USD"))));
+                CompletableFuture<StayQuote> slowQuote = CompletableFuture
+                                .supplyAsync(() -> engine.quote(slow, START, END, RoomKind.DOUBLE));
+                assertTrue(pricing.await(5, TimeUnit.SECONDS), "Slow hotel should start pricing");
+
+                // Act
+                StayQuote quick;
+                try {
+                        quick = CompletableFuture
+                                        .supplyAsync(() -> engine.quote(hotel, START, END, RoomKind.DOUBLE))
+                                        .get(5, TimeUnit.SECONDS);
+                } finally {
+                        release.countDown();
+                }
+
+                // Assert
+                assertSame(hotel, quick.getHotel(), "Other hotels should be quoted while one is slow");
+                assertEquals(new Money(240.0, "USD"), slowQuote.get(5, TimeUnit.SECONDS).getTotal(),
+                                "The slow quote should still complete");
+        }
+
+        @Test
+        void testQuote_DynamicPricing_RequotesAfterBooking() {
+                // Arrange
+                hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+                RoomType cheapest = hotel.findRoom(102).orElseThrow().getRoomType();
+                LocalDate start = LocalDate.now();
+                LocalDate end = start.plusDays(3);
+                StayQuote before = engine.quote(hotel, start, end, RoomKind.DOUBLE);
+                ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P123"),
+                                new CreditCard("1234567890123", "12/25", "111"));
+
+                // Act
+                hotel.createReservation(start, start.plusDays(1), cheapest, payer);
+                StayQuote after = engine.quote(hotel, start, end, RoomKind.DOUBLE);
+
+                // Assert
+                assertNotSame(before, after, "A booking should retire quotes under dynamic pricing");
+                assertEquals(new Money(149.93, "USD"), after.getNightlyRates().get(0),
+                                "A sold-out night should cost the higher multiplier, rounded half up");
+                assertEquals(new Money(349.83, "USD"), after.getTotal(), "Total should add up each night's rate");
+        }
+
+        @Test
+        void testQuote_DynamicPricing_BookingKeepsUnaffectedQuotes() {
+                // Arrange
+                engine = new QuoteEngine();
+                hotel.addListener(engine);
+                hotel.addRoom(new Room(201, new RoomType(RoomKind.SINGLE, new Money(60.0, "USD"))));
+                hotel.setOccupancyCurve(new OccupancyCurve(new double[] {0, 0.5}, new double[] {1.0, 1.5}));
+                RoomType cheapest = hotel.findRoom(102).orElseThrow().getRoomType();
+                LocalDate start = LocalDate.now();
+                StayQuote booked = engine.quote(hotel, start, start.plusDays(2), RoomKind.DOUBLE);
+                StayQuote later = engine.quote(hotel, start.plusDays(5), start.plusDays(7), RoomKind.DOUBLE);
+                StayQuote single = engine.quote(hotel, start, start.plusDays(2), RoomKind.SINGLE);
+                ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P123"),
+                                new CreditCard("1234567890123", "12/25", "111"));
+
+                // Act
+                hotel.createReservation(start.plusDays(1), start.plusDays(2), cheapest, payer);
+
+                // Assert
+                assertNotSame(booked, engine.quote(hotel, start, start.plusDays(2), RoomKind.DOUBLE),
+                                "Quotes covering a repriced night should be retired");
+                assertSame(later, engine.quote(hotel, start.plusDays(5), start.plusDays(7), RoomKind.DOUBLE),
+                                "Quotes for other nights should still be served");
+                assertSame(single, engine.quote(hotel, start, start.plusDays(2), RoomKind.SINGLE),
+                                "Quotes for other room kinds should still be served");
+        }
+}